@@ -0,0 +1,180 @@
+package com.amore.task.service;
+
+import com.amore.task.model.domain.Profile;
+import com.amore.task.model.dto.MemberDto;
+import com.amore.task.model.dto.ProfileDto;
+import com.amore.task.model.enums.TaskLevel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ProfileService 주요 기능 벤치마크
+ * 데이터 건수, 담당자 수, 날짜 범위별로 같은 시드의 데이터를 만들어 측정하므로 저장 구조 변경 전후를 비교할 수 있다.
+ * 변경 기능은 측정 중 데이터 건수가 유지되도록 되돌리는 작업(삭제 후 추가, 위임 후 취소)을 함께 측정한다.
+ * 실행 : ./gradlew jmh (-PjmhIncludes=ProfileServiceBenchmark.getProfile 처럼 일부만 실행 가능)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProfileServiceBenchmark {
+    /** 데이터 생성 시드(실행마다 같은 데이터) */
+    private static final long SEED = 20221001L;
+
+    /** 기준 날짜 */
+    private static final LocalDate START = LocalDate.of(2022, 10, 1);
+
+    /** 일괄 추가 단위 */
+    private static final int BATCH_SIZE = 10000;
+
+    /** 데이터 건수 */
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    /** 담당자 수 */
+    @Param({"5", "100"})
+    public int assignees;
+
+    /** 날짜 범위(일) */
+    @Param({"1", "30", "365"})
+    public int days;
+
+    private ProfileService profileService;
+
+    /** 현재 저장된 해야할일 번호(삭제 후 추가 시 같은 자리를 교체) */
+    private int[] nums;
+
+    /** 측정 중 추가한 해야할일 번호(반복 종료 시 삭제) */
+    private List<Integer> added;
+
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.profileService = new ProfileService();
+        this.random = new SplittableRandom(SEED);
+        this.nums = new int[this.size];
+        this.added = new ArrayList<Integer>();
+
+        TaskLevel[] levels = TaskLevel.values();
+        List<ProfileDto> batch = new ArrayList<ProfileDto>(BATCH_SIZE);
+        int count = 0;
+        for (int index = 0; index < this.size; index++) {
+            ProfileDto profileDto = this.newProfileDto();
+            profileDto.setTaskLevel(levels[this.random.nextInt(levels.length)]);
+            batch.add(profileDto);
+            if ((BATCH_SIZE == batch.size()) || (this.size - 1 == index)) {
+                for (Profile profile : this.profileService.addProfiles(batch)) {
+                    this.nums[count++] = profile.getNum();
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void removeAdded() {
+        this.profileService.removeProfiles(this.added);
+        this.added.clear();
+    }
+
+    /**
+     * 임의 날짜, 담당자의 추가 요청
+     * @return 요청 정보
+     */
+    private ProfileDto newProfileDto() {
+        int assignee = this.random.nextInt(this.assignees);
+        return new ProfileDto(START.plusDays(this.random.nextInt(this.days))
+                , new MemberDto(assignee, "담당자" + assignee), "task", "description");
+    }
+
+    private int randomNum() {
+        return this.nums[this.random.nextInt(this.size)];
+    }
+
+    @Benchmark
+    public int addProfile() {
+        int num = this.profileService.addProfile(this.newProfileDto());
+        this.added.add(num);
+        return num;
+    }
+
+    @Benchmark
+    public Profile getProfile() {
+        return this.profileService.getProfile(this.randomNum());
+    }
+
+    @Benchmark
+    public List<Profile> getProfiles() {
+        return this.profileService.getProfiles(null);
+    }
+
+    @Benchmark
+    public List<Profile> getProfilesByDate() {
+        ProfileDto search = new ProfileDto();
+        search.setDate(START.plusDays(this.random.nextInt(this.days)));
+        return this.profileService.getProfiles(search);
+    }
+
+    @Benchmark
+    public List<Profile> getProfilesByAssignee() {
+        int assignee = this.random.nextInt(this.assignees);
+        ProfileDto search = new ProfileDto();
+        search.setAssignee(new MemberDto(assignee, "담당자" + assignee));
+        return this.profileService.getProfiles(search);
+    }
+
+    /**
+     * 삭제 후 같은 자리에 새로 추가(건수 유지)
+     */
+    @Benchmark
+    public int removeProfile() {
+        int index = this.random.nextInt(this.size);
+        this.profileService.removeProfile(this.nums[index]);
+        this.nums[index] = this.profileService.addProfile(this.newProfileDto());
+        return this.nums[index];
+    }
+
+    /**
+     * 다른 담당자에게 위임 후 취소(원래 상태로 복구)
+     */
+    @Benchmark
+    public Profile allocateAndCancel() {
+        int num = this.randomNum();
+        Profile profile = this.profileService.getProfile(num);
+        int assignee = (profile.getAssignee().getNumber() + 1) % Math.max(this.assignees, 2);
+        ProfileDto profileDto = new ProfileDto();
+        profileDto.setNum(num);
+        profileDto.setAssignee(new MemberDto(assignee, "담당자" + assignee));
+        this.profileService.allocateAssignee(profileDto);
+        this.profileService.cancelAllocatedProfile(num);
+        return profile;
+    }
+
+    /**
+     * 같은 중요도의 첫번째 순서로 변경(묶음 내 재정렬)
+     */
+    @Benchmark
+    public Profile updateProfile() {
+        Profile profile = this.profileService.getProfile(this.randomNum());
+        ProfileDto profileDto = new ProfileDto();
+        profileDto.setNum(profile.getNum());
+        profileDto.setTaskLevel(profile.getTaskLevel());
+        profileDto.setSeq(1);
+        this.profileService.updateProfile(profileDto);
+        return profile;
+    }
+}
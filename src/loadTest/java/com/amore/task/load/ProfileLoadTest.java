@@ -0,0 +1,496 @@
+package com.amore.task.load;
+
+import com.amore.task.TaskApplication;
+import com.amore.task.common.VirtualThreadConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * REST API 부하 테스트
+ * TaskApplication을 임의 포트로 실행하고, 여러 클라이언트 스레드가 설정한 비율로 API를 호출한 뒤
+ * API별 처리량과 지연시간 분포(HdrHistogram)를 출력한다.
+ * 컨트롤러, JSON 변환을 포함한 구간을 측정하므로 ProfileService 벤치마크(JMH)에서 보이지 않는 성능 저하를 확인할 수 있다.
+ *
+ * 실행 : ./gradlew loadTest -Dload.threads=64 -Dload.duration=60 -Dload.mix=add:20,list:40,update:20,allocate:10,delete:10
+ * - load.threads : 클라이언트 스레드 수(기본 32)
+ * - load.warmup, load.duration : 준비, 측정 시간(초, 기본 10, 30)
+ * - load.rate : 전체 목표 요청 수(초당, 0이면 최대 부하). 지정하면 예정 시각 기준으로 지연시간을 기록한다(coordinated omission 보정).
+ * - load.profiles : 시작 전 스레드별로 나누어 추가할 해야할일 수(기본 10000)
+ * - load.days : 날짜 범위(일, 기본 30)
+ * - load.mix : API 비율(add, list, update, allocate, delete)
+ * - load.seed : 요청 생성 시드
+ * - load.output : 지연시간 분포(.hgrm) 저장 경로(없으면 출력만 함)
+ * - load.virtual-clients : 클라이언트를 가상 스레드로 실행(JDK 21 이상)
+ * - load.compare-virtual-threads : Tomcat 스레드 풀과 가상 스레드 요청 처리를 차례로 측정하여 비교(JDK 21 이상)
+ * - load.compare-reactive : Spring MVC(Tomcat)와 WebFlux(Netty) 요청 처리를 차례로 측정하여 비교(-Preactive로 빌드해야함)
+ */
+public class ProfileLoadTest {
+    /** 기준 날짜 */
+    private static final LocalDate START = LocalDate.of(2022, 10, 1);
+
+    /** 등록되어있는 담당자 수(MemberService 초기 담당자) */
+    private static final int ASSIGNEES = 5;
+
+    /** 기록 가능한 최대 지연시간(us) */
+    private static final long MAX_LATENCY = TimeUnit.MINUTES.toMicros(1);
+
+    /** load.mix 설정 순서 */
+    private static final String[] MIX_NAMES = {"add", "list", "update", "allocate", "delete"};
+
+    /**
+     * 호출하는 API
+     */
+    enum Operation {
+        ADD("POST /profile"),
+        LIST("GET /profiles"),
+        UPDATE("PUT /profile"),
+        ALLOCATE("PUT /profile/assignee"),
+        CANCEL("DELETE /profile/assignee"),
+        DELETE("DELETE /profile");
+
+        private final String api;
+
+        Operation(String api) {
+            this.api = api;
+        }
+    }
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final HttpClient client;
+
+    private final String baseUrl;
+
+    private final int threads;
+
+    private final long warmup;
+
+    private final long duration;
+
+    private final double rate;
+
+    private final int profiles;
+
+    private final int days;
+
+    private final long seed;
+
+    /** 비율 누적값(MIX_NAMES 순서, 위임 취소는 위임 비율에 포함) */
+    private final int[] mix;
+
+    /** API별 지연시간(us) */
+    private final EnumMap<Operation, Recorder> recorders = new EnumMap<Operation, Recorder>(Operation.class);
+
+    /** API별 오류(200 외 응답, 연결 실패) 수 */
+    private final EnumMap<Operation, AtomicLong> errors = new EnumMap<Operation, AtomicLong>(Operation.class);
+
+    public ProfileLoadTest(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.threads = Integer.getInteger("load.threads", 32);
+        this.warmup = Long.getLong("load.warmup", 10);
+        this.duration = Long.getLong("load.duration", 30);
+        this.rate = Double.parseDouble(System.getProperty("load.rate", "0"));
+        this.profiles = Integer.getInteger("load.profiles", 10000);
+        this.days = Integer.getInteger("load.days", 30);
+        this.seed = Long.getLong("load.seed", 20221001L);
+        this.mix = parseMix(System.getProperty("load.mix", "add:20,list:40,update:20,allocate:10,delete:10"));
+        this.client = HttpClient.newBuilder()
+                .executor(Executors.newFixedThreadPool(Math.max(4, this.threads / 4)))
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        for (Operation operation : Operation.values()) {
+            this.recorders.put(operation, new Recorder(MAX_LATENCY, 3));
+            this.errors.put(operation, new AtomicLong());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        try {
+            if (Boolean.getBoolean("load.compare-virtual-threads")) {
+                compare(args, "Tomcat 스레드 풀", "--task.virtual-threads.enabled=false"
+                        , "가상 스레드", "--task.virtual-threads.enabled=true");
+            } else if (Boolean.getBoolean("load.compare-reactive")) {
+                compare(args, "Spring MVC", "--spring.profiles.active=default"
+                        , "WebFlux", "--spring.profiles.active=reactive");
+            } else {
+                run(args);
+            }
+        } finally {
+            System.exit(0); // HttpClient 스레드 종료
+        }
+    }
+
+    /**
+     * 애플리케이션을 실행하여 측정 후 종료
+     * @param args 애플리케이션 실행 인자
+     * @return 전체 처리량(초당 요청 수)
+     */
+    public static double run(String... args) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskApplication.class)
+                .properties("server.port=0")
+                .run(args);
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            return new ProfileLoadTest("http://localhost:" + port).run();
+        } finally {
+            context.close();
+        }
+    }
+
+    /**
+     * 두 실행 설정의 처리량 비교
+     * 같은 부하 설정으로 각각 새로 실행하여 측정한다.
+     * @param args 애플리케이션 실행 인자
+     * @param baseName 기준 설정 이름
+     * @param baseArg 기준 설정 실행 인자
+     * @param targetName 비교 설정 이름
+     * @param targetArg 비교 설정 실행 인자
+     */
+    private static void compare(String[] args, String baseName, String baseArg, String targetName, String targetArg) throws Exception {
+        String[] baseArgs = Arrays.copyOf(args, args.length + 1);
+        baseArgs[args.length] = baseArg;
+        String[] targetArgs = Arrays.copyOf(args, args.length + 1);
+        targetArgs[args.length] = targetArg;
+
+        System.out.println("== " + baseName);
+        double base = run(baseArgs);
+        System.out.println("== " + targetName);
+        double target = run(targetArgs);
+        System.out.printf("%n%s %.1f req/s / %s %.1f req/s (%.2f배)%n", baseName, base, targetName, target, target / base);
+    }
+
+    /**
+     * API 비율 변환(이름:비율, ...)
+     * @param value 설정 값
+     * @return MIX_NAMES 순서의 누적 비율
+     */
+    private static int[] parseMix(String value) {
+        LinkedHashMap<String, Integer> weights = new LinkedHashMap<String, Integer>();
+        for (String name : MIX_NAMES) {
+            weights.put(name, 0);
+        }
+        for (String item : value.split(",")) {
+            String[] pair = item.trim().split(":");
+            if ((2 != pair.length) || (!weights.containsKey(pair[0]))) {
+                throw new IllegalArgumentException("잘못된 API 비율입니다. load.mix = " + value);
+            }
+            weights.put(pair[0], Integer.parseInt(pair[1]));
+        }
+
+        int[] mix = new int[weights.size()];
+        int total = 0;
+        int index = 0;
+        for (int weight : weights.values()) {
+            total += weight;
+            mix[index++] = total;
+        }
+        if (0 >= total) {
+            throw new IllegalArgumentException("API 비율의 합은 0보다 커야 합니다. load.mix = " + value);
+        }
+        return mix;
+    }
+
+    /**
+     * 준비 후 측정
+     * @return 전체 처리량(초당 요청 수)
+     */
+    public double run() throws Exception {
+        ExecutorService executor = Boolean.getBoolean("load.virtual-clients")
+                ? VirtualThreadConfig.newVirtualThreadExecutor() // 클라이언트 스레드 수가 병목이 되지 않도록 함
+                : Executors.newFixedThreadPool(this.threads);
+        try {
+            List<Client> clients = new ArrayList<Client>(this.threads);
+            SplittableRandom random = new SplittableRandom(this.seed);
+            for (int index = 0; index < this.threads; index++) {
+                clients.add(new Client(random.split(), this.profiles / this.threads));
+            }
+            List<Future<?>> prepared = new ArrayList<Future<?>>();
+            for (Client client : clients) {
+                prepared.add(executor.submit(() -> {
+                    client.prepare();
+                    return null;
+                }));
+            }
+            for (Future<?> future : prepared) {
+                future.get();
+            }
+
+            long now = System.nanoTime();
+            long measureStart = now + TimeUnit.SECONDS.toNanos(this.warmup);
+            long end = measureStart + TimeUnit.SECONDS.toNanos(this.duration);
+            List<Future<?>> futures = new ArrayList<Future<?>>();
+            for (Client client : clients) {
+                futures.add(executor.submit(() -> client.drive(measureStart, end)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return this.report(TimeUnit.SECONDS.toNanos(this.duration));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * API별 처리량, 지연시간 분포 출력
+     * @param elapsed 측정 시간(ns)
+     */
+    private double report(long elapsed) throws IOException {
+        double seconds = elapsed / 1e9;
+        Histogram total = new Histogram(MAX_LATENCY, 3);
+        Map<Operation, Histogram> histograms = new EnumMap<Operation, Histogram>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = this.recorders.get(operation).getIntervalHistogram();
+            histograms.put(operation, histogram);
+            total.add(histogram);
+        }
+
+        System.out.printf("%n%-26s %10s %10s %8s %10s %10s %10s %10s%n"
+                , "api", "count", "req/s", "errors", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)");
+        for (Operation operation : Operation.values()) {
+            this.printSummary(operation.api, histograms.get(operation), this.errors.get(operation).get(), seconds);
+        }
+        long totalErrors = this.errors.values().stream().mapToLong(AtomicLong::get).sum();
+        this.printSummary("total", total, totalErrors, seconds);
+
+        System.out.println();
+        total.outputPercentileDistribution(System.out, 1000.0); // us -> ms
+
+        String output = System.getProperty("load.output");
+        if (null != output) {
+            try (PrintStream out = new PrintStream(new FileOutputStream(output), true, StandardCharsets.UTF_8.name())) {
+                for (Operation operation : Operation.values()) {
+                    out.println("# " + operation.api);
+                    histograms.get(operation).outputPercentileDistribution(out, 1000.0);
+                }
+                out.println("# total");
+                total.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        return total.getTotalCount() / seconds;
+    }
+
+    private void printSummary(String name, Histogram histogram, long errors, double seconds) {
+        System.out.printf("%-26s %10d %10.1f %8d %10.3f %10.3f %10.3f %10.3f%n"
+                , name, histogram.getTotalCount(), histogram.getTotalCount() / seconds, errors
+                , histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(99) / 1000.0
+                , histogram.getValueAtPercentile(99.9) / 1000.0, histogram.getMaxValue() / 1000.0);
+    }
+
+    /**
+     * 클라이언트(스레드 하나가 담당)
+     * 자신이 추가한 해야할일만 변경, 삭제하므로 클라이언트 간에 번호를 공유하지 않는다.
+     */
+    private class Client {
+        private final SplittableRandom random;
+
+        private final int initial;
+
+        /** 추가한 해야할일 번호 */
+        private final ArrayList<Integer> nums = new ArrayList<Integer>();
+
+        /** 위임한 해야할일 번호 */
+        private final ArrayList<Integer> allocated = new ArrayList<Integer>();
+
+        Client(SplittableRandom random, int initial) {
+            this.random = random;
+            this.initial = initial;
+        }
+
+        /**
+         * 측정 전 해야할일 추가
+         */
+        void prepare() throws IOException, InterruptedException {
+            for (int index = 0; index < this.initial; index++) {
+                this.call(Operation.ADD, false);
+            }
+        }
+
+        /**
+         * 종료 시각까지 요청
+         * 목표 요청 수가 있으면 예정 시각에 요청하고, 예정 시각부터의 시간을 지연시간으로 기록한다.
+         * @param measureStart 측정 시작 시각(ns, 이전 요청은 기록하지 않음)
+         * @param end 종료 시각(ns)
+         */
+        void drive(long measureStart, long end) {
+            long interval = (0 < rate) ? (long) (1e9 * threads / rate) : 0;
+            long next = System.nanoTime();
+            while (true) {
+                long start = System.nanoTime();
+                if (end <= start) {
+                    return;
+                }
+                if (0 < interval) {
+                    while (start < next) {
+                        LockSupport.parkNanos(next - start);
+                        start = System.nanoTime();
+                    }
+                    start = next;
+                    next += interval;
+                }
+
+                boolean measured = (measureStart <= start);
+                Operation operation = this.nextOperation();
+                try {
+                    operation = this.call(operation, measured);
+                    if (measured) {
+                        long latency = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+                        recorders.get(operation).recordValue(Math.min(latency, MAX_LATENCY));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (IOException e) {
+                    if (measured) {
+                        errors.get(operation).incrementAndGet();
+                    }
+                }
+            }
+        }
+
+        /**
+         * load.mix 비율에 따라 API 선택
+         * @return API
+         */
+        private Operation nextOperation() {
+            int value = this.random.nextInt(mix[mix.length - 1]);
+            if (value < mix[0]) {
+                return Operation.ADD;
+            } else if (value < mix[1]) {
+                return Operation.LIST;
+            } else if (value < mix[2]) {
+                return Operation.UPDATE;
+            } else if (value < mix[3]) {
+                return Operation.ALLOCATE;
+            }
+            return Operation.DELETE;
+        }
+
+        /**
+         * API 호출
+         * 변경할 해야할일이 없으면 추가로, 위임은 위임한 해야할일이 있으면 번갈아 취소로 바꾼다.
+         * @param operation 호출할 API
+         * @param measured 측정 구간 여부(오류 집계)
+         * @return 실제 호출한 API
+         */
+        Operation call(Operation operation, boolean measured) throws IOException, InterruptedException {
+            if ((Operation.ADD != operation) && (Operation.LIST != operation) && (this.nums.isEmpty())) {
+                operation = Operation.ADD;
+            }
+            if ((Operation.ALLOCATE == operation) && (!this.allocated.isEmpty()) && (this.random.nextBoolean())) {
+                operation = Operation.CANCEL;
+            }
+
+            HttpRequest request;
+            int index = this.nums.isEmpty() ? -1 : this.random.nextInt(this.nums.size());
+            switch (operation) {
+                case ADD: {
+                    int assignee = this.random.nextInt(ASSIGNEES);
+                    request = this.json("POST", "/profile", "{\"date\":\"" + this.randomDate() + "\",\"assignee\":" + assignee
+                            + ",\"task\":\"task\",\"description\":\"description\"}");
+                    break;
+                }
+                case LIST:
+                    request = HttpRequest.newBuilder(URI.create(baseUrl + "/profiles?date=" + this.randomDate()
+                            + "&assignee=" + this.random.nextInt(ASSIGNEES))).GET().build();
+                    break;
+                case UPDATE:
+                    request = this.json("PUT", "/profile", "{\"profile\":" + this.nums.get(index)
+                            + ",\"task\":\"update\",\"seq\":" + (1 + this.random.nextInt(3)) + "}");
+                    break;
+                case ALLOCATE:
+                    request = this.json("PUT", "/profile/assignee", "{\"profile\":" + this.nums.get(index)
+                            + ",\"assignee\":" + this.random.nextInt(ASSIGNEES) + "}");
+                    break;
+                case CANCEL:
+                    index = this.random.nextInt(this.allocated.size());
+                    request = this.json("DELETE", "/profile/assignee", "{\"profile\":" + this.allocated.get(index) + "}");
+                    break;
+                case DELETE:
+                    request = this.json("DELETE", "/profile", "{\"profile\":" + this.nums.get(index) + "}");
+                    break;
+                default:
+                    throw new IllegalStateException("처리할 수 없는 API입니다. operation = " + operation);
+            }
+
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (200 != response.statusCode()) {
+                if (measured) {
+                    errors.get(operation).incrementAndGet();
+                }
+                return operation;
+            }
+
+            switch (operation) {
+                case ADD: {
+                    JsonNode result = mapper.readTree(response.body()).path("result");
+                    this.nums.add(result.path("num").asInt());
+                    break;
+                }
+                case ALLOCATE:
+                    this.allocated.add(this.remove(this.nums, index));
+                    break;
+                case CANCEL:
+                    this.nums.add(this.remove(this.allocated, index));
+                    break;
+                case DELETE:
+                    this.remove(this.nums, index);
+                    break;
+                default:
+                    break;
+            }
+            return operation;
+        }
+
+        /**
+         * 순서와 관계없이 삭제(마지막 값으로 교체)
+         */
+        private Integer remove(ArrayList<Integer> list, int index) {
+            Integer value = list.get(index);
+            list.set(index, list.get(list.size() - 1));
+            list.remove(list.size() - 1);
+            return value;
+        }
+
+        private String randomDate() {
+            return START.plusDays(this.random.nextInt(days)).toString();
+        }
+
+        private HttpRequest json(String method, String path, String body) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Content-Type", "application/json")
+                    .header("Accept", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+    }
+}
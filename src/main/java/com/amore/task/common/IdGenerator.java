@@ -0,0 +1,77 @@
+package com.amore.task.common;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 번호 발급기
+ * 잠금 없이(AtomicLong) 번호를 발급하며, 대량 등록 시에는 연속된 번호 구간을 한번에 예약한다.
+ */
+public class IdGenerator {
+    /** 마지막으로 발급한 번호 */
+    private final AtomicLong last;
+
+    /**
+     * 생성자
+     * @param initial 초기값(첫 발급 번호는 initial + 1)
+     */
+    public IdGenerator(long initial) {
+        this.last = new AtomicLong(initial);
+    }
+
+    /**
+     * 신규 번호 발급
+     * @return 번호
+     */
+    public int next() {
+        return (int) this.advance(1);
+    }
+
+    /**
+     * 연속된 번호 구간 예약
+     * 예약한 구간은 요청한 스레드(또는 일괄 작업)가 단독으로 사용한다.
+     * @param count 예약할 번호 수
+     * @return 번호 구간
+     */
+    public IdRange reserve(int count) {
+        if (0 >= count) {
+            throw new IllegalArgumentException("예약할 번호 수는 1 이상이어야 합니다.");
+        }
+
+        long end = this.advance(count);
+        return new IdRange((int) (end - count + 1), count);
+    }
+
+    /**
+     * 마지막 발급 번호를 value 이상으로 조정(데이터 복구 시 사용)
+     * @param value 이미 사용중인 번호
+     */
+    public void advanceTo(long value) {
+        this.last.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * 마지막으로 발급한 번호
+     * @return 번호
+     */
+    public long current() {
+        return this.last.get();
+    }
+
+    /**
+     * 마지막 발급 번호를 count만큼 증가
+     * int 범위를 넘는 번호는 발급하지 않으며(overflow 방지), 이때 마지막 발급 번호는 변경하지 않는다.
+     * @param count 발급할 번호 수
+     * @return 증가 후 마지막 발급 번호
+     */
+    private long advance(int count) {
+        while (true) {
+            long current = this.last.get();
+            if (Integer.MAX_VALUE - count < current) {
+                throw new IllegalStateException("더 이상 발급할 수 있는 번호가 없습니다.");
+            }
+            if (this.last.compareAndSet(current, current + count)) {
+                return current + count;
+            }
+        }
+    }
+}
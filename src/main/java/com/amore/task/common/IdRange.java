@@ -0,0 +1,44 @@
+package com.amore.task.common;
+
+import lombok.Getter;
+
+/**
+ * 예약된 연속 번호 구간
+ * 하나의 스레드(또는 일괄 작업)에서만 사용한다.
+ */
+@Getter
+public class IdRange {
+    /** 시작 번호 */
+    private final int start;
+
+    /** 번호 수 */
+    private final int count;
+
+    /** 다음에 발급할 위치 */
+    private int offset;
+
+    public IdRange(int start, int count) {
+        this.start = start;
+        this.count = count;
+        this.offset = 0;
+    }
+
+    /**
+     * 구간 내 남은 번호가 있는지 확인
+     * @return 결과
+     */
+    public boolean hasNext() {
+        return this.offset < this.count;
+    }
+
+    /**
+     * 구간 내 다음 번호 발급
+     * @return 번호
+     */
+    public int next() {
+        if (!this.hasNext()) {
+            throw new IllegalStateException("예약된 번호를 모두 사용했습니다.");
+        }
+        return this.start + this.offset++;
+    }
+}
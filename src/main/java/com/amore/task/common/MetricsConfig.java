@@ -0,0 +1,23 @@
+package com.amore.task.common;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 처리 지표 설정
+ */
+@Configuration
+public class MetricsConfig {
+    /**
+     * @Timed(io.micrometer.core.annotation.Timed) 메소드의 처리 시간 기록
+     * Spring bean을 통해 호출한 경우만 기록하며, 같은 객체 안에서 호출하거나 직접 생성한 객체(단위 테스트)는 기록하지 않는다.
+     * @param registry
+     * @return aspect
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
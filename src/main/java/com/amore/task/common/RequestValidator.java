@@ -0,0 +1,132 @@
+package com.amore.task.common;
+
+import com.amore.task.model.dto.ProfileCursor;
+import com.amore.task.model.dto.ProfileSearchDto;
+import com.amore.task.model.enums.ResponseStatus;
+import org.springframework.http.HttpStatus;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 요청 파라미터 검증
+ * 검증에 실패하면 원인에 해당하는 응답 코드로 HandledException(400)을 발생시킨다.
+ */
+public final class RequestValidator {
+    /** 처리할 수 있는 최소 날짜(저장소, 스냅샷은 날짜를 int epoch day로 저장) */
+    public static final LocalDate MIN_DATE = LocalDate.ofEpochDay(Integer.MIN_VALUE);
+
+    /** 처리할 수 있는 최대 날짜 */
+    public static final LocalDate MAX_DATE = LocalDate.ofEpochDay(Integer.MAX_VALUE);
+
+    private RequestValidator() {}
+
+    /**
+     * 필수 문자열 확인
+     * @param value
+     * @param responseStatus 값이 없을 때 응답 코드
+     * @return value
+     */
+    public static String requireText(String value, ResponseStatus responseStatus) {
+        if ((null == value) || ("".equals(value))) {
+            throw badRequest(responseStatus);
+        }
+        return value;
+    }
+
+    /**
+     * 필수 번호 확인(0 이상)
+     * @param value
+     * @param responseStatus 값이 없거나 음수일 때 응답 코드
+     * @return value
+     */
+    public static int requireNumber(Integer value, ResponseStatus responseStatus) {
+        if ((null == value) || (0 > value)) {
+            throw badRequest(responseStatus);
+        }
+        return value;
+    }
+
+    /**
+     * 날짜 변환
+     * 형식은 맞지만 MIN_DATE ~ MAX_DATE 범위를 벗어나면 BAD_REQUEST13으로 응답한다.
+     * @param date yyyy-MM-dd
+     * @return null 또는 날짜
+     */
+    public static LocalDate parseDate(String date) {
+        if ((null == date) || ("".equals(date))) {
+            return null;
+        }
+
+        LocalDate value;
+        try {
+            value = LocalDate.parse(date, DateTimeFormatter.ISO_LOCAL_DATE);
+        } catch (DateTimeException dateTimeException) {
+            throw badRequest(ResponseStatus.BAD_REQUEST05);
+        }
+        if (value.isBefore(MIN_DATE) || value.isAfter(MAX_DATE)) {
+            throw badRequest(ResponseStatus.BAD_REQUEST13);
+        }
+        return value;
+    }
+
+    /**
+     * 조회 조건 파라미터 변환
+     * date가 있으면 해당 날짜만, 없으면 from ~ to 범위
+     * 담당자 번호가 음수이면 BAD_REQUEST12로 응답한다.
+     * @param date
+     * @param from
+     * @param to
+     * @param assignees
+     * @return 조회 조건
+     */
+    public static ProfileSearchDto toSearch(String date, String from, String to, List<Integer> assignees) {
+        LocalDate fromDate = null;
+        LocalDate toDate = null;
+        if ((null != date) && (!"".equals(date))) {
+            fromDate = parseDate(date);
+            toDate = fromDate;
+        } else {
+            fromDate = parseDate(from);
+            toDate = parseDate(to);
+        }
+
+        List<Integer> members = new ArrayList<>();
+        if (null != assignees) {
+            for (Integer assignee : assignees) {
+                if (null == assignee) {
+                    continue;
+                }
+                if (0 > assignee) {
+                    throw badRequest(ResponseStatus.BAD_REQUEST12);
+                }
+                members.add(assignee);
+            }
+        }
+        return new ProfileSearchDto(fromDate, toDate, members);
+    }
+
+    /**
+     * 커서 파라미터 변환
+     * @param cursor 이전 페이지 응답의 커서
+     * @return null 또는 커서
+     */
+    public static ProfileCursor parseCursor(String cursor) {
+        if ((null == cursor) || ("".equals(cursor))) {
+            return null;
+        }
+
+        try {
+            return ProfileCursor.decode(cursor);
+        } catch (IllegalArgumentException | DateTimeException exception) {
+            throw badRequest(ResponseStatus.BAD_REQUEST08);
+        }
+    }
+
+    public static HandledException badRequest(ResponseStatus responseStatus) {
+        return new HandledException(HttpStatus.BAD_REQUEST, responseStatus);
+    }
+}
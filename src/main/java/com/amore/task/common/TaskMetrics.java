@@ -0,0 +1,138 @@
+package com.amore.task.common;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 처리 지표(Micrometer, /actuator/prometheus 로 조회)
+ * 서비스를 직접 생성한 경우(단위 테스트)는 기록하지 않는 레지스트리(noop)를 사용한다.
+ */
+@Component
+public class TaskMetrics {
+    /** TaskService 메소드 처리 시간(@Timed, tag : class, method, operation, exception) */
+    public static final String SERVICE_CALL = "task.service.call";
+
+    /** ProfileService 변경 처리 시간(@Timed, tag : class, method, operation, exception) */
+    public static final String PROFILE_OPERATION = "task.profile.operation";
+
+    /** 우선순위 위치 탐색 대상 묶음 크기 */
+    public static final String PRIORITY_SCAN = "task.profile.priority.scan";
+
+    /** 추가, 삭제, 이동 시 위치가 밀리거나 당겨진 해야할일 수 */
+    public static final String REORDER_SHIFT = "task.profile.reorder.shift";
+
+    /** 담당자 잠금 대기 시간 */
+    public static final String LOCK_WAIT = "task.profile.lock.wait";
+
+    /** 전체 해야할일 수 */
+    public static final String PROFILES = "task.profiles";
+
+    /** 담당자별 해야할일 수(tag : assignee) */
+    public static final String ASSIGNEE_PROFILES = "task.profiles.assignee";
+
+    /** 담당자 수 */
+    public static final String MEMBERS = "task.members";
+
+    /** 예외가 없는 경우의 exception tag 값(TimedAspect와 같은 값) */
+    private static final String NONE = "none";
+
+    private final MeterRegistry registry;
+
+    private final DistributionSummary priorityScan;
+
+    private final DistributionSummary reorderShift;
+
+    private final Timer lockWait;
+
+    @Autowired
+    public TaskMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.priorityScan = DistributionSummary.builder(PRIORITY_SCAN)
+                .description("우선순위 위치를 이진 탐색한 묶음의 해야할일 수")
+                .baseUnit("profiles")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.reorderShift = DistributionSummary.builder(REORDER_SHIFT)
+                .description("추가, 삭제, 이동으로 위치(순서)가 바뀐 해야할일 수")
+                .baseUnit("profiles")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.lockWait = Timer.builder(LOCK_WAIT)
+                .description("담당자 잠금 획득까지 대기한 시간")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /**
+     * 기록하지 않는 지표(레지스트리가 없는 경우)
+     * @return 지표
+     */
+    public static TaskMetrics noop() {
+        return new TaskMetrics(new CompositeMeterRegistry());
+    }
+
+    /**
+     * 메소드 처리 시간 기록(@Timed로 기록할 수 없는 일부 구간만 측정하는 경우)
+     * TimedAspect와 같은 tag(class, method, exception)에 작업 이름을 operation tag로 추가하여 기록한다.
+     * @param name 지표 이름
+     * @param type 메소드의 클래스
+     * @param method 메소드 이름(operation tag 값)
+     * @param nanos 처리 시간(nano second)
+     * @param exception null 또는 발생한 예외
+     */
+    public void record(String name, Class<?> type, String method, long nanos, Throwable exception) {
+        Timer.builder(name)
+                .tag("class", type.getName())
+                .tag("method", method)
+                .tag("operation", method)
+                .tag("exception", (null == exception) ? NONE : exception.getClass().getSimpleName())
+                .publishPercentileHistogram()
+                .register(this.registry)
+                .record(Math.max(0L, nanos), TimeUnit.NANOSECONDS);
+    }
+
+    public void recordPriorityScan(int size) {
+        this.priorityScan.record(size);
+    }
+
+    public void recordReorderShift(int count) {
+        this.reorderShift.record(count);
+    }
+
+    public void recordLockWait(long nanos) {
+        this.lockWait.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 현재 값 지표 등록(같은 이름, tag로 이미 등록되어있으면 무시)
+     * @param name 지표 이름
+     * @param value 조회 시 호출할 함수
+     * @param tags tag 이름, 값 순서
+     */
+    public void gauge(String name, Supplier<Number> value, String... tags) {
+        Gauge.builder(name, value)
+                .tags(tags)
+                .strongReference(true)
+                .register(this.registry);
+    }
+
+    /**
+     * 현재 값 지표 제거(대상이 없어진 경우)
+     * @param name 지표 이름
+     * @param tags tag 이름, 값 순서
+     */
+    public void removeGauge(String name, String... tags) {
+        Gauge gauge = this.registry.find(name).tags(tags).gauge();
+        if (null != gauge) {
+            this.registry.remove(gauge);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.amore.task.common;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 가상 스레드 요청 처리(task.virtual-threads.enabled=true 인 경우 사용, JDK 21 이상 필요)
+ * Tomcat 요청 처리 스레드 풀과 스트리밍 조회(비동기 처리) 실행기를 요청마다 가상 스레드를 생성하는 실행기로 바꾼다.
+ * Java 11로도 빌드되도록 실행기는 리플렉션으로 생성한다.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "task.virtual-threads", name = "enabled", havingValue = "true")
+public class VirtualThreadConfig implements WebMvcConfigurer {
+    private final ExecutorService executor;
+
+    public VirtualThreadConfig() {
+        this.executor = newVirtualThreadExecutor();
+        log.info("가상 스레드 요청 처리 사용 : java.version = {}", System.getProperty("java.version"));
+    }
+
+    /**
+     * 요청마다 가상 스레드를 생성하는 실행기
+     * @return 실행기
+     */
+    public static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("가상 스레드는 JDK 21 이상에서 사용할 수 있습니다. java.version = "
+                    + System.getProperty("java.version"), e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("가상 스레드 실행기를 생성하지 못했습니다.", e);
+        }
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(this.executor);
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(new TaskExecutorAdapter(this.executor));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        this.executor.shutdown();
+    }
+}
@@ -4,14 +4,17 @@ import com.amore.task.common.HandledException;
 import com.amore.task.common.ResponseMessage;
 import com.amore.task.model.enums.ResponseStatus;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.servlet.NoHandlerFoundException;
 
 @Slf4j
 @RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ErrorController {
 
     /** 의도적으로 발생시킨 Exception */
@@ -25,6 +28,17 @@ public class ErrorController {
                 new ResponseMessage(e.getResponseStatus().getCode(), e.getResponseStatus().getMessage(), ""), e.getHttpStatus());
     }
 
+    /** 요청 본문을 읽을 수 없음(JSON 형식 또는 타입 오류) */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ResponseMessage> exceptionHandler(HttpMessageNotReadableException e) {
+        log.error("HttpMessageNotReadableException:: {} - {}", e.getClass(), e.getMessage());
+        if (log.isDebugEnabled()) {
+            e.printStackTrace();
+        }
+        return new ResponseEntity<ResponseMessage>(
+                new ResponseMessage(ResponseStatus.BAD_REQUEST10.getCode(), ResponseStatus.BAD_REQUEST10.getMessage(), ""), HttpStatus.BAD_REQUEST);
+    }
+
     /** 404 에러처리 */
     @ExceptionHandler(NoHandlerFoundException.class)
     public ResponseEntity<ResponseMessage> exceptionHandler(NoHandlerFoundException e) {
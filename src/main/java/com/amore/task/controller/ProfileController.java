@@ -1,88 +1,118 @@
 package com.amore.task.controller;
 
 import com.amore.task.common.HandledException;
+import com.amore.task.common.RequestValidator;
 import com.amore.task.common.ResponseMessage;
-import com.amore.task.model.domain.Member;
 import com.amore.task.model.domain.Profile;
+import com.amore.task.model.dto.AddProfileRequestDto;
+import com.amore.task.model.dto.AllocateProfileRequestDto;
 import com.amore.task.model.dto.MemberDto;
 import com.amore.task.model.dto.ProfileDto;
+import com.amore.task.model.dto.ProfileNumRequestDto;
+import com.amore.task.model.dto.ProfileNumsRequestDto;
+import com.amore.task.model.dto.ProfileSearchDto;
+import com.amore.task.model.dto.UpdateProfileRequestDto;
 import com.amore.task.model.enums.ProgressStatus;
 import com.amore.task.model.enums.ResponseStatus;
-import com.amore.task.model.enums.TaskLevel;
 import com.amore.task.service.TaskService;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.time.DateTimeException;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.List;
 
 @Slf4j
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ProfileController {
+    /** 스트리밍 조회 응답 형식 */
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+
+    /** 일괄 처리 최대 건수 */
+    private static final int MAX_BATCH_SIZE = 10000;
+
+    /** 페이지 조회 기본 건수 */
+    private static final int DEFAULT_PAGE_LIMIT = 100;
+
+    /** 페이지 조회 최대 건수 */
+    private static final int MAX_PAGE_LIMIT = 1000;
+
     @Autowired
     TaskService taskService;
 
+    @Autowired
+    ObjectMapper objectMapper;
+
     /**
      * 프로필 추가
-     * @param requestBody
+     * @param request
      * @return ResponseEntity
-     * @throws JsonProcessingException
      */
     @PostMapping(value = "/profile", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ResponseMessage> handleAddProfile(@RequestBody String requestBody) throws JsonProcessingException {
-        ObjectMapper mapper = new ObjectMapper();
-        JsonNode node = mapper.readTree(requestBody);
+    public ResponseEntity<ResponseMessage> handleAddProfile(@RequestBody AddProfileRequestDto request) {
         // 필수 파라미터 체크
-        if ((!node.has("date")) || ("".equals(node.get("date").asText()))) {
-            throw new HandledException(HttpStatus.BAD_REQUEST, ResponseStatus.BAD_REQUEST04);
-        }
-        if ((!node.has("assignee")) || (0 > node.get("assignee").asInt())) {
-            throw new HandledException(HttpStatus.BAD_REQUEST, ResponseStatus.BAD_REQUEST02);
-        }
-        if ((!node.has("task")) || ("".equals(node.get("task").asText()))) {
-            throw new HandledException(HttpStatus.BAD_REQUEST, ResponseStatus.BAD_REQUEST01);
-        }
+        ProfileDto profileDto = request.toProfileDto();
+        MemberDto memberDto = request.toMemberDto();
 
         if (log.isDebugEnabled()) {
-            log.debug("date : {}", node.get("date").asText());
-            log.debug("assignee : {}", node.get("assignee").asText());
-            log.debug("task : {}", node.get("task").asText());
-            if (node.has("description")) {
-                log.debug("description : {}", node.get("description").asText());
-            }
+            log.debug("date : {}", request.getDate());
+            log.debug("assignee : {}", request.getAssignee());
+            log.debug("task : {}", request.getTask());
+            log.debug("description : {}", request.getDescription());
         }
 
-        LocalDate taskDate = null;
-        try {
-            taskDate = LocalDate.parse(node.get("date").asText(), DateTimeFormatter.ISO_LOCAL_DATE);
-        } catch (DateTimeException dateTimeException) {
-            throw new HandledException(HttpStatus.BAD_REQUEST, ResponseStatus.BAD_REQUEST05);
+        Profile profile = taskService.addProfile(memberDto, profileDto);
+
+        ResponseMessage message = new ResponseMessage();
+        message.setStatus(ResponseStatus.SUCCESS.getCode());
+        message.setResult(profile);
+        message.setDesc("");
+
+        return new ResponseEntity<>(message, HttpStatus.OK);
+    }
+
+    /**
+     * 프로필 일괄 추가
+     * 전체 요청을 검증한 뒤 한번에 추가한다.
+     * @param requests
+     * @return ResponseEntity
+     */
+    @PostMapping(value = "/profiles/batch", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ResponseMessage> handleAddProfiles(@RequestBody List<AddProfileRequestDto> requests) {
+        if ((null == requests) || (requests.isEmpty()) || (MAX_BATCH_SIZE < requests.size())) {
+            throw new HandledException(HttpStatus.BAD_REQUEST, ResponseStatus.BAD_REQUEST11);
         }
 
-        // DTO
-        ProfileDto profileDto = new ProfileDto();
-        profileDto.setDate(taskDate);
-        profileDto.setTask(node.get("task").asText());
-        if ((node.has("description")) && (!"".equals(node.get("description").asText()))) {
-            profileDto.setDescription(node.get("description").asText());
+        // 필수 파라미터 체크
+        List<ProfileDto> profileDtos = new ArrayList<>(requests.size());
+        List<MemberDto> memberDtos = new ArrayList<>(requests.size());
+        for (AddProfileRequestDto request : requests) {
+            if (null == request) {
+                throw new HandledException(HttpStatus.BAD_REQUEST, ResponseStatus.BAD_REQUEST10);
+            }
+            profileDtos.add(request.toProfileDto());
+            memberDtos.add(request.toMemberDto());
         }
 
-        MemberDto memberDto = new MemberDto(node.get("assignee").asInt(), null);
+        if (log.isDebugEnabled()) {
+            log.debug("batch size : {}", requests.size());
+        }
 
-        Profile profile = taskService.addProfile(memberDto, profileDto);
+        List<Profile> profiles = taskService.addProfiles(memberDtos, profileDtos);
 
         ResponseMessage message = new ResponseMessage();
         message.setStatus(ResponseStatus.SUCCESS.getCode());
-        message.setResult(profile);
+        message.setResult(profiles);
         message.setDesc("");
 
         return new ResponseEntity<>(message, HttpStatus.OK);
@@ -90,79 +120,121 @@ public class ProfileController {
 
     /**
      * 프로필 리스트 조회
+     * date가 있으면 해당 날짜만, 없으면 from ~ to 범위를 조회한다.
      * @param date
-     * @param assignee
+     * @param from 시작 날짜(포함)
+     * @param to 종료 날짜(포함)
+     * @param assignees 담당자 번호(여러명 지정 가능)
+     * @param limit 페이지 건수(limit 또는 cursor가 있으면 페이지 조회)
+     * @param cursor 이전 페이지 응답의 커서
      * @return ResponseEntity
      */
     @GetMapping(value = "/profiles", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<ResponseMessage> handleGetProfiles(
             @RequestParam(value = "date", required = false, defaultValue = "") String date,
-            @RequestParam(value = "assignee", required = false, defaultValue = "") Integer assignee // null허용
+            @RequestParam(value = "from", required = false, defaultValue = "") String from,
+            @RequestParam(value = "to", required = false, defaultValue = "") String to,
+            @RequestParam(value = "assignee", required = false) List<Integer> assignees, // null허용
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "cursor", required = false, defaultValue = "") String cursor
     ) {
         if (log.isDebugEnabled()) {
             log.debug("date : {}", date);
-            log.debug("assignee : {}", assignee);
+            log.debug("from : {} / to : {}", from, to);
+            log.debug("assignee : {}", assignees);
+            log.debug("limit : {} / cursor : {}", limit, cursor);
         }
 
         // 필수 파라미터 없음
-        LocalDate taskDate = null;
-        if ((null != date) && (!"".equals(date))) {
-            taskDate = LocalDate.parse(date, DateTimeFormatter.ISO_LOCAL_DATE);
-        }
-
-        MemberDto member = null;
-        if ((null != assignee) && (0 <= assignee)) {
-            member = new MemberDto(assignee, null);
-        }
+        ProfileSearchDto search = RequestValidator.toSearch(date, from, to, assignees);
 
-        // 조건이 입력되지 않으면 파라미터는 null로 넘김
-        ArrayList<Profile> profiles = null;
-        if ((null == taskDate) && (null == member)) {
-            profiles = taskService.getProfiles(null);
+        Object result = null;
+        if ((null != limit) || (!"".equals(cursor))) {
+            // 페이지 조회
+            if ((null != limit) && ((1 > limit) || (MAX_PAGE_LIMIT < limit))) {
+                throw new HandledException(HttpStatus.BAD_REQUEST, ResponseStatus.BAD_REQUEST09);
+            }
+            result = taskService.getProfilePage(search
+                    , RequestValidator.parseCursor(cursor)
+                    , (null == limit) ? DEFAULT_PAGE_LIMIT : limit);
+        } else if ((null == search.getFrom()) && (null == search.getTo()) && (search.getAssignees().isEmpty())) {
+            // 조건이 입력되지 않으면 파라미터는 null로 넘김
+            result = taskService.getProfiles(null);
         } else {
-            ProfileDto profileDto = new ProfileDto();
-            profileDto.setDate(taskDate);
-            profileDto.setAssignee(member);
-
-            profiles = taskService.getProfiles(profileDto);
+            result = taskService.searchProfiles(search);
         }
 
         ResponseMessage message = new ResponseMessage();
         message.setStatus(ResponseStatus.SUCCESS.getCode());
-        message.setResult(profiles);
+        message.setResult(result);
         message.setDesc("");
 
         return new ResponseEntity<>(message, HttpStatus.OK);
     }
 
+    /**
+     * 프로필 리스트 스트리밍 조회(NDJSON)
+     * 조회 결과를 모으지 않고 한 줄에 프로필 하나씩 바로 응답한다.
+     * @param date
+     * @param from 시작 날짜(포함)
+     * @param to 종료 날짜(포함)
+     * @param assignees 담당자 번호(여러명 지정 가능)
+     * @return ResponseEntity
+     */
+    @GetMapping(value = "/profiles/stream")
+    public ResponseEntity<StreamingResponseBody> handleStreamProfiles(
+            @RequestParam(value = "date", required = false, defaultValue = "") String date,
+            @RequestParam(value = "from", required = false, defaultValue = "") String from,
+            @RequestParam(value = "to", required = false, defaultValue = "") String to,
+            @RequestParam(value = "assignee", required = false) List<Integer> assignees // null허용
+    ) {
+        if (log.isDebugEnabled()) {
+            log.debug("date : {}", date);
+            log.debug("from : {} / to : {}", from, to);
+            log.debug("assignee : {}", assignees);
+        }
+
+        // 파라미터 오류는 응답을 쓰기 전에 처리
+        ProfileSearchDto search = RequestValidator.toSearch(date, from, to, assignees);
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                taskService.forEachProfile(search, profile -> {
+                    try {
+                        generator.writeObject(profile);
+                        generator.writeRaw('\n');
+                    } catch (IOException ioException) {
+                        throw new UncheckedIOException(ioException);
+                    }
+                });
+            } catch (UncheckedIOException uncheckedIOException) {
+                throw uncheckedIOException.getCause();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_VALUE))
+                .body(body);
+    }
+
     /**
      * 다른 담당자에게 프로필 위임
-     * @param requestBody
+     * @param request
      * @return ResponseEntity
-     * @throws JsonProcessingException
      */
     @PutMapping(value = "/profile/assignee", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ResponseMessage> handleAllocatedAssignee(@RequestBody String requestBody) throws JsonProcessingException {
-        ObjectMapper mapper = new ObjectMapper();
-        JsonNode node = mapper.readTree(requestBody);
-
+    public ResponseEntity<ResponseMessage> handleAllocatedAssignee(@RequestBody AllocateProfileRequestDto request) {
         // 필수 파라미터 체크
-        if ((!node.has("profile")) || ("".equals(node.get("profile").asText()))) {
-            throw new HandledException(HttpStatus.BAD_REQUEST, ResponseStatus.BAD_REQUEST03);
-        }
-        if ((!node.has("assignee")) || (0 > node.get("assignee").asInt())) {
-            throw new HandledException(HttpStatus.BAD_REQUEST, ResponseStatus.BAD_REQUEST02);
-        }
+        ProfileDto profileDto = request.toProfileDto();
+        MemberDto memberDto = request.toMemberDto();
 
         if (log.isDebugEnabled()) {
-            log.debug("profile : {}", node.get("profile").asText());
-            log.debug("assignee : {}", node.get("assignee").asInt());
+            log.debug("profile : {}", request.getProfile());
+            log.debug("assignee : {}", request.getAssignee());
         }
 
-        ProfileDto profileDto = new ProfileDto();
-        profileDto.setNum(node.get("profile").asInt());
-        MemberDto memberDto = new MemberDto(node.get("assignee").asInt(), null);
-
         Profile profile = taskService.allocateTask(memberDto, profileDto);
 
         ResponseMessage message = new ResponseMessage();
@@ -174,26 +246,18 @@ public class ProfileController {
 
     /**
      * 프로필 위임취소
-     * @param requestBody
+     * @param request
      * @return ResponseEntity
-     * @throws JsonProcessingException
      */
     @DeleteMapping(value = "/profile/assignee", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ResponseMessage> handleCancelAllocatedProfile(@RequestBody String requestBody) throws JsonProcessingException {
-        ObjectMapper mapper = new ObjectMapper();
-        JsonNode node = mapper.readTree(requestBody);
-
+    public ResponseEntity<ResponseMessage> handleCancelAllocatedProfile(@RequestBody ProfileNumRequestDto request) {
         // 필수 파라미터 체크
-        if ((!node.has("profile")) || ("".equals(node.get("profile").asText()))) {
-            throw new HandledException(HttpStatus.BAD_REQUEST, ResponseStatus.BAD_REQUEST03);
-        }
+        ProfileDto profileDto = request.toProfileDto();
 
         if (log.isDebugEnabled()) {
-            log.debug("profile : {}", node.get("profile").asText());
+            log.debug("profile : {}", request.getProfile());
         }
 
-        ProfileDto profileDto = new ProfileDto();
-        profileDto.setNum(node.get("profile").asInt());
         Profile profile = taskService.cancelAllocation(profileDto);
 
         ResponseMessage message = new ResponseMessage();
@@ -205,26 +269,18 @@ public class ProfileController {
 
     /**
      * 프로필 삭제
-     * @param requestBody
+     * @param request
      * @return ResponseEntity
-     * @throws JsonProcessingException
      */
     @DeleteMapping(value = "/profile", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ResponseMessage> handleDeleteProfile(@RequestBody String requestBody) throws JsonProcessingException {
-        ObjectMapper mapper = new ObjectMapper();
-        JsonNode node = mapper.readTree(requestBody);
-
+    public ResponseEntity<ResponseMessage> handleDeleteProfile(@RequestBody ProfileNumRequestDto request) {
         // 필수 파라미터 체크
-        if ((!node.has("profile")) || ("".equals(node.get("profile").asText()))) {
-            throw new HandledException(HttpStatus.BAD_REQUEST, ResponseStatus.BAD_REQUEST03);
-        }
+        ProfileDto profileDto = request.toProfileDto();
 
         if (log.isDebugEnabled()) {
-            log.debug("profile : {}", node.get("profile").asText());
+            log.debug("profile : {}", request.getProfile());
         }
 
-        ProfileDto profileDto = new ProfileDto();
-        profileDto.setNum(node.get("profile").asInt());
         boolean result = taskService.deleteProfile(profileDto);
 
         ResponseMessage message = new ResponseMessage();
@@ -235,75 +291,65 @@ public class ProfileController {
     }
 
     /**
-     * 프로필 정보 변경
-     * @param requestBody
+     * 프로필 일괄 삭제
+     * @param request
      * @return ResponseEntity
-     * @throws JsonProcessingException
      */
-    @PutMapping(value = "/profile", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ResponseMessage> handleUpdateProfile(@RequestBody String requestBody) throws JsonProcessingException {
-        ObjectMapper mapper = new ObjectMapper();
-        JsonNode node = mapper.readTree(requestBody);
-
+    @DeleteMapping(value = "/profiles/batch", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ResponseMessage> handleDeleteProfiles(@RequestBody ProfileNumsRequestDto request) {
         // 필수 파라미터 체크
-        if ((!node.has("profile")) || ("".equals(node.get("profile").asText()))) {
-            throw new HandledException(HttpStatus.BAD_REQUEST, ResponseStatus.BAD_REQUEST03);
+        List<Integer> nums = request.toNums(MAX_BATCH_SIZE);
+
+        if (log.isDebugEnabled()) {
+            log.debug("profiles : {}", nums);
         }
 
-        boolean isValid = false; // 파라미터 체크를 위함
-        ProfileDto profileDto = new ProfileDto();
+        int result = taskService.deleteProfiles(nums);
 
-        // 프로필 번호
-        if ((node.has("profile")) && (0 < node.get("profile").asInt())) {
-            profileDto.setNum(node.get("profile").asInt());
-        }
+        ResponseMessage message = new ResponseMessage();
+        message.setStatus(ResponseStatus.SUCCESS.getCode());
+        message.setResult(result);
+        message.setDesc("");
+        return new ResponseEntity<>(message, HttpStatus.OK);
+    }
 
-        // 업무명 변경
-        if ((node.has("task")) && (!"".equals(node.get("task").asText()))) {
-            isValid = true;
-            profileDto.setTask(node.get("task").asText());
-        }
+    /**
+     * 프로필 상태 일괄 변경
+     * @param request
+     * @return ResponseEntity
+     */
+    @PutMapping(value = "/profiles/batch/status", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ResponseMessage> handleUpdateStatuses(@RequestBody ProfileNumsRequestDto request) {
+        // 필수 파라미터 체크
+        List<Integer> nums = request.toNums(MAX_BATCH_SIZE);
+        ProgressStatus status = request.toStatus();
 
-        // 간략설명 변경
-        if ((node.has("description")) && (!"".equals(node.get("description")))) {
-            isValid = true;
-            profileDto.setDescription(node.get("description").asText());
+        if (log.isDebugEnabled()) {
+            log.debug("profiles : {} / status : {}", nums, status);
         }
 
-        // 상태 변경
-        if ((node.has("status")) && (0 < node.get("status").asInt())) {
-            // 진행중(1)과 완료(2) 외에는 유효하지 않음
-            if (1 == node.get("status").asInt()) { // 진행중
-                isValid = true;
-                profileDto.setStatus(ProgressStatus.OPEN);
-            } else if (2 == node.get("status").asInt()) { // 완료
-                isValid = true;
-                profileDto.setStatus(ProgressStatus.COMPLETE);
-            } else {
-                throw new HandledException(HttpStatus.BAD_REQUEST, ResponseStatus.BAD_REQUEST07);
-            }
-        }
+        List<Profile> profiles = taskService.updateStatuses(nums, status);
 
-        // 중요도
-        if ((node.has("level")) && (!"".equals(node.get("level").asText()))) {
-            if (TaskLevel.isValid(node.get("level").asText())) {
-                // 입력받은 중요도가 유효한 값이면 변경
-                profileDto.setTaskLevel(TaskLevel.valueOf(node.get("level").asText()));
-                isValid = true;
-            } else {
-                throw new HandledException(HttpStatus.BAD_REQUEST, ResponseStatus.BAD_REQUEST06);
-            }
-        }
+        ResponseMessage message = new ResponseMessage();
+        message.setStatus(ResponseStatus.SUCCESS.getCode());
+        message.setResult(profiles);
+        message.setDesc("");
+        return new ResponseEntity<>(message, HttpStatus.OK);
+    }
 
-        // 순서
-        if ((node.has("seq")) && (0 <= node.get("seq").asInt())) {
-            profileDto.setSeq(node.get("seq").asInt());
-            isValid = true;
-        }
+    /**
+     * 프로필 정보 변경
+     * @param request
+     * @return ResponseEntity
+     */
+    @PutMapping(value = "/profile", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ResponseMessage> handleUpdateProfile(@RequestBody UpdateProfileRequestDto request) {
+        // 파라미터 체크
+        ProfileDto profileDto = request.toProfileDto();
 
         // 요청 값이 유효하면 변경
         Profile profile = null;
-        if (isValid) {
+        if (request.hasChanges()) {
             profile = taskService.updateProfile(profileDto); // 변경 후 조회
         } else {
             profile = taskService.getProfile(profileDto.getNum()); // 변경하지 않은 프로필 조회
@@ -0,0 +1,36 @@
+package com.amore.task.model.domain;
+
+import com.amore.task.model.enums.TaskLevel;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * 위임취소 시 원상복구 값(위임 전 중요도, 순서, 변경하지 않음)
+ * 해야할일마다 Map을 두지 않도록 값만 보관하며, 직렬화 시 Map과 같은 형태(taskLevel, seq)로 출력된다.
+ */
+@Getter
+public class AllocationLog {
+    /** 위임 전 중요도 */
+    private final TaskLevel taskLevel;
+
+    /** 위임 전 순서 */
+    private final Integer seq;
+
+    public AllocationLog(TaskLevel taskLevel, Integer seq) {
+        this.taskLevel = taskLevel;
+        this.seq = seq;
+    }
+
+    /**
+     * Map(Profile.KEY_TASK_LEVEL, Profile.KEY_SEQ)의 값으로 생성
+     * @param log
+     * @return null 또는 원상복구 값
+     */
+    public static AllocationLog of(Map<String, Object> log) {
+        if (null == log) {
+            return null;
+        }
+        return new AllocationLog((TaskLevel) log.get(Profile.KEY_TASK_LEVEL), (Integer) log.get(Profile.KEY_SEQ));
+    }
+}
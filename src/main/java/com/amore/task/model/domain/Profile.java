@@ -7,6 +7,7 @@ import lombok.Getter;
 import lombok.Setter;
 
 import java.time.LocalDate;
+import java.util.Comparator;
 import java.util.HashMap;
 
 @Getter
@@ -41,27 +42,18 @@ public class Profile {
     private ProgressStatus status;
     
     /** 위임취소 시 원상복구 값 */
-    private HashMap<String, Object> log;
+    private AllocationLog log;
 
     /** log(Map)에 입력할 KEY로 사용 */
     public static final String KEY_TASK_LEVEL = "taskLevel";
     public static final String KEY_SEQ = "seq";
 
-    /**
-     * 우선순위 변동에 의해 순서 +1
-     */
-    public void addSequence() {
-        this.setSeq(this.getSeq() + 1);
-    }
-
-    /**
-     * 우선순위 변동에 의해 순서 -1
-     */
-    public void minusSequence() {
-        if (0 < this.getSeq()) {
-            this.setSeq(this.getSeq() - 1);
-        }
-    }
+    /** 우선순위 정렬 기준(날짜, 담당자 번호, 중요도, 순서) */
+    public static final Comparator<Profile> PRIORITY_ORDER = Comparator
+            .comparing(Profile::getDate)
+            .thenComparingInt((Profile profile) -> profile.getAssignee().getNumber())
+            .thenComparingInt(profile -> profile.getTaskLevel().getCode())
+            .thenComparingInt(Profile::getSeq);
 
     public static Profile of(int num, LocalDate date, Member assignee, TaskLevel taskLevel, int seq, String task, ProgressStatus status, String description) {
         Profile profile = Profile.builder()
@@ -90,7 +82,7 @@ public class Profile {
                 .status(status)
                 .description(description)
                 .reporter(reporter)
-                .log(log)
+                .log(AllocationLog.of(log))
                 .build();
 
         return profile;
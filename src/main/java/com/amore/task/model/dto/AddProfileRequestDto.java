@@ -0,0 +1,47 @@
+package com.amore.task.model.dto;
+
+import com.amore.task.common.RequestValidator;
+import com.amore.task.model.enums.ResponseStatus;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 프로필 추가 요청
+ */
+@Getter
+@Setter
+public class AddProfileRequestDto {
+    /** 날짜(yyyy-MM-dd) */
+    private String date;
+
+    /** 담당자 번호 */
+    private Integer assignee;
+
+    /** 업무명 */
+    private String task;
+
+    /** 간략설명 */
+    private String description;
+
+    /**
+     * 필수 파라미터 확인 후 DTO로 변환
+     * @return ProfileDto
+     */
+    public ProfileDto toProfileDto() {
+        RequestValidator.requireText(this.date, ResponseStatus.BAD_REQUEST04);
+        RequestValidator.requireNumber(this.assignee, ResponseStatus.BAD_REQUEST02);
+        RequestValidator.requireText(this.task, ResponseStatus.BAD_REQUEST01);
+
+        ProfileDto profileDto = new ProfileDto();
+        profileDto.setDate(RequestValidator.parseDate(this.date));
+        profileDto.setTask(this.task);
+        if ((null != this.description) && (!"".equals(this.description))) {
+            profileDto.setDescription(this.description);
+        }
+        return profileDto;
+    }
+
+    public MemberDto toMemberDto() {
+        return new MemberDto(RequestValidator.requireNumber(this.assignee, ResponseStatus.BAD_REQUEST02), null);
+    }
+}
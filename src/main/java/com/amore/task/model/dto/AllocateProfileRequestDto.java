@@ -0,0 +1,20 @@
+package com.amore.task.model.dto;
+
+import com.amore.task.common.RequestValidator;
+import com.amore.task.model.enums.ResponseStatus;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 프로필 위임 요청
+ */
+@Getter
+@Setter
+public class AllocateProfileRequestDto extends ProfileNumRequestDto {
+    /** 위임할 담당자 번호 */
+    private Integer assignee;
+
+    public MemberDto toMemberDto() {
+        return new MemberDto(RequestValidator.requireNumber(this.assignee, ResponseStatus.BAD_REQUEST02), null);
+    }
+}
@@ -0,0 +1,71 @@
+package com.amore.task.model.dto;
+
+import com.amore.task.model.domain.Profile;
+import com.amore.task.model.enums.TaskLevel;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * 페이지 조회 위치(마지막으로 조회한 해야할일의 우선순위)
+ * 클라이언트에는 의미를 알 수 없는 문자열로 전달한다.
+ */
+@Getter
+public class ProfileCursor {
+    /** 날짜 */
+    private final LocalDate date;
+
+    /** 담당자 번호 */
+    private final int assignee;
+
+    /** 중요도 */
+    private final TaskLevel taskLevel;
+
+    /** 순서 */
+    private final int seq;
+
+    /** 번호 */
+    private final int num;
+
+    public ProfileCursor(LocalDate date, int assignee, TaskLevel taskLevel, int seq, int num) {
+        this.date = date;
+        this.assignee = assignee;
+        this.taskLevel = taskLevel;
+        this.seq = seq;
+        this.num = num;
+    }
+
+    public static ProfileCursor of(Profile profile) {
+        return new ProfileCursor(profile.getDate(), profile.getAssignee().getNumber(), profile.getTaskLevel(), profile.getSeq(), profile.getNum());
+    }
+
+    /**
+     * 문자열로 변환
+     * @return 커서 문자열
+     */
+    public String encode() {
+        String value = this.date.toEpochDay() + ":" + this.assignee + ":" + this.taskLevel.getCode() + ":" + this.seq + ":" + this.num;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 커서 문자열 해석
+     * @param cursor 커서 문자열
+     * @return 커서
+     * @throws IllegalArgumentException 형식이 잘못된 경우
+     */
+    public static ProfileCursor decode(String cursor) {
+        String[] values = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+        if (5 != values.length) {
+            throw new IllegalArgumentException("잘못된 커서입니다. cursor = " + cursor);
+        }
+
+        return new ProfileCursor(LocalDate.ofEpochDay(Integer.parseInt(values[0])) // 저장소의 날짜 범위(int epoch day)
+                , Integer.parseInt(values[1])
+                , TaskLevel.ofCode(Integer.parseInt(values[2]))
+                , Integer.parseInt(values[3])
+                , Integer.parseInt(values[4]));
+    }
+}
@@ -0,0 +1,31 @@
+package com.amore.task.model.dto;
+
+import com.amore.task.model.enums.ResponseStatus;
+import lombok.Getter;
+import lombok.Setter;
+
+import static com.amore.task.common.RequestValidator.badRequest;
+
+/**
+ * 프로필 번호 요청(위임취소, 삭제)
+ */
+@Getter
+@Setter
+public class ProfileNumRequestDto {
+    /** 프로필 번호 */
+    private Integer profile;
+
+    /**
+     * 필수 파라미터 확인 후 DTO로 변환
+     * @return ProfileDto
+     */
+    public ProfileDto toProfileDto() {
+        if (null == this.profile) {
+            throw badRequest(ResponseStatus.BAD_REQUEST03);
+        }
+
+        ProfileDto profileDto = new ProfileDto();
+        profileDto.setNum(this.profile);
+        return profileDto;
+    }
+}
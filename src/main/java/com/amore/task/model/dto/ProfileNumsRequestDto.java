@@ -0,0 +1,52 @@
+package com.amore.task.model.dto;
+
+import com.amore.task.model.enums.ProgressStatus;
+import com.amore.task.model.enums.ResponseStatus;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+import static com.amore.task.common.RequestValidator.badRequest;
+
+/**
+ * 프로필 번호 목록 요청(일괄 삭제, 일괄 상태 변경)
+ */
+@Getter
+@Setter
+public class ProfileNumsRequestDto {
+    /** 프로필 번호 목록 */
+    private List<Integer> profiles;
+
+    /** 상태(1: 진행중, 2: 완료) */
+    private Integer status;
+
+    /**
+     * 필수 파라미터 확인
+     * @param maxSize 최대 건수
+     * @return 프로필 번호 목록
+     */
+    public List<Integer> toNums(int maxSize) {
+        if ((null == this.profiles) || (this.profiles.isEmpty()) || (this.profiles.contains(null))) {
+            throw badRequest(ResponseStatus.BAD_REQUEST03);
+        }
+        if (maxSize < this.profiles.size()) {
+            throw badRequest(ResponseStatus.BAD_REQUEST11);
+        }
+        return this.profiles;
+    }
+
+    /**
+     * 상태 변환
+     * 진행중(1)과 완료(2) 외에는 유효하지 않음
+     * @return 상태
+     */
+    public ProgressStatus toStatus() {
+        if ((null != this.status) && (1 == this.status)) {
+            return ProgressStatus.OPEN;
+        } else if ((null != this.status) && (2 == this.status)) {
+            return ProgressStatus.COMPLETE;
+        }
+        throw badRequest(ResponseStatus.BAD_REQUEST07);
+    }
+}
@@ -0,0 +1,20 @@
+package com.amore.task.model.dto;
+
+import com.amore.task.model.domain.Profile;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class ProfilePageDto {
+    /** 해야할일 목록(우선순위 순) */
+    private final List<Profile> profiles;
+
+    /** 다음 페이지 커서(마지막 페이지이면 null) */
+    private final String cursor;
+
+    public ProfilePageDto(List<Profile> profiles, String cursor) {
+        this.profiles = profiles;
+        this.cursor = cursor;
+    }
+}
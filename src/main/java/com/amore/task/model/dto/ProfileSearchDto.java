@@ -0,0 +1,28 @@
+package com.amore.task.model.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+@Setter
+public class ProfileSearchDto {
+    /** 시작 날짜(포함, null이면 제한 없음) */
+    private LocalDate from;
+
+    /** 종료 날짜(포함, null이면 제한 없음) */
+    private LocalDate to;
+
+    /** 담당자 번호 목록(비어있으면 전체 담당자) */
+    private List<Integer> assignees;
+
+    public ProfileSearchDto() {}
+
+    public ProfileSearchDto(LocalDate from, LocalDate to, List<Integer> assignees) {
+        setFrom(from);
+        setTo(to);
+        setAssignees(assignees);
+    }
+}
@@ -0,0 +1,87 @@
+package com.amore.task.model.dto;
+
+import com.amore.task.model.enums.ProgressStatus;
+import com.amore.task.model.enums.ResponseStatus;
+import com.amore.task.model.enums.TaskLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+import static com.amore.task.common.RequestValidator.badRequest;
+
+/**
+ * 프로필 정보 변경 요청
+ */
+@Getter
+@Setter
+public class UpdateProfileRequestDto extends ProfileNumRequestDto {
+    /** 업무명 */
+    private String task;
+
+    /** 간략설명 */
+    private String description;
+
+    /** 상태(1: 진행중, 2: 완료) */
+    private Integer status;
+
+    /** 중요도 */
+    private String level;
+
+    /** 순서 */
+    private Integer seq;
+
+    /**
+     * 변경할 값이 있는지 여부
+     * @return 변경 여부
+     */
+    public boolean hasChanges() {
+        return ((null != this.task) && (!"".equals(this.task)))
+                || (null != this.description)
+                || ((null != this.status) && (0 < this.status))
+                || ((null != this.level) && (!"".equals(this.level)))
+                || ((null != this.seq) && (0 <= this.seq));
+    }
+
+    /**
+     * 파라미터 확인 후 DTO로 변환(입력된 값만 설정)
+     * @return ProfileDto
+     */
+    @Override
+    public ProfileDto toProfileDto() {
+        ProfileDto profileDto = super.toProfileDto();
+
+        // 업무명 변경
+        if ((null != this.task) && (!"".equals(this.task))) {
+            profileDto.setTask(this.task);
+        }
+
+        // 간략설명 변경
+        if (null != this.description) {
+            profileDto.setDescription(this.description);
+        }
+
+        // 상태 변경, 진행중(1)과 완료(2) 외에는 유효하지 않음
+        if ((null != this.status) && (0 < this.status)) {
+            if (1 == this.status) {
+                profileDto.setStatus(ProgressStatus.OPEN);
+            } else if (2 == this.status) {
+                profileDto.setStatus(ProgressStatus.COMPLETE);
+            } else {
+                throw badRequest(ResponseStatus.BAD_REQUEST07);
+            }
+        }
+
+        // 중요도
+        if ((null != this.level) && (!"".equals(this.level))) {
+            if (!TaskLevel.isValid(this.level)) {
+                throw badRequest(ResponseStatus.BAD_REQUEST06);
+            }
+            profileDto.setTaskLevel(TaskLevel.valueOf(this.level));
+        }
+
+        // 순서
+        if ((null != this.seq) && (0 <= this.seq)) {
+            profileDto.setSeq(this.seq);
+        }
+        return profileDto;
+    }
+}
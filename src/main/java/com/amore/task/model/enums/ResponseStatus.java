@@ -17,7 +17,13 @@ public enum ResponseStatus {
     BAD_REQUEST04("08", "필수 값인 날짜가 누락되었습니다."),
     BAD_REQUEST05("09", "날짜 형식이 잘못되었습니다. 예시)2022-05-02"),
     BAD_REQUEST06("10", "중요도를 잘못입력하였습니다."),
-    BAD_REQUEST07("11", "상태 변경 값을 잘못입력하였습니다.");
+    BAD_REQUEST07("11", "상태 변경 값을 잘못입력하였습니다."),
+    BAD_REQUEST08("12", "페이지 커서가 잘못되었습니다."),
+    BAD_REQUEST09("13", "조회 건수를 잘못입력하였습니다."),
+    BAD_REQUEST10("14", "요청 형식이 잘못되었습니다."),
+    BAD_REQUEST11("15", "일괄 처리 건수를 잘못입력하였습니다."),
+    BAD_REQUEST12("16", "담당자 번호를 잘못입력하였습니다."),
+    BAD_REQUEST13("17", "처리할 수 없는 날짜입니다.");
 
     /** 코드 */
     private final String code;
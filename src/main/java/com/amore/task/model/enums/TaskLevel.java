@@ -22,6 +22,20 @@ public enum TaskLevel {
         this.name = name;
     }
 
+    /**
+     * 코드에 해당하는 중요도
+     * @param code
+     * @return 중요도
+     */
+    public static TaskLevel ofCode(int code) {
+        for (TaskLevel taskLevel : TaskLevel.values()) {
+            if (code == taskLevel.getCode()) {
+                return taskLevel;
+            }
+        }
+        throw new IllegalArgumentException("잘못된 중요도 코드입니다. code = " + code);
+    }
+
     public static boolean isValid(String taskLevel) {
         try {
             TaskLevel.valueOf(taskLevel);
@@ -0,0 +1,42 @@
+package com.amore.task.repository;
+
+import lombok.Getter;
+
+/**
+ * 변경 로그(WAL) 기록 종류
+ * 코드는 파일에 기록되므로 기존 값을 바꾸지 않는다.
+ */
+@Getter
+public enum JournalOperation {
+    ADD(1),
+    ADD_BATCH(2),
+    LOAD(3),
+    REMOVE(4),
+    REMOVE_BATCH(5),
+    STATUS_BATCH(6),
+    ALLOCATE(7),
+    CANCEL(8),
+    UPDATE(9),
+    CLEAR(10),
+    ADD_MEMBER(11);
+
+    private final int code;
+
+    JournalOperation(int code) {
+        this.code = code;
+    }
+
+    /**
+     * 코드에 해당하는 기록 종류
+     * @param code
+     * @return 기록 종류
+     */
+    public static JournalOperation ofCode(int code) {
+        for (JournalOperation operation : JournalOperation.values()) {
+            if (code == operation.getCode()) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("잘못된 변경 로그 코드입니다. code = " + code);
+    }
+}
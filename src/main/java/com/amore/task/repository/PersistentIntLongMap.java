@@ -0,0 +1,362 @@
+package com.amore.task.repository;
+
+import java.util.Arrays;
+
+/**
+ * int 키 → long 값 해시 맵(변경하지 않는 32진 hash trie)
+ * 키의 하위 bit부터 5bit씩 사용하여 노드를 찾아가며, 노드마다 bitmap으로 값이 있는 칸만 배열에 저장한다.
+ * 다른 키와 구분되는 단계에 값을 바로 저장하므로 깊이는 키 분포와 관계 없이 항목 수의 log32 정도이다.
+ * 추가, 삭제 시 거쳐간 경로의 노드만 복사한 새 맵을 반환하므로 이전 맵은 그대로 잠금 없이 읽을 수 있다.
+ * 키, 값은 boxing 없이 int, long 배열로 저장한다.
+ */
+public final class PersistentIntLongMap {
+    /** 단계별 사용하는 키 bit 수 */
+    private static final int BITS = 5;
+
+    private static final int MASK = (1 << BITS) - 1;
+
+    private static final PersistentIntLongMap EMPTY = new PersistentIntLongMap(Node.EMPTY, 0);
+
+    private final Node root;
+
+    private final int size;
+
+    private PersistentIntLongMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    public static PersistentIntLongMap empty() {
+        return EMPTY;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return 0 == this.size;
+    }
+
+    /**
+     * 키에 해당하는 값
+     * @param key
+     * @param defaultValue 키가 없을 때 반환할 값
+     * @return 값 또는 defaultValue
+     */
+    public long getOrDefault(int key, long defaultValue) {
+        Node node = this.root;
+        int shift = 0;
+        while (true) {
+            int bit = bitOf(key, shift);
+            if (0 != (node.dataMap & bit)) {
+                int index = node.dataIndex(bit);
+                return (key == node.keys[index]) ? node.values[index] : defaultValue;
+            }
+            if (0 == (node.nodeMap & bit)) {
+                return defaultValue;
+            }
+            node = node.children[node.nodeIndex(bit)];
+            shift += BITS;
+        }
+    }
+
+    public boolean containsKey(int key) {
+        Node node = this.root;
+        int shift = 0;
+        while (true) {
+            int bit = bitOf(key, shift);
+            if (0 != (node.dataMap & bit)) {
+                return key == node.keys[node.dataIndex(bit)];
+            }
+            if (0 == (node.nodeMap & bit)) {
+                return false;
+            }
+            node = node.children[node.nodeIndex(bit)];
+            shift += BITS;
+        }
+    }
+
+    /**
+     * 값을 추가(같은 키가 있으면 교체)한 새 맵
+     * @param key
+     * @param value
+     * @return 맵
+     */
+    public PersistentIntLongMap put(int key, long value) {
+        int size = this.containsKey(key) ? this.size : this.size + 1;
+        return new PersistentIntLongMap(put(this.root, key, value, 0), size);
+    }
+
+    /**
+     * 키를 삭제한 새 맵
+     * @param key
+     * @return 맵(키가 없으면 그대로)
+     */
+    public PersistentIntLongMap remove(int key) {
+        if (!this.containsKey(key)) {
+            return this;
+        }
+        return (1 == this.size) ? EMPTY : new PersistentIntLongMap(remove(this.root, key, 0), this.size - 1);
+    }
+
+    /**
+     * 여러 항목을 한번에 담는 맵 생성(노드를 경로 복사 없이 한번씩만 생성)
+     * @param expectedSize 예상 항목 수
+     * @return 생성기
+     */
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    private static int bitOf(int key, int shift) {
+        return 1 << ((key >>> shift) & MASK);
+    }
+
+    private static Node put(Node node, int key, long value, int shift) {
+        int bit = bitOf(key, shift);
+        if (0 != (node.dataMap & bit)) {
+            int index = node.dataIndex(bit);
+            if (key == node.keys[index]) {
+                long[] values = node.values.clone();
+                values[index] = value;
+                return new Node(node.dataMap, node.nodeMap, node.keys, values, node.children);
+            }
+            // 같은 칸의 다른 키와 함께 하위 노드로 내림
+            Node child = merge(node.keys[index], node.values[index], key, value, shift + BITS);
+            return node.dataToNode(bit, index, child);
+        }
+        if (0 != (node.nodeMap & bit)) {
+            int index = node.nodeIndex(bit);
+            Node[] children = node.children.clone();
+            children[index] = put(children[index], key, value, shift + BITS);
+            return new Node(node.dataMap, node.nodeMap, node.keys, node.values, children);
+        }
+        return node.insertData(bit, key, value);
+    }
+
+    /**
+     * 키가 있는 노드에서 키 삭제
+     * 하위 노드에 항목이 하나만 남으면 상위 노드의 값으로 올린다.
+     */
+    private static Node remove(Node node, int key, int shift) {
+        int bit = bitOf(key, shift);
+        if (0 != (node.dataMap & bit)) {
+            return node.removeData(bit, node.dataIndex(bit));
+        }
+
+        int index = node.nodeIndex(bit);
+        Node child = remove(node.children[index], key, shift + BITS);
+        if ((0 == child.nodeMap) && (1 == child.keys.length)) {
+            return node.nodeToData(bit, index, child.keys[0], child.values[0]);
+        }
+        Node[] children = node.children.clone();
+        children[index] = child;
+        return new Node(node.dataMap, node.nodeMap, node.keys, node.values, children);
+    }
+
+    /**
+     * 서로 다른 두 키를 담는 노드
+     */
+    private static Node merge(int key1, long value1, int key2, long value2, int shift) {
+        int fragment1 = (key1 >>> shift) & MASK;
+        int fragment2 = (key2 >>> shift) & MASK;
+        if (fragment1 == fragment2) {
+            return new Node(0, 1 << fragment1, Node.NO_KEYS, Node.NO_VALUES, new Node[] {merge(key1, value1, key2, value2, shift + BITS)});
+        }
+        int dataMap = (1 << fragment1) | (1 << fragment2);
+        return (fragment1 < fragment2)
+                ? new Node(dataMap, 0, new int[] {key1, key2}, new long[] {value1, value2}, Node.NO_CHILDREN)
+                : new Node(dataMap, 0, new int[] {key2, key1}, new long[] {value2, value1}, Node.NO_CHILDREN);
+    }
+
+    /**
+     * 노드(값과 하위 노드는 칸 순서로 저장)
+     */
+    private static final class Node {
+        private static final int[] NO_KEYS = new int[0];
+
+        private static final long[] NO_VALUES = new long[0];
+
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private static final Node EMPTY = new Node(0, 0, NO_KEYS, NO_VALUES, NO_CHILDREN);
+
+        /** 값이 있는 칸 */
+        private final int dataMap;
+
+        /** 하위 노드가 있는 칸 */
+        private final int nodeMap;
+
+        private final int[] keys;
+
+        private final long[] values;
+
+        private final Node[] children;
+
+        Node(int dataMap, int nodeMap, int[] keys, long[] values, Node[] children) {
+            this.dataMap = dataMap;
+            this.nodeMap = nodeMap;
+            this.keys = keys;
+            this.values = values;
+            this.children = children;
+        }
+
+        int dataIndex(int bit) {
+            return Integer.bitCount(this.dataMap & (bit - 1));
+        }
+
+        int nodeIndex(int bit) {
+            return Integer.bitCount(this.nodeMap & (bit - 1));
+        }
+
+        Node insertData(int bit, int key, long value) {
+            int index = this.dataIndex(bit);
+            int[] keys = new int[this.keys.length + 1];
+            long[] values = new long[keys.length];
+            System.arraycopy(this.keys, 0, keys, 0, index);
+            System.arraycopy(this.values, 0, values, 0, index);
+            keys[index] = key;
+            values[index] = value;
+            System.arraycopy(this.keys, index, keys, index + 1, this.keys.length - index);
+            System.arraycopy(this.values, index, values, index + 1, this.keys.length - index);
+            return new Node(this.dataMap | bit, this.nodeMap, keys, values, this.children);
+        }
+
+        Node removeData(int bit, int index) {
+            int[] keys = new int[this.keys.length - 1];
+            long[] values = new long[keys.length];
+            System.arraycopy(this.keys, 0, keys, 0, index);
+            System.arraycopy(this.values, 0, values, 0, index);
+            System.arraycopy(this.keys, index + 1, keys, index, keys.length - index);
+            System.arraycopy(this.values, index + 1, values, index, keys.length - index);
+            return new Node(this.dataMap ^ bit, this.nodeMap, keys, values, this.children);
+        }
+
+        /**
+         * 칸의 값을 하위 노드로 교체
+         */
+        Node dataToNode(int bit, int dataIndex, Node child) {
+            Node node = this.removeData(bit, dataIndex);
+            int index = this.nodeIndex(bit);
+            Node[] children = new Node[this.children.length + 1];
+            System.arraycopy(this.children, 0, children, 0, index);
+            children[index] = child;
+            System.arraycopy(this.children, index, children, index + 1, this.children.length - index);
+            return new Node(node.dataMap, this.nodeMap | bit, node.keys, node.values, children);
+        }
+
+        /**
+         * 칸의 하위 노드를 값으로 교체
+         */
+        Node nodeToData(int bit, int nodeIndex, int key, long value) {
+            Node[] children = new Node[this.children.length - 1];
+            System.arraycopy(this.children, 0, children, 0, nodeIndex);
+            System.arraycopy(this.children, nodeIndex + 1, children, nodeIndex, children.length - nodeIndex);
+            return new Node(this.dataMap, this.nodeMap ^ bit, this.keys, this.values, children).insertData(bit, key, value);
+        }
+    }
+
+    /**
+     * 여러 항목을 모은 뒤 한번에 맵 생성(스냅샷 적재용, 한 스레드에서만 사용)
+     * 단계마다 키를 칸별로 나누어(counting sort) 노드를 아래에서부터 한번씩만 만든다.
+     */
+    public static final class Builder {
+        private int[] keys;
+
+        private long[] values;
+
+        private int size;
+
+        private Builder(int expectedSize) {
+            this.keys = new int[Math.max(1, expectedSize)];
+            this.values = new long[this.keys.length];
+        }
+
+        /**
+         * 항목 추가(키는 중복되지 않아야함)
+         * @param key
+         * @param value
+         * @return 생성기
+         */
+        public Builder put(int key, long value) {
+            if (this.keys.length == this.size) {
+                this.keys = Arrays.copyOf(this.keys, this.size << 1);
+                this.values = Arrays.copyOf(this.values, this.keys.length);
+            }
+            this.keys[this.size] = key;
+            this.values[this.size] = value;
+            this.size++;
+            return this;
+        }
+
+        /**
+         * 맵 생성
+         * @return 맵
+         * @throws IllegalArgumentException 중복된 키가 있는 경우
+         */
+        public PersistentIntLongMap build() {
+            if (0 == this.size) {
+                return EMPTY;
+            }
+            Node root = build(this.keys, this.values, 0, this.size, 0, new int[this.size], new long[this.size]);
+            return new PersistentIntLongMap(root, this.size);
+        }
+
+        /**
+         * 구간 [from, to)의 항목을 담는 노드
+         * @param buffer, valueBuffer 칸별 정렬용 임시 배열
+         */
+        private static Node build(int[] keys, long[] values, int from, int to, int shift, int[] buffer, long[] valueBuffer) {
+            if (32 <= shift) {
+                throw new IllegalArgumentException("중복된 키입니다. key = " + keys[from]);
+            }
+
+            int[] starts = new int[MASK + 2];
+            for (int index = from; index < to; index++) {
+                starts[((keys[index] >>> shift) & MASK) + 1]++;
+            }
+            int dataMap = 0;
+            int nodeMap = 0;
+            int dataCount = 0;
+            for (int fragment = 0; fragment <= MASK; fragment++) {
+                int count = starts[fragment + 1];
+                if (1 == count) {
+                    dataMap |= 1 << fragment;
+                    dataCount++;
+                } else if (1 < count) {
+                    nodeMap |= 1 << fragment;
+                }
+                starts[fragment + 1] += starts[fragment];
+            }
+
+            // 칸 순서로 정렬
+            int[] positions = Arrays.copyOf(starts, MASK + 1);
+            for (int index = from; index < to; index++) {
+                int position = from + positions[(keys[index] >>> shift) & MASK]++;
+                buffer[position] = keys[index];
+                valueBuffer[position] = values[index];
+            }
+            System.arraycopy(buffer, from, keys, from, to - from);
+            System.arraycopy(valueBuffer, from, values, from, to - from);
+
+            int[] dataKeys = new int[dataCount];
+            long[] dataValues = new long[dataCount];
+            Node[] children = new Node[Integer.bitCount(nodeMap)];
+            int dataIndex = 0;
+            int nodeIndex = 0;
+            for (int fragment = 0; fragment <= MASK; fragment++) {
+                int start = from + starts[fragment];
+                int end = from + starts[fragment + 1];
+                if (1 == end - start) {
+                    dataKeys[dataIndex] = keys[start];
+                    dataValues[dataIndex] = values[start];
+                    dataIndex++;
+                } else if (1 < end - start) {
+                    children[nodeIndex++] = build(keys, values, start, end, shift + BITS, buffer, valueBuffer);
+                }
+            }
+            return new Node(dataMap, nodeMap, dataKeys, dataValues, children);
+        }
+    }
+}
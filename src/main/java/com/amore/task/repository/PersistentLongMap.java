@@ -0,0 +1,410 @@
+package com.amore.task.repository;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+/**
+ * long 키 정렬 맵(변경하지 않는 B+tree)
+ * 추가, 삭제 시 거쳐간 경로의 노드만 복사한 새 맵을 반환하므로 이전 맵은 그대로 잠금 없이 읽을 수 있다.
+ * 값으로 null은 사용하지 않는다.
+ * @param <V> 값
+ */
+public final class PersistentLongMap<V> {
+    /** 노드의 최대 항목 수 */
+    private static final int MAX_ENTRIES = 32;
+
+    /** 이웃 노드와 합칠 항목 수 */
+    private static final int MIN_ENTRIES = MAX_ENTRIES / 4;
+
+    private static final PersistentLongMap<Object> EMPTY = new PersistentLongMap<Object>(null, 0);
+
+    private final Node root;
+
+    private final int size;
+
+    private PersistentLongMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <V> PersistentLongMap<V> empty() {
+        return (PersistentLongMap<V>) EMPTY;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return 0 == this.size;
+    }
+
+    /**
+     * 키에 해당하는 값
+     * @param key
+     * @return null 또는 값
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        Node node = this.root;
+        if (null == node) {
+            return null;
+        }
+        while (node instanceof Branch) {
+            Branch branch = (Branch) node;
+            node = branch.children[branch.childIndex(key)];
+        }
+        Leaf leaf = (Leaf) node;
+        int index = Arrays.binarySearch(leaf.keys, key);
+        return (0 <= index) ? (V) leaf.values[index] : null;
+    }
+
+    /**
+     * 값을 추가(같은 키가 있으면 교체)한 새 맵
+     * @param key
+     * @param value null이 아닌 값
+     * @return 맵
+     */
+    public PersistentLongMap<V> put(long key, V value) {
+        if (null == value) {
+            throw new IllegalArgumentException("null 값은 저장할 수 없습니다.");
+        }
+        if (null == this.root) {
+            return new PersistentLongMap<V>(new Leaf(new long[] {key}, new Object[] {value}), 1);
+        }
+
+        int size = (null == this.get(key)) ? this.size + 1 : this.size;
+        Node[] nodes = put(this.root, key, value);
+        Node root = (1 == nodes.length) ? nodes[0] : new Branch(nodes);
+        return new PersistentLongMap<V>(root, size);
+    }
+
+    /**
+     * 키를 삭제한 새 맵
+     * @param key
+     * @return 맵(키가 없으면 현재 맵)
+     */
+    public PersistentLongMap<V> remove(long key) {
+        if (null == this.get(key)) {
+            return this;
+        }
+
+        Node root = remove(this.root, key);
+        while ((root instanceof Branch) && (1 == ((Branch) root).children.length)) {
+            root = ((Branch) root).children[0];
+        }
+        return new PersistentLongMap<V>(root, this.size - 1);
+    }
+
+    /**
+     * 키 범위에 해당하는 값을 키 순으로 방문
+     * @param from 시작 키(포함)
+     * @param to 종료 키(포함)
+     * @param visitor 값 처리(false를 반환하면 중단)
+     * @return 중단 없이 끝까지 방문했는지 여부
+     */
+    public boolean forEach(long from, long to, Predicate<? super V> visitor) {
+        if ((null == this.root) || (from > to)) {
+            return true;
+        }
+        return forEach(this.root, from, to, visitor);
+    }
+
+    /**
+     * 키 오름차순으로 모은 항목으로 한번에 맵 생성(노드를 경로 복사 없이 아래에서부터 한번씩만 생성)
+     * @param expectedSize 예상 항목 수
+     * @return 생성기
+     */
+    public static <V> Builder<V> builder(int expectedSize) {
+        return new Builder<V>(expectedSize);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> boolean forEach(Node node, long from, long to, Predicate<? super V> visitor) {
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            int index = Arrays.binarySearch(leaf.keys, from);
+            for (index = (0 <= index) ? index : -index - 1; (index < leaf.keys.length) && (leaf.keys[index] <= to); index++) {
+                if (!visitor.test((V) leaf.values[index])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        Branch branch = (Branch) node;
+        for (int index = branch.childIndex(from); (index < branch.children.length) && (branch.keys[index] <= to); index++) {
+            if (!forEach(branch.children[index], from, to, visitor)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Node[] put(Node node, long key, Object value) {
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            int index = Arrays.binarySearch(leaf.keys, key);
+            if (0 <= index) {
+                Object[] values = leaf.values.clone();
+                values[index] = value;
+                return new Node[] {new Leaf(leaf.keys, values)};
+            }
+
+            index = -index - 1;
+            long[] keys = new long[leaf.keys.length + 1];
+            Object[] values = new Object[keys.length];
+            System.arraycopy(leaf.keys, 0, keys, 0, index);
+            System.arraycopy(leaf.values, 0, values, 0, index);
+            keys[index] = key;
+            values[index] = value;
+            System.arraycopy(leaf.keys, index, keys, index + 1, leaf.keys.length - index);
+            System.arraycopy(leaf.values, index, values, index + 1, leaf.keys.length - index);
+            if (MAX_ENTRIES < keys.length) {
+                int half = keys.length >>> 1;
+                return new Node[] {
+                        new Leaf(Arrays.copyOfRange(keys, 0, half), Arrays.copyOfRange(values, 0, half)),
+                        new Leaf(Arrays.copyOfRange(keys, half, keys.length), Arrays.copyOfRange(values, half, keys.length))
+                };
+            }
+            return new Node[] {new Leaf(keys, values)};
+        }
+
+        Branch branch = (Branch) node;
+        int index = branch.childIndex(key);
+        Node[] nodes = put(branch.children[index], key, value);
+        Node[] children = new Node[branch.children.length + nodes.length - 1];
+        System.arraycopy(branch.children, 0, children, 0, index);
+        System.arraycopy(nodes, 0, children, index, nodes.length);
+        System.arraycopy(branch.children, index + 1, children, index + nodes.length, branch.children.length - index - 1);
+        if (MAX_ENTRIES < children.length) {
+            int half = children.length >>> 1;
+            return new Node[] {new Branch(Arrays.copyOfRange(children, 0, half)), new Branch(Arrays.copyOfRange(children, half, children.length))};
+        }
+        return new Node[] {new Branch(children)};
+    }
+
+    /**
+     * 키 삭제(키가 있는 경우만 호출)
+     * 항목이 적어진 노드는 이웃 노드와 합친다.
+     * @param node
+     * @param key
+     * @return null(비어있는 경우) 또는 노드
+     */
+    private static Node remove(Node node, long key) {
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            if (1 == leaf.keys.length) {
+                return null;
+            }
+            int index = Arrays.binarySearch(leaf.keys, key);
+            long[] keys = new long[leaf.keys.length - 1];
+            Object[] values = new Object[keys.length];
+            System.arraycopy(leaf.keys, 0, keys, 0, index);
+            System.arraycopy(leaf.values, 0, values, 0, index);
+            System.arraycopy(leaf.keys, index + 1, keys, index, keys.length - index);
+            System.arraycopy(leaf.values, index + 1, values, index, keys.length - index);
+            return new Leaf(keys, values);
+        }
+
+        Branch branch = (Branch) node;
+        int index = branch.childIndex(key);
+        Node child = remove(branch.children[index], key);
+        if (null == child) {
+            if (1 == branch.children.length) {
+                return null;
+            }
+            Node[] children = new Node[branch.children.length - 1];
+            System.arraycopy(branch.children, 0, children, 0, index);
+            System.arraycopy(branch.children, index + 1, children, index, children.length - index);
+            return new Branch(children);
+        }
+
+        Node[] children = branch.children.clone();
+        children[index] = child;
+        if ((child.count() < MIN_ENTRIES) && (1 < children.length)) {
+            // 이웃 노드와 합쳐도 최대 항목 수를 넘지 않으면 합침
+            int left = (0 < index) ? index - 1 : index;
+            Node merged = merge(children[left], children[left + 1]);
+            if (null != merged) {
+                Node[] mergedChildren = new Node[children.length - 1];
+                System.arraycopy(children, 0, mergedChildren, 0, left);
+                mergedChildren[left] = merged;
+                System.arraycopy(children, left + 2, mergedChildren, left + 1, mergedChildren.length - left - 1);
+                children = mergedChildren;
+            }
+        }
+        return new Branch(children);
+    }
+
+    /**
+     * 이웃한 두 노드를 합침
+     * @param left
+     * @param right
+     * @return null(합치면 최대 항목 수를 넘는 경우) 또는 합친 노드
+     */
+    private static Node merge(Node left, Node right) {
+        if (MAX_ENTRIES < left.count() + right.count()) {
+            return null;
+        }
+        if (left instanceof Leaf) {
+            Leaf leftLeaf = (Leaf) left;
+            Leaf rightLeaf = (Leaf) right;
+            long[] keys = Arrays.copyOf(leftLeaf.keys, leftLeaf.keys.length + rightLeaf.keys.length);
+            Object[] values = Arrays.copyOf(leftLeaf.values, keys.length);
+            System.arraycopy(rightLeaf.keys, 0, keys, leftLeaf.keys.length, rightLeaf.keys.length);
+            System.arraycopy(rightLeaf.values, 0, values, leftLeaf.keys.length, rightLeaf.keys.length);
+            return new Leaf(keys, values);
+        }
+        Node[] children = Arrays.copyOf(((Branch) left).children, left.count() + right.count());
+        System.arraycopy(((Branch) right).children, 0, children, left.count(), right.count());
+        return new Branch(children);
+    }
+
+    /**
+     * 키 오름차순 항목을 모은 뒤 한번에 맵 생성(스냅샷 적재용, 한 스레드에서만 사용)
+     * 단계마다 노드를 같은 크기로 나누므로 합칠 만큼 작은 노드를 만들지 않는다.
+     * @param <V> 값
+     */
+    public static final class Builder<V> {
+        private long[] keys;
+
+        private Object[] values;
+
+        private int size;
+
+        private Builder(int expectedSize) {
+            this.keys = new long[Math.max(1, expectedSize)];
+            this.values = new Object[this.keys.length];
+        }
+
+        /**
+         * 항목 추가
+         * @param key 앞에 추가한 키보다 큰 키
+         * @param value null이 아닌 값
+         * @return 생성기
+         */
+        public Builder<V> put(long key, V value) {
+            if (null == value) {
+                throw new IllegalArgumentException("null 값은 저장할 수 없습니다.");
+            }
+            if ((0 < this.size) && (key <= this.keys[this.size - 1])) {
+                throw new IllegalArgumentException("키 오름차순으로 추가해야 합니다. key = " + key);
+            }
+            if (this.keys.length == this.size) {
+                this.keys = Arrays.copyOf(this.keys, this.size << 1);
+                this.values = Arrays.copyOf(this.values, this.keys.length);
+            }
+            this.keys[this.size] = key;
+            this.values[this.size] = value;
+            this.size++;
+            return this;
+        }
+
+        /**
+         * 맵 생성
+         * @return 맵
+         */
+        public PersistentLongMap<V> build() {
+            if (0 == this.size) {
+                return empty();
+            }
+
+            Node[] nodes = new Node[groupCount(this.size)];
+            for (int group = 0; group < nodes.length; group++) {
+                int from = groupStart(this.size, nodes.length, group);
+                int to = groupStart(this.size, nodes.length, group + 1);
+                nodes[group] = new Leaf(Arrays.copyOfRange(this.keys, from, to), Arrays.copyOfRange(this.values, from, to));
+            }
+            while (1 < nodes.length) {
+                Node[] parents = new Node[groupCount(nodes.length)];
+                for (int group = 0; group < parents.length; group++) {
+                    int from = groupStart(nodes.length, parents.length, group);
+                    int to = groupStart(nodes.length, parents.length, group + 1);
+                    parents[group] = new Branch(Arrays.copyOfRange(nodes, from, to));
+                }
+                nodes = parents;
+            }
+            return new PersistentLongMap<V>(nodes[0], this.size);
+        }
+
+        /**
+         * count개 항목을 담는 최소 노드 수
+         */
+        private static int groupCount(int count) {
+            return (count + MAX_ENTRIES - 1) / MAX_ENTRIES;
+        }
+
+        /**
+         * count개 항목을 groups개 노드로 고르게 나눌 때 노드의 첫번째 항목 인덱스
+         */
+        private static int groupStart(int count, int groups, int group) {
+            return (int) (((long) count * group) / groups);
+        }
+    }
+
+    private abstract static class Node {
+        /** 첫번째 키 */
+        abstract long firstKey();
+
+        /** 항목(키 또는 하위 노드) 수 */
+        abstract int count();
+    }
+
+    private static final class Leaf extends Node {
+        private final long[] keys;
+
+        private final Object[] values;
+
+        Leaf(long[] keys, Object[] values) {
+            this.keys = keys;
+            this.values = values;
+        }
+
+        @Override
+        long firstKey() {
+            return this.keys[0];
+        }
+
+        @Override
+        int count() {
+            return this.keys.length;
+        }
+    }
+
+    private static final class Branch extends Node {
+        /** 하위 노드별 첫번째 키 */
+        private final long[] keys;
+
+        private final Node[] children;
+
+        Branch(Node[] children) {
+            this.children = children;
+            this.keys = new long[children.length];
+            for (int index = 0; index < children.length; index++) {
+                this.keys[index] = children[index].firstKey();
+            }
+        }
+
+        /**
+         * 키가 속한 하위 노드의 인덱스(첫번째 키가 key 이하인 마지막 하위 노드)
+         * @param key
+         * @return 인덱스
+         */
+        int childIndex(long key) {
+            int index = Arrays.binarySearch(this.keys, key);
+            return (0 <= index) ? index : Math.max(0, -index - 2);
+        }
+
+        @Override
+        long firstKey() {
+            return this.keys[0];
+        }
+
+        @Override
+        int count() {
+            return this.children.length;
+        }
+    }
+}
@@ -0,0 +1,1115 @@
+package com.amore.task.repository;
+
+import com.amore.task.model.domain.AllocationLog;
+import com.amore.task.model.domain.Member;
+import com.amore.task.model.domain.Profile;
+import com.amore.task.model.enums.ProgressStatus;
+import com.amore.task.model.enums.TaskLevel;
+import lombok.Getter;
+
+import java.lang.reflect.Array;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * 날짜, 담당자 단위의 해야할일 묶음(변경하지 않는 트리)
+ * 묶음 내 해야할일은 중요도(TaskLevel code), 순서(seq) 순으로 정렬되어있다.
+ * 변경은 거쳐간 경로의 노드만 복사한 새 묶음을 반환하므로, 조회는 가지고 있는 묶음을 잠금 없이 그대로 사용한다.
+ *
+ * 순서는 해야할일마다 저장하지 않고 앞의 동일 중요도 해야할일과의 차이(중요도의 첫 해야할일은 순서 값)로 저장하며,
+ * 중요도의 첫 해야할일부터 차이를 합하여 계산한다(노드마다 차이의 합을 가지고 있으므로 O(log n)).
+ * 따라서 추가, 삭제 시 뒤의 동일 중요도 해야할일의 순서가 +1, -1 되어도 바로 뒤 해야할일의 차이만 변경한다.
+ * 해야할일의 위치는 간격을 두고 부여한 rank(묶음 내 오름차순)로 트리를 탐색하여 찾는다.
+ * 해야할일은 leaf마다 값 종류별 배열(열)로 저장하여 해야할일마다 객체를 두지 않는다.
+ * 순서는 0 이상이어야 한다.
+ */
+public final class ProfileBucket {
+    /** 묶음 정렬 기준(날짜, 담당자 번호) */
+    public static final Comparator<ProfileBucket> BUCKET_ORDER = Comparator
+            .comparing(ProfileBucket::getDate)
+            .thenComparingInt(ProfileBucket::getAssignee);
+
+    /** leaf 노드의 최대 해야할일 수 */
+    private static final int LEAF_SIZE = 64;
+
+    /** branch 노드의 최대 하위 노드 수 */
+    private static final int BRANCH_SIZE = 32;
+
+    /** rank 부여 간격 */
+    private static final long RANK_GAP = 1L << 20;
+
+    /** rank 최소값 */
+    private static final long MIN_RANK = Long.MIN_VALUE / 4;
+
+    /** rank 최대값 */
+    private static final long MAX_RANK = Long.MAX_VALUE / 4;
+
+    /** 번호 색인에 없는 경우의 값(MIN_RANK ~ MAX_RANK 밖의 값) */
+    private static final long NO_RANK = Long.MIN_VALUE;
+
+    /** 상태 ordinal → 상태 */
+    private static final ProgressStatus[] STATUSES = ProgressStatus.values();
+
+    /** 상태가 없는 경우의 값 */
+    private static final byte NO_STATUS = -1;
+
+    /** 중요도 코드 → 중요도 */
+    private static final TaskLevel[] LEVELS = new TaskLevel[TaskLevel.values().length];
+
+    static {
+        for (TaskLevel taskLevel : TaskLevel.values()) {
+            LEVELS[taskLevel.getCode()] = taskLevel;
+        }
+    }
+
+    /** 날짜 */
+    @Getter
+    private final LocalDate date;
+
+    /** 담당자 번호 */
+    @Getter
+    private final int assignee;
+
+    /** 우선순위 순 해야할일(null이면 비어있음) */
+    private final Node root;
+
+    /** 해야할일 번호 → rank(해시 색인) */
+    private final PersistentIntLongMap ranks;
+
+    public ProfileBucket(LocalDate date, int assignee) {
+        this(date, assignee, null, PersistentIntLongMap.empty());
+    }
+
+    private ProfileBucket(LocalDate date, int assignee, Node root, PersistentIntLongMap ranks) {
+        this.date = date;
+        this.assignee = assignee;
+        this.root = root;
+        this.ranks = ranks;
+    }
+
+    /**
+     * 우선순위 순 해야할일로 묶음을 한번에 생성(스냅샷 적재용)
+     * @param date
+     * @param assignee 담당자 번호
+     * @return 생성기
+     */
+    public static Builder builder(LocalDate date, int assignee) {
+        return new Builder(date, assignee);
+    }
+
+    /**
+     * 묶음 내 해야할일 수
+     * @return 해야할일 수
+     */
+    public int size() {
+        return (null != this.root) ? this.root.size : 0;
+    }
+
+    public boolean isEmpty() {
+        return null == this.root;
+    }
+
+    /**
+     * 위치에 해당하는 해야할일(조회 시점의 값을 복사한 해야할일)
+     * @param index
+     * @return 해야할일
+     */
+    public Profile get(int index) {
+        Position position = this.locate(index);
+        return this.view(position.leaf, position.index, this.sequenceAt(index, levelStart(this.root, position.level())));
+    }
+
+    /**
+     * 마지막 해야할일(최하순위)
+     * @return null 또는 해야할일
+     */
+    public Profile getLast() {
+        if (this.isEmpty()) {
+            return null;
+        }
+        return this.get(this.size() - 1);
+    }
+
+    /**
+     * 우선순위가 (중요도, 순서)보다 같거나 낮은 첫번째 인덱스
+     * 중요도의 구간을 찾은 뒤 구간 내에서 순서 차이의 합으로 탐색한다.
+     * @param taskLevel
+     * @param sequence 순서
+     * @return 인덱스
+     */
+    public int lowerBound(TaskLevel taskLevel, long sequence) {
+        int start = levelStart(this.root, taskLevel.getCode());
+        int end = levelStart(this.root, taskLevel.getCode() + 1);
+        if (start == end) {
+            return start;
+        }
+
+        int index = firstPrefixAtLeast(this.root, prefix(this.root, start) + sequence);
+        return Math.min(Math.max(index, start), end);
+    }
+
+    /**
+     * 우선순위가 (중요도, 순서)보다 낮은 첫번째 인덱스
+     * @param taskLevel
+     * @param sequence 순서
+     * @return 인덱스
+     */
+    public int upperBound(TaskLevel taskLevel, long sequence) {
+        return this.lowerBound(taskLevel, sequence + 1);
+    }
+
+    /**
+     * 해야할일의 묶음 내 인덱스(번호 색인으로 찾은 rank로 탐색)
+     * @param num 해야할일 번호
+     * @return 인덱스(없으면 -1)
+     */
+    public int indexOf(int num) {
+        long rank = this.ranks.getOrDefault(num, NO_RANK);
+        if (NO_RANK == rank) {
+            return -1;
+        }
+        return indexOfRank(this.root, rank);
+    }
+
+    /**
+     * 위치부터 우선순위 순으로 해야할일 조회
+     * 순서는 앞의 해야할일에 차이를 더하며 계산한다.
+     * @param from 시작 인덱스
+     * @return 해야할일(조회 시점의 값을 복사한 해야할일)
+     */
+    public Iterator<Profile> iterator(int from) {
+        return new ProfileIterator(from);
+    }
+
+    /**
+     * 해야할일을 추가한 묶음
+     * 뒤의 동일 중요도 해야할일은 순서가 +1 된다.
+     * @param index 추가 할 위치
+     * @param profile 추가 할 해야할일(순서는 seq 값으로 지정)
+     * @return 묶음
+     */
+    public ProfileBucket add(int index, Profile profile) {
+        return this.insert(index, profile, 1);
+    }
+
+    /**
+     * 순서가 부여된 해야할일을 그대로 추가한 묶음(복구 및 테스트 데이터 입력용)
+     * 뒤의 동일 중요도 해야할일의 순서는 유지한다.
+     * @param index 추가 할 위치
+     * @param profile 추가 할 해야할일
+     * @return 묶음
+     */
+    public ProfileBucket load(int index, Profile profile) {
+        return this.insert(index, profile, 0);
+    }
+
+    /**
+     * 해야할일 추가
+     * @param index 추가 할 위치
+     * @param profile 추가 할 해야할일
+     * @param shift 뒤의 동일 중요도 해야할일의 순서 변경값
+     * @return 묶음
+     */
+    private ProfileBucket insert(int index, Profile profile, int shift) {
+        int level = profile.getTaskLevel().getCode();
+        long sequence = profile.getSeq();
+        int start = levelStart(this.root, level);
+        int end = levelStart(this.root, level + 1);
+        long previous = (start < index) ? this.sequenceAt(index - 1, start) : 0;
+        boolean hasNext = index < end;
+        long next = hasNext ? this.sequenceAt(index, start) : 0;
+
+        Node[] nodes = (null == this.root)
+                ? new Node[] {Leaf.EMPTY.insert(0, 0, (int) sequence, level, profile)}
+                : insert(this.root, index, 0, (int) (sequence - previous), level, profile);
+        ProfileBucket bucket = new ProfileBucket(this.date, this.assignee, join(nodes), this.ranks).assignRank(index);
+        if (hasNext) {
+            // 뒤의 동일 중요도 해야할일은 차이만 변경
+            bucket = bucket.withGap(index + 1, next + shift - sequence);
+        }
+        return bucket;
+    }
+
+    /**
+     * 해야할일을 삭제한 묶음
+     * 뒤의 동일 중요도 해야할일은 순서가 -1 된다(앞의 해야할일의 순서보다 작아지지 않음).
+     * @param index 삭제 할 위치
+     * @return 묶음
+     */
+    public ProfileBucket remove(int index) {
+        Position position = this.locate(index);
+        int level = position.level();
+        int num = position.leaf.nums[position.index];
+        int start = levelStart(this.root, level);
+        int end = levelStart(this.root, level + 1);
+
+        ProfileBucket bucket = new ProfileBucket(this.date, this.assignee, join(delete(this.root, index)), this.ranks.remove(num));
+        if (index + 1 < end) {
+            long previous = (start < index) ? this.sequenceAt(index - 1, start) : 0;
+            long next = Math.max(previous, this.sequenceAt(index + 1, start) - 1);
+            bucket = bucket.withGap(index, next - previous);
+        }
+        return bucket;
+    }
+
+    /**
+     * 중요도, 순서를 제외한 정보(업무 제목, 설명, 상태 등)를 변경한 묶음
+     * @param index 변경 할 위치
+     * @param profile 변경 할 값(번호는 같아야함)
+     * @return 묶음
+     */
+    public ProfileBucket replace(int index, Profile profile) {
+        Node root = edit(this.root, index, index + 1, 0, (leaf, position, current) -> leaf.set(position, profile));
+        return new ProfileBucket(this.date, this.assignee, root, this.ranks);
+    }
+
+    /**
+     * 위치의 순서 차이를 변경한 묶음
+     * @param index
+     * @param gap 앞의 동일 중요도 해야할일과의 순서 차이
+     * @return 묶음
+     */
+    private ProfileBucket withGap(int index, long gap) {
+        Node root = edit(this.root, index, index + 1, 0, (leaf, position, current) -> leaf.gaps[position] = (int) gap);
+        return new ProfileBucket(this.date, this.assignee, root, this.ranks);
+    }
+
+    /**
+     * 추가한 해야할일에 앞뒤 해야할일 사이의 rank 부여(간격이 없으면 주변 구간 재부여)
+     * @param index 추가한 해야할일의 위치
+     * @return 묶음
+     */
+    private ProfileBucket assignRank(int index) {
+        int size = this.size();
+        long previous = (0 < index) ? this.rankAt(index - 1) : MIN_RANK;
+        long next = (index + 1 < size) ? this.rankAt(index + 1) : MAX_RANK;
+        long rank;
+        if ((0 == index) && (1 == size)) {
+            rank = 0;
+        } else if (0 == index) {
+            rank = next - RANK_GAP;
+        } else if (index + 1 == size) {
+            rank = previous + RANK_GAP;
+        } else {
+            rank = previous + ((next - previous) >>> 1);
+        }
+
+        if ((previous < rank) && (rank < next)) {
+            int num = this.locate(index).num();
+            Node root = edit(this.root, index, index + 1, 0, (leaf, position, current) -> leaf.ranks[position] = rank);
+            return new ProfileBucket(this.date, this.assignee, root, this.ranks.put(num, rank));
+        }
+        return this.relabel(index);
+    }
+
+    /**
+     * 위치 주변 구간의 rank를 같은 간격으로 재부여
+     * 간격이 RANK_GAP 이상이 될 때까지 구간을 두배씩 늘린다.
+     * @param index 중심 위치
+     * @return 묶음
+     */
+    private ProfileBucket relabel(int index) {
+        int size = this.size();
+        int half = 8;
+        int from;
+        int to;
+        long before;
+        long step;
+        while (true) {
+            from = Math.max(0, index - half);
+            to = Math.min(size, index + half + 1);
+            before = (0 < from) ? this.rankAt(from - 1) : MIN_RANK;
+            long after = (to < size) ? this.rankAt(to) : MAX_RANK;
+            step = (after - before) / (to - from + 1);
+            if ((RANK_GAP <= step) || ((0 == from) && (size == to))) {
+                break;
+            }
+            half <<= 1;
+        }
+
+        int start = from;
+        long base = before;
+        long gap = step;
+        int[] nums = new int[to - from];
+        Node root = edit(this.root, from, to, 0, (leaf, position, current) -> {
+            leaf.ranks[position] = base + (gap * (current - start + 1));
+            nums[current - start] = leaf.nums[position];
+        });
+
+        PersistentIntLongMap ranks = this.ranks;
+        for (int offset = 0; offset < nums.length; offset++) {
+            ranks = ranks.put(nums[offset], base + (gap * (offset + 1)));
+        }
+        return new ProfileBucket(this.date, this.assignee, root, ranks);
+    }
+
+    /**
+     * 위치의 rank
+     * @param index
+     * @return rank
+     */
+    private long rankAt(int index) {
+        Position position = this.locate(index);
+        return position.leaf.ranks[position.index];
+    }
+
+    /**
+     * 위치의 순서(중요도의 첫 해야할일부터 차이의 합)
+     * @param index
+     * @param levelStart 해야할일의 중요도의 첫번째 인덱스
+     * @return 순서
+     */
+    private long sequenceAt(int index, int levelStart) {
+        return prefix(this.root, index + 1) - prefix(this.root, levelStart);
+    }
+
+    /**
+     * 위치에 해당하는 leaf와 leaf 내 인덱스
+     * @param index
+     * @return 위치
+     */
+    private Position locate(int index) {
+        if ((0 > index) || (this.size() <= index)) {
+            throw new IndexOutOfBoundsException("index = " + index + ", size = " + this.size());
+        }
+
+        Node node = this.root;
+        while (node instanceof Branch) {
+            for (Node child : ((Branch) node).children) {
+                if (index < child.size) {
+                    node = child;
+                    break;
+                }
+                index -= child.size;
+            }
+        }
+        return new Position((Leaf) node, index);
+    }
+
+    /**
+     * 저장된 값으로 해야할일 생성
+     * @param leaf
+     * @param position leaf 내 인덱스
+     * @param sequence 순서
+     * @return 해야할일
+     */
+    private Profile view(Leaf leaf, int position, long sequence) {
+        byte status = leaf.statuses[position];
+        return Profile.builder()
+                .num(leaf.nums[position])
+                .date(this.date) // 같은 날짜 값은 묶음의 인스턴스를 공유
+                .assignee(leaf.assignees[position])
+                .reporter(leaf.reporters[position])
+                .taskLevel(LEVELS[leaf.levels[position]])
+                .seq((int) sequence)
+                .task(leaf.tasks[position])
+                .description(leaf.descriptions[position])
+                .status((NO_STATUS == status) ? null : STATUSES[status])
+                .log(leaf.logs[position])
+                .build();
+    }
+
+    /**
+     * 노드 목록을 하나의 노드로 연결
+     * @param nodes 변경 결과 노드(0 ~ 2개)
+     * @return null 또는 노드
+     */
+    private static Node join(Node[] nodes) {
+        if (0 == nodes.length) {
+            return null;
+        }
+        Node node = (1 == nodes.length) ? nodes[0] : new Branch(nodes);
+        while ((node instanceof Branch) && (1 == ((Branch) node).children.length)) {
+            node = ((Branch) node).children[0];
+        }
+        return node;
+    }
+
+    /**
+     * 앞에서부터 count개 해야할일의 순서 차이의 합
+     * @param node
+     * @param count
+     * @return 합
+     */
+    private static long prefix(Node node, int count) {
+        long sum = 0;
+        while ((null != node) && (0 < count)) {
+            if (count >= node.size) {
+                return sum + node.gapSum;
+            }
+            if (node instanceof Leaf) {
+                int[] gaps = ((Leaf) node).gaps;
+                for (int index = 0; index < count; index++) {
+                    sum += gaps[index];
+                }
+                return sum;
+            }
+            for (Node child : ((Branch) node).children) {
+                if (count < child.size) {
+                    node = child;
+                    break;
+                }
+                sum += child.gapSum;
+                count -= child.size;
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * 중요도 코드가 code 이상인 첫번째 인덱스
+     * @param node
+     * @param code 중요도 코드
+     * @return 인덱스
+     */
+    private static int levelStart(Node node, int code) {
+        int offset = 0;
+        while (null != node) {
+            if (node instanceof Leaf) {
+                byte[] levels = ((Leaf) node).levels;
+                int index = 0;
+                while ((index < levels.length) && (levels[index] < code)) {
+                    index++;
+                }
+                return offset + index;
+            }
+
+            Node next = null;
+            for (Node child : ((Branch) node).children) {
+                if (code <= child.lastLevel) {
+                    next = child;
+                    break;
+                }
+                offset += child.size;
+            }
+            node = next;
+        }
+        return offset;
+    }
+
+    /**
+     * 앞에서부터 순서 차이의 합이 target 이상이 되는 첫번째 인덱스
+     * @param node
+     * @param target
+     * @return 인덱스(없으면 해야할일 수)
+     */
+    private static int firstPrefixAtLeast(Node node, long target) {
+        int offset = 0;
+        long sum = 0;
+        while (null != node) {
+            if (node instanceof Leaf) {
+                int[] gaps = ((Leaf) node).gaps;
+                for (int index = 0; index < gaps.length; index++) {
+                    sum += gaps[index];
+                    if (target <= sum) {
+                        return offset + index;
+                    }
+                }
+                return offset + gaps.length;
+            }
+
+            Node next = null;
+            for (Node child : ((Branch) node).children) {
+                if (target <= sum + child.gapSum) {
+                    next = child;
+                    break;
+                }
+                sum += child.gapSum;
+                offset += child.size;
+            }
+            node = next;
+        }
+        return offset;
+    }
+
+    /**
+     * rank에 해당하는 인덱스
+     * @param node
+     * @param rank
+     * @return 인덱스(없으면 -1)
+     */
+    private static int indexOfRank(Node node, long rank) {
+        int offset = 0;
+        while (node instanceof Branch) {
+            Node next = null;
+            for (Node child : ((Branch) node).children) {
+                if (rank <= child.lastRank) {
+                    next = child;
+                    break;
+                }
+                offset += child.size;
+            }
+            if (null == next) {
+                return -1;
+            }
+            node = next;
+        }
+        if (null == node) {
+            return -1;
+        }
+        int index = Arrays.binarySearch(((Leaf) node).ranks, rank);
+        return (0 <= index) ? offset + index : -1;
+    }
+
+    /**
+     * 위치에 해야할일 삽입
+     * @return 변경한 노드(분할되면 2개)
+     */
+    private static Node[] insert(Node node, int index, long rank, int gap, int level, Profile profile) {
+        if (node instanceof Leaf) {
+            Leaf leaf = ((Leaf) node).insert(index, rank, gap, level, profile);
+            return (LEAF_SIZE < leaf.size) ? leaf.split() : new Node[] {leaf};
+        }
+
+        Branch branch = (Branch) node;
+        int child = 0;
+        while ((child < branch.children.length - 1) && (branch.children[child].size < index)) {
+            index -= branch.children[child].size;
+            child++;
+        }
+        return branch.replace(child, 1, insert(branch.children[child], index, rank, gap, level, profile));
+    }
+
+    /**
+     * 위치의 해야할일 삭제
+     * 해야할일이 적어진 노드는 이웃 노드와 합친다.
+     * @return 변경한 노드(비어있으면 0개)
+     */
+    private static Node[] delete(Node node, int index) {
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            return (1 == leaf.size) ? new Node[0] : new Node[] {leaf.delete(index)};
+        }
+
+        Branch branch = (Branch) node;
+        int child = 0;
+        while (branch.children[child].size <= index) {
+            index -= branch.children[child].size;
+            child++;
+        }
+
+        Node[] nodes = delete(branch.children[child], index);
+        if ((1 == nodes.length) && (nodes[0].isSmall()) && (1 < branch.children.length)) {
+            int left = (0 < child) ? child - 1 : child;
+            Node merged = (left == child) ? merge(nodes[0], branch.children[child + 1]) : merge(branch.children[left], nodes[0]);
+            if (null != merged) {
+                return branch.replace(left, 2, new Node[] {merged});
+            }
+        }
+        return branch.replace(child, 1, nodes);
+    }
+
+    /**
+     * 이웃한 두 노드를 합침
+     * @return null(합치면 최대 크기를 넘는 경우) 또는 합친 노드
+     */
+    private static Node merge(Node left, Node right) {
+        if (left instanceof Leaf) {
+            return (LEAF_SIZE < left.size + right.size) ? null : ((Leaf) left).concat((Leaf) right);
+        }
+
+        Node[] leftChildren = ((Branch) left).children;
+        Node[] rightChildren = ((Branch) right).children;
+        if (BRANCH_SIZE < leftChildren.length + rightChildren.length) {
+            return null;
+        }
+        Node[] children = Arrays.copyOf(leftChildren, leftChildren.length + rightChildren.length);
+        System.arraycopy(rightChildren, 0, children, leftChildren.length, rightChildren.length);
+        return new Branch(children);
+    }
+
+    /**
+     * 구간 [from, to)의 값을 변경한 노드(해야할일 수, 순서는 유지)
+     * @param node
+     * @param from 시작 인덱스
+     * @param to 종료 인덱스(미포함)
+     * @param offset 노드의 첫번째 인덱스
+     * @param editor 값 변경
+     * @return 노드
+     */
+    private static Node edit(Node node, int from, int to, int offset, LeafEditor editor) {
+        if (node instanceof Leaf) {
+            Leaf leaf = ((Leaf) node).copy();
+            for (int index = Math.max(from, offset); index < Math.min(to, offset + leaf.size); index++) {
+                editor.edit(leaf, index - offset, index);
+            }
+            return leaf.seal();
+        }
+
+        Node[] children = ((Branch) node).children.clone();
+        int start = offset;
+        for (int index = 0; index < children.length; index++) {
+            Node child = children[index];
+            if ((start < to) && (from < start + child.size)) {
+                children[index] = edit(child, from, to, start, editor);
+            }
+            start += child.size;
+        }
+        return new Branch(children);
+    }
+
+    /**
+     * leaf 값 변경(복사한 leaf에만 사용)
+     */
+    private interface LeafEditor {
+        /**
+         * @param leaf 복사한 leaf
+         * @param position leaf 내 인덱스
+         * @param index 묶음 내 인덱스
+         */
+        void edit(Leaf leaf, int position, int index);
+    }
+
+    /**
+     * 우선순위 순 조회
+     */
+    private final class ProfileIterator implements Iterator<Profile> {
+        /** 다음 인덱스 */
+        private int index;
+
+        /** 현재 leaf */
+        private Leaf leaf;
+
+        /** 현재 leaf의 첫번째 인덱스 */
+        private int leafStart;
+
+        /** 앞의 해야할일의 중요도 코드 */
+        private int previousLevel;
+
+        /** 앞의 해야할일의 순서 */
+        private long sequence;
+
+        ProfileIterator(int from) {
+            this.index = from;
+            this.previousLevel = -1;
+            if ((0 < from) && (from <= ProfileBucket.this.size())) {
+                Position position = ProfileBucket.this.locate(from - 1);
+                this.previousLevel = position.level();
+                this.sequence = ProfileBucket.this.sequenceAt(from - 1, levelStart(ProfileBucket.this.root, this.previousLevel));
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.index < ProfileBucket.this.size();
+        }
+
+        @Override
+        public Profile next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if ((null == this.leaf) || (this.leafStart + this.leaf.size <= this.index)) {
+                Position position = ProfileBucket.this.locate(this.index);
+                this.leaf = position.leaf;
+                this.leafStart = this.index - position.index;
+            }
+
+            int position = this.index - this.leafStart;
+            int level = this.leaf.levels[position];
+            this.sequence = (level == this.previousLevel) ? this.sequence + this.leaf.gaps[position] : this.leaf.gaps[position];
+            this.previousLevel = level;
+            this.index++;
+            return ProfileBucket.this.view(this.leaf, position, this.sequence);
+        }
+    }
+
+    /**
+     * 우선순위 순으로 추가한 해야할일로 묶음 생성(한 스레드에서만 사용)
+     * 해야할일을 leaf에 차례로 채우고 branch를 아래에서부터 한번씩만 만들며, rank는 추가 순서대로 RANK_GAP 간격으로 부여한다.
+     * 위치 탐색, 경로 복사 없이 해야할일마다 한번의 복사로 적재한다.
+     */
+    public static final class Builder {
+        private final LocalDate date;
+
+        private final int assignee;
+
+        /** 채운 leaf */
+        private final ArrayList<Node> leaves;
+
+        /** 해야할일 번호 → rank */
+        private final PersistentIntLongMap.Builder ranks;
+
+        /** 채우고 있는 leaf(LEAF_SIZE 크기) */
+        private Leaf leaf;
+
+        /** 채우고 있는 leaf의 해야할일 수 */
+        private int position;
+
+        /** 추가한 해야할일 수 */
+        private int size;
+
+        /** 앞의 해야할일의 중요도 코드 */
+        private int previousLevel;
+
+        /** 앞의 해야할일의 순서 */
+        private long previousSequence;
+
+        private Builder(LocalDate date, int assignee) {
+            this.date = date;
+            this.assignee = assignee;
+            this.leaves = new ArrayList<Node>();
+            this.ranks = PersistentIntLongMap.builder(LEAF_SIZE);
+            this.leaf = Leaf.allocate(LEAF_SIZE);
+            this.previousLevel = -1;
+        }
+
+        /**
+         * 해야할일 추가
+         * @param profile 날짜, 담당자가 같고 앞에 추가한 해야할일보다 우선순위가 낮은 해야할일
+         * @return 생성기
+         */
+        public Builder add(Profile profile) {
+            int level = profile.getTaskLevel().getCode();
+            long sequence = profile.getSeq();
+            if ((!this.date.equals(profile.getDate())) || (this.assignee != profile.getAssignee().getNumber())) {
+                throw new IllegalArgumentException("묶음의 날짜, 담당자가 아닙니다. num = " + profile.getNum());
+            }
+            if ((0 > sequence) || (level < this.previousLevel) || ((level == this.previousLevel) && (sequence < this.previousSequence))) {
+                throw new IllegalArgumentException("우선순위 순으로 추가해야 합니다. num = " + profile.getNum());
+            }
+
+            long rank = (long) this.size * RANK_GAP;
+            this.leaf.ranks[this.position] = rank;
+            this.leaf.gaps[this.position] = (int) ((level == this.previousLevel) ? sequence - this.previousSequence : sequence);
+            this.leaf.levels[this.position] = (byte) level;
+            this.leaf.set(this.position, profile);
+            this.ranks.put(profile.getNum(), rank);
+            this.previousLevel = level;
+            this.previousSequence = sequence;
+            this.size++;
+            this.position++;
+            if (LEAF_SIZE == this.position) {
+                this.leaves.add(this.leaf.seal());
+                this.leaf = Leaf.allocate(LEAF_SIZE);
+                this.position = 0;
+            }
+            return this;
+        }
+
+        /**
+         * 묶음 생성
+         * 마지막 leaf가 합칠 만큼 작으면 앞의 leaf와 나누어 가지며, branch는 하위 노드를 같은 크기로 나누어 만든다.
+         * @return 묶음
+         * @throws IllegalArgumentException 번호가 중복된 경우
+         */
+        public ProfileBucket build() {
+            if (0 < this.position) {
+                Leaf last = this.leaf.range(0, this.position);
+                if ((last.isSmall()) && (!this.leaves.isEmpty())) {
+                    Node[] split = ((Leaf) this.leaves.remove(this.leaves.size() - 1)).concat(last).split();
+                    this.leaves.addAll(Arrays.asList(split));
+                } else {
+                    this.leaves.add(last);
+                }
+                this.leaf = Leaf.EMPTY;
+                this.position = 0;
+            }
+            if (this.leaves.isEmpty()) {
+                return new ProfileBucket(this.date, this.assignee);
+            }
+
+            Node[] nodes = this.leaves.toArray(new Node[0]);
+            while (1 < nodes.length) {
+                Node[] parents = new Node[(nodes.length + BRANCH_SIZE - 1) / BRANCH_SIZE];
+                for (int group = 0; group < parents.length; group++) {
+                    int from = (int) (((long) nodes.length * group) / parents.length);
+                    int to = (int) (((long) nodes.length * (group + 1)) / parents.length);
+                    parents[group] = new Branch(Arrays.copyOfRange(nodes, from, to));
+                }
+                nodes = parents;
+            }
+            return new ProfileBucket(this.date, this.assignee, nodes[0], this.ranks.build());
+        }
+    }
+
+    /**
+     * leaf와 leaf 내 인덱스
+     */
+    private static final class Position {
+        private final Leaf leaf;
+
+        private final int index;
+
+        Position(Leaf leaf, int index) {
+            this.leaf = leaf;
+            this.index = index;
+        }
+
+        int level() {
+            return this.leaf.levels[this.index];
+        }
+
+        int num() {
+            return this.leaf.nums[this.index];
+        }
+    }
+
+    private abstract static class Node {
+        /** 해야할일 수 */
+        final int size;
+
+        /** 순서 차이의 합 */
+        final long gapSum;
+
+        /** 마지막 해야할일의 rank(최대값) */
+        final long lastRank;
+
+        /** 마지막 해야할일의 중요도 코드(최대값) */
+        final int lastLevel;
+
+        Node(int size, long gapSum, long lastRank, int lastLevel) {
+            this.size = size;
+            this.gapSum = gapSum;
+            this.lastRank = lastRank;
+            this.lastLevel = lastLevel;
+        }
+
+        /** 이웃 노드와 합칠 크기인지 여부 */
+        abstract boolean isSmall();
+    }
+
+    /**
+     * 해야할일을 값 종류별 배열(열)로 저장하는 leaf
+     * 해야할일마다 객체를 두지 않고 번호, 상태 등은 기본형 배열로 저장한다.
+     */
+    private static final class Leaf extends Node {
+        private static final Leaf EMPTY = new Leaf(new long[0], new int[0], new byte[0], new int[0], new byte[0]
+                , new String[0], new String[0], new Member[0], new Member[0], new AllocationLog[0]);
+
+        private final long[] ranks;
+
+        /** 앞의 동일 중요도 해야할일과의 순서 차이(중요도의 첫 해야할일은 순서) */
+        private final int[] gaps;
+
+        /** 중요도 코드 */
+        private final byte[] levels;
+
+        /** 번호 */
+        private final int[] nums;
+
+        /** 상태(ordinal, 없으면 NO_STATUS) */
+        private final byte[] statuses;
+
+        /** 업무 제목 */
+        private final String[] tasks;
+
+        /** 업무 설명 */
+        private final String[] descriptions;
+
+        /** 담당자 */
+        private final Member[] assignees;
+
+        /** 위임자 */
+        private final Member[] reporters;
+
+        /** 위임취소 시 원상복구 값 */
+        private final AllocationLog[] logs;
+
+        Leaf(long[] ranks, int[] gaps, byte[] levels, int[] nums, byte[] statuses
+                , String[] tasks, String[] descriptions, Member[] assignees, Member[] reporters, AllocationLog[] logs) {
+            super(ranks.length, sum(gaps), (0 < ranks.length) ? ranks[ranks.length - 1] : MIN_RANK, (0 < levels.length) ? levels[levels.length - 1] : -1);
+            this.ranks = ranks;
+            this.gaps = gaps;
+            this.levels = levels;
+            this.nums = nums;
+            this.statuses = statuses;
+            this.tasks = tasks;
+            this.descriptions = descriptions;
+            this.assignees = assignees;
+            this.reporters = reporters;
+            this.logs = logs;
+        }
+
+        /**
+         * 값을 채울 비어있는 열의 leaf(생성기에서 채운 뒤 seal, range로 사용)
+         * @param capacity 해야할일 수
+         * @return leaf
+         */
+        static Leaf allocate(int capacity) {
+            return EMPTY.map(EMPTY, (column, other) -> newColumn(column, capacity));
+        }
+
+        private static long sum(int[] gaps) {
+            long sum = 0;
+            for (int gap : gaps) {
+                sum += gap;
+            }
+            return sum;
+        }
+
+        @Override
+        boolean isSmall() {
+            return this.size < LEAF_SIZE / 4;
+        }
+
+        /**
+         * 모든 열에 같은 변경을 적용한 leaf
+         * @param other 함께 사용할 leaf(concat)
+         * @param operation 열 변경
+         * @return leaf
+         */
+        private Leaf map(Leaf other, ColumnOperation operation) {
+            return new Leaf((long[]) operation.apply(this.ranks, other.ranks)
+                    , (int[]) operation.apply(this.gaps, other.gaps)
+                    , (byte[]) operation.apply(this.levels, other.levels)
+                    , (int[]) operation.apply(this.nums, other.nums)
+                    , (byte[]) operation.apply(this.statuses, other.statuses)
+                    , (String[]) operation.apply(this.tasks, other.tasks)
+                    , (String[]) operation.apply(this.descriptions, other.descriptions)
+                    , (Member[]) operation.apply(this.assignees, other.assignees)
+                    , (Member[]) operation.apply(this.reporters, other.reporters)
+                    , (AllocationLog[]) operation.apply(this.logs, other.logs));
+        }
+
+        /**
+         * 열과 같은 종류의 배열
+         * @param column
+         * @param length 길이
+         * @return 배열
+         */
+        private static Object newColumn(Object column, int length) {
+            return Array.newInstance(column.getClass().getComponentType(), length);
+        }
+
+        Leaf copy() {
+            return this.map(this, (column, other) -> {
+                Object copied = newColumn(column, this.size);
+                System.arraycopy(column, 0, copied, 0, this.size);
+                return copied;
+            });
+        }
+
+        /**
+         * 복사한 leaf의 변경한 값으로 합계를 다시 계산한 leaf
+         * @return leaf
+         */
+        Leaf seal() {
+            return this.map(this, (column, other) -> column);
+        }
+
+        /**
+         * 위치의 중요도, 순서를 제외한 값 변경(복사한 leaf에만 사용)
+         * @param position leaf 내 인덱스
+         * @param profile 변경 할 값
+         */
+        void set(int position, Profile profile) {
+            this.nums[position] = profile.getNum();
+            this.statuses[position] = (null == profile.getStatus()) ? NO_STATUS : (byte) profile.getStatus().ordinal();
+            this.tasks[position] = profile.getTask();
+            this.descriptions[position] = profile.getDescription();
+            this.assignees[position] = profile.getAssignee();
+            this.reporters[position] = profile.getReporter();
+            this.logs[position] = profile.getLog();
+        }
+
+        Leaf insert(int index, long rank, int gap, int level, Profile profile) {
+            Leaf leaf = this.map(this, (column, other) -> {
+                Object inserted = newColumn(column, this.size + 1);
+                System.arraycopy(column, 0, inserted, 0, index);
+                System.arraycopy(column, index, inserted, index + 1, this.size - index);
+                return inserted;
+            });
+            leaf.ranks[index] = rank;
+            leaf.gaps[index] = gap;
+            leaf.levels[index] = (byte) level;
+            leaf.set(index, profile);
+            return leaf.seal();
+        }
+
+        Leaf delete(int index) {
+            return this.map(this, (column, other) -> {
+                Object deleted = newColumn(column, this.size - 1);
+                System.arraycopy(column, 0, deleted, 0, index);
+                System.arraycopy(column, index + 1, deleted, index, this.size - index - 1);
+                return deleted;
+            });
+        }
+
+        Node[] split() {
+            return new Node[] {this.range(0, this.size >>> 1), this.range(this.size >>> 1, this.size)};
+        }
+
+        private Leaf range(int from, int to) {
+            return this.map(this, (column, other) -> {
+                Object range = newColumn(column, to - from);
+                System.arraycopy(column, from, range, 0, to - from);
+                return range;
+            });
+        }
+
+        Leaf concat(Leaf other) {
+            return this.map(other, (column, otherColumn) -> {
+                Object concatenated = newColumn(column, this.size + other.size);
+                System.arraycopy(column, 0, concatenated, 0, this.size);
+                System.arraycopy(otherColumn, 0, concatenated, this.size, other.size);
+                return concatenated;
+            });
+        }
+    }
+
+    /**
+     * leaf 열 변경
+     */
+    private interface ColumnOperation {
+        /**
+         * @param column leaf의 열
+         * @param other 함께 사용할 leaf의 같은 열
+         * @return 변경한 열
+         */
+        Object apply(Object column, Object other);
+    }
+
+    private static final class Branch extends Node {
+        private final Node[] children;
+
+        Branch(Node[] children) {
+            super(sizeOf(children), gapSumOf(children), children[children.length - 1].lastRank, children[children.length - 1].lastLevel);
+            this.children = children;
+        }
+
+        private static int sizeOf(Node[] children) {
+            int size = 0;
+            for (Node child : children) {
+                size += child.size;
+            }
+            return size;
+        }
+
+        private static long gapSumOf(Node[] children) {
+            long sum = 0;
+            for (Node child : children) {
+                sum += child.gapSum;
+            }
+            return sum;
+        }
+
+        @Override
+        boolean isSmall() {
+            return this.children.length < BRANCH_SIZE / 4;
+        }
+
+        /**
+         * 하위 노드 [index, index + count)를 nodes로 교체
+         * @return 변경한 노드(분할되면 2개, 비어있으면 0개)
+         */
+        Node[] replace(int index, int count, Node[] nodes) {
+            Node[] children = new Node[this.children.length - count + nodes.length];
+            System.arraycopy(this.children, 0, children, 0, index);
+            System.arraycopy(nodes, 0, children, index, nodes.length);
+            System.arraycopy(this.children, index + count, children, index + nodes.length, this.children.length - index - count);
+            if (0 == children.length) {
+                return new Node[0];
+            }
+            if (BRANCH_SIZE < children.length) {
+                int half = children.length >>> 1;
+                return new Node[] {new Branch(Arrays.copyOfRange(children, 0, half)), new Branch(Arrays.copyOfRange(children, half, children.length))};
+            }
+            return new Node[] {new Branch(children)};
+        }
+    }
+}
@@ -0,0 +1,448 @@
+package com.amore.task.repository;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * 변경 로그(WAL)
+ * 변경 내용을 세그먼트 파일(journal-번호.wal)에 순서대로 덧붙인다.
+ * 기록은 큐에 넣고 바로 반환하며, 쓰기 스레드가 쌓인 기록을 한번에 쓰고 fsync 한다(group commit).
+ * 변경한 스레드는 담당자 잠금을 해제한 뒤 자신의 기록이 fsync 될 때까지 기다린다.
+ * 가상 스레드에서 대기해도 캐리어 스레드를 점유하지 않도록 모니터(synchronized) 대신 ReentrantLock을 사용한다.
+ *
+ * 레코드 형식: 길이(int) + CRC32(int) + 기록 종류 코드(byte) + 기록 내용
+ * 비정상 종료로 마지막 레코드가 일부만 기록되었으면 재실행 시 그 앞까지만 사용한다.
+ */
+@Slf4j
+public class ProfileJournal implements Closeable {
+    /** 세그먼트 파일 이름 */
+    private static final String PREFIX = "journal-";
+    private static final String SUFFIX = ".wal";
+
+    /** 레코드 머리(길이, CRC32) 크기 */
+    private static final int HEADER_SIZE = 8;
+
+    /** 레코드 최대 크기(손상된 길이 값 방어) */
+    private static final int MAX_RECORD_SIZE = 1 << 26;
+
+    /** 한번에 쓰는 버퍼 크기 */
+    private static final int BUFFER_SIZE = 1 << 18;
+
+    /** 세그먼트 교체 표시(큐에 넣는 값) */
+    private static final byte[] ROTATE = new byte[0];
+
+    /** 기록 폴더 */
+    private final Path directory;
+
+    /** 변경(공유)과 스냅샷 시점 고정(배타)을 구분하는 잠금 */
+    private final ReentrantReadWriteLock cutLock;
+
+    /** 스레드별 마지막 기록 번호 */
+    private final ThreadLocal<long[]> lastTicket;
+
+    /** 큐, 기록 번호 보호용 */
+    private final ReentrantLock lock;
+
+    /** 쓰기 대기중인 기록 추가, 종료 요청 알림 */
+    private final Condition pendingChanged;
+
+    /** fsync 완료, 쓰기 실패 알림 */
+    private final Condition durableChanged;
+
+    /** 쓰기 대기중인 기록 */
+    private ArrayList<byte[]> pending;
+
+    /** 큐에 넣은 기록 수 */
+    private long appended;
+
+    /** fsync 완료된 기록 수 */
+    private long durable;
+
+    /** 새 기록을 쓸 세그먼트 번호 */
+    private long segment;
+
+    /** 쓰기 실패 원인(이후 기록은 모두 실패) */
+    private IOException failure;
+
+    /** 종료 요청 여부 */
+    private boolean closed;
+
+    /** 쓰기 스레드 */
+    private final Thread writer;
+
+    /**
+     * 생성자
+     * @param directory 기록 폴더
+     * @param segment 기록을 시작할 세그먼트 번호(기존 세그먼트 이후 번호)
+     */
+    public ProfileJournal(Path directory, long segment) throws IOException {
+        Files.createDirectories(directory);
+        this.directory = directory;
+        this.segment = segment;
+        this.cutLock = new ReentrantReadWriteLock();
+        this.lastTicket = ThreadLocal.withInitial(() -> new long[1]);
+        this.lock = new ReentrantLock();
+        this.pendingChanged = this.lock.newCondition();
+        this.durableChanged = this.lock.newCondition();
+        this.pending = new ArrayList<byte[]>();
+
+        FileChannel channel = this.open(segment);
+        this.writer = new Thread(() -> this.writeLoop(channel, segment), "profile-journal");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * 변경 작업 동안 획득하는 공유 잠금
+     * @return 잠금
+     */
+    public Lock sharedLock() {
+        return this.cutLock.readLock();
+    }
+
+    /**
+     * 스냅샷 시점을 고정할 때 획득하는 배타 잠금(진행중인 변경이 없는 상태가 됨)
+     * @return 잠금
+     */
+    public Lock exclusiveLock() {
+        return this.cutLock.writeLock();
+    }
+
+    /**
+     * 변경 기록 추가(변경 순서가 보장되도록 변경 잠금을 획득한 상태에서 호출)
+     * fsync를 기다리지 않으며, 잠금 해제 후 awaitDurable()로 기다린다.
+     * @param operation 기록 종류
+     * @param body 기록 내용
+     */
+    public void append(JournalOperation operation, RecordWriter body) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeLong(0); // 길이, CRC32 자리
+            out.writeByte(operation.getCode());
+            body.write(out);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        byte[] record = bytes.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(record, HEADER_SIZE, record.length - HEADER_SIZE);
+        ByteBuffer.wrap(record).putInt(record.length - HEADER_SIZE).putInt((int) crc.getValue());
+        this.lastTicket.get()[0] = this.enqueue(record);
+    }
+
+    /**
+     * 세그먼트 교체(배타 잠금을 획득한 상태에서 호출)
+     * 이후의 기록은 새 세그먼트에 쓴다. 교체 완료는 awaitDurable()로 기다린다.
+     * @return 새 세그먼트 번호
+     */
+    public long rotate() {
+        this.lock.lock();
+        try {
+            this.lastTicket.get()[0] = this.enqueue(ROTATE);
+            return ++this.segment;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * 현재 스레드의 마지막 기록이 fsync 될 때까지 대기
+     */
+    public void awaitDurable() {
+        long ticket = this.lastTicket.get()[0];
+        this.lock.lock();
+        try {
+            while (this.durable < ticket) {
+                if (null != this.failure) {
+                    throw new UncheckedIOException("변경 로그를 기록하지 못했습니다.", this.failure);
+                }
+                try {
+                    this.durableChanged.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("변경 로그 기록 대기 중 중단되었습니다.", e);
+                }
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * 지정한 세그먼트 이전의 세그먼트 삭제(스냅샷에 반영된 기록)
+     * @param segment 남길 첫 세그먼트 번호
+     */
+    public void deleteBefore(long segment) throws IOException {
+        for (long number : segments(this.directory)) {
+            if (number < segment) {
+                Files.deleteIfExists(segmentPath(this.directory, number));
+            }
+        }
+    }
+
+    /**
+     * 큐에 남은 기록을 모두 쓰고 종료
+     */
+    @Override
+    public void close() {
+        this.lock.lock();
+        try {
+            this.closed = true;
+            this.pendingChanged.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+        try {
+            this.writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private long enqueue(byte[] record) {
+        this.lock.lock();
+        try {
+            if (null != this.failure) {
+                throw new UncheckedIOException("변경 로그를 기록하지 못했습니다.", this.failure);
+            }
+            if (this.closed) {
+                throw new IllegalStateException("변경 로그가 종료되었습니다.");
+            }
+            this.pending.add(record);
+            this.pendingChanged.signal();
+            return ++this.appended;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * 쓰기 스레드
+     * 대기중인 기록을 모두 가져와 버퍼 단위로 쓰고, 한번만 fsync 한 뒤 대기중인 스레드를 깨운다.
+     * @param channel 첫 세그먼트
+     * @param segment 첫 세그먼트 번호
+     */
+    private void writeLoop(FileChannel channel, long segment) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        try {
+            while (true) {
+                ArrayList<byte[]> batch;
+                long ticket;
+                this.lock.lock();
+                try {
+                    while ((this.pending.isEmpty()) && (!this.closed)) {
+                        this.pendingChanged.awaitUninterruptibly(); // 종료 요청(closed)으로만 끝낸다
+                    }
+                    if (this.pending.isEmpty()) {
+                        break;
+                    }
+                    batch = this.pending;
+                    this.pending = new ArrayList<byte[]>();
+                    ticket = this.appended;
+                } finally {
+                    this.lock.unlock();
+                }
+
+                for (byte[] record : batch) {
+                    if (ROTATE == record) {
+                        this.flush(channel, buffer);
+                        channel.force(false);
+                        channel.close();
+                        channel = this.open(++segment);
+                    } else if (record.length > buffer.remaining()) {
+                        this.flush(channel, buffer);
+                        if (record.length > buffer.capacity()) {
+                            this.writeFully(channel, ByteBuffer.wrap(record));
+                        } else {
+                            buffer.put(record);
+                        }
+                    } else {
+                        buffer.put(record);
+                    }
+                }
+                this.flush(channel, buffer);
+                channel.force(false);
+
+                this.lock.lock();
+                try {
+                    this.durable = ticket;
+                    this.durableChanged.signalAll();
+                } finally {
+                    this.lock.unlock();
+                }
+            }
+            channel.close();
+        } catch (IOException e) {
+            log.error("변경 로그 기록 실패", e);
+            this.lock.lock();
+            try {
+                this.failure = e;
+                this.durableChanged.signalAll();
+            } finally {
+                this.lock.unlock();
+            }
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // 이미 실패 처리됨
+            }
+        }
+    }
+
+    private void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        this.writeFully(channel, buffer);
+        buffer.clear();
+    }
+
+    private void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private FileChannel open(long segment) throws IOException {
+        return FileChannel.open(segmentPath(this.directory, segment)
+                , StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * 폴더의 세그먼트 번호(오름차순)
+     * @param directory
+     * @return 세그먼트 번호
+     */
+    public static List<Long> segments(Path directory) throws IOException {
+        ArrayList<Long> numbers = new ArrayList<Long>();
+        if (!Files.isDirectory(directory)) {
+            return numbers;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    numbers.add(Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())));
+                } catch (NumberFormatException e) {
+                    log.warn("변경 로그가 아닌 파일 무시 : {}", name);
+                }
+            }
+        }
+        numbers.sort(null);
+        return numbers;
+    }
+
+    private static Path segmentPath(Path directory, long segment) {
+        return directory.resolve(String.format("%s%020d%s", PREFIX, segment, SUFFIX));
+    }
+
+    /**
+     * 지정한 세그먼트부터 기록을 순서대로 재실행
+     * 세그먼트 끝의 불완전한 레코드(길이 부족, CRC 불일치)부터는 해당 세그먼트를 더 읽지 않는다.
+     * @param directory 기록 폴더
+     * @param fromSegment 시작 세그먼트 번호
+     * @param reader 기록 처리
+     * @return 재실행한 기록 수
+     */
+    public static long replay(Path directory, long fromSegment, RecordReader reader) throws IOException {
+        long count = 0;
+        for (long segment : segments(directory)) {
+            if (segment < fromSegment) {
+                continue;
+            }
+
+            try (InputStream input = new BufferedInputStream(Files.newInputStream(segmentPath(directory, segment)), BUFFER_SIZE)) {
+                DataInputStream in = new DataInputStream(input);
+                while (true) {
+                    byte[] payload = readRecord(in, segment);
+                    if (null == payload) {
+                        break;
+                    }
+
+                    DataInputStream body = new DataInputStream(new ByteArrayInputStream(payload));
+                    reader.read(JournalOperation.ofCode(body.readByte()), body);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 레코드 하나 읽기
+     * @param in
+     * @param segment 세그먼트 번호(로그용)
+     * @return 내용(세그먼트 끝 또는 불완전한 레코드면 null)
+     */
+    private static byte[] readRecord(DataInputStream in, long segment) throws IOException {
+        int length;
+        try {
+            length = in.readInt();
+        } catch (EOFException e) {
+            return null; // 세그먼트 끝
+        }
+
+        try {
+            int checksum = in.readInt();
+            if ((0 >= length) || (MAX_RECORD_SIZE < length)) {
+                log.warn("변경 로그 레코드 길이 오류로 이후 기록 무시 : segment = {}, length = {}", segment, length);
+                return null;
+            }
+
+            byte[] payload = new byte[length];
+            in.readFully(payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload, 0, payload.length);
+            if (checksum != (int) crc.getValue()) {
+                log.warn("변경 로그 CRC 불일치로 이후 기록 무시 : segment = {}", segment);
+                return null;
+            }
+            return payload;
+        } catch (EOFException e) {
+            log.warn("변경 로그 마지막 레코드가 불완전하여 무시 : segment = {}", segment);
+            return null;
+        }
+    }
+
+    /**
+     * 기록 내용 쓰기
+     */
+    @FunctionalInterface
+    public interface RecordWriter {
+        void write(DataOutput out) throws IOException;
+    }
+
+    /**
+     * 기록 내용 읽기
+     */
+    @FunctionalInterface
+    public interface RecordReader {
+        void read(JournalOperation operation, DataInput in) throws IOException;
+    }
+}
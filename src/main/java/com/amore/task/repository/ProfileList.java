@@ -0,0 +1,81 @@
+package com.amore.task.repository;
+
+import com.amore.task.model.domain.Profile;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * 묶음들의 해야할일을 차례로 조회하는 읽기 전용 목록
+ * 해야할일을 미리 복사하지 않고 조회할 때마다 묶음에서 만든다(묶음은 변경되지 않으므로 항상 같은 값).
+ */
+public class ProfileList extends AbstractList<Profile> {
+    /** 우선순위 순 묶음 */
+    private final ProfileBucket[] buckets;
+
+    /** 묶음별 첫번째 해야할일의 인덱스 */
+    private final int[] starts;
+
+    private final int size;
+
+    public ProfileList(Collection<ProfileBucket> buckets) {
+        this.buckets = buckets.toArray(new ProfileBucket[0]);
+        this.starts = new int[this.buckets.length];
+        int size = 0;
+        for (int index = 0; index < this.buckets.length; index++) {
+            this.starts[index] = size;
+            size += this.buckets[index].size();
+        }
+        this.size = size;
+    }
+
+    @Override
+    public Profile get(int index) {
+        if ((0 > index) || (this.size <= index)) {
+            throw new IndexOutOfBoundsException("index = " + index + ", size = " + this.size);
+        }
+        int bucket = Arrays.binarySearch(this.starts, index);
+        if (0 > bucket) {
+            bucket = -bucket - 2;
+        }
+        while (this.buckets[bucket].isEmpty()) {
+            bucket++; // 같은 시작 인덱스가 여럿이면 비어있지 않은 묶음
+        }
+        return this.buckets[bucket].get(index - this.starts[bucket]);
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public Iterator<Profile> iterator() {
+        return new Iterator<Profile>() {
+            /** 다음 묶음의 인덱스 */
+            private int bucket = 0;
+
+            private Iterator<Profile> profiles = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while ((!this.profiles.hasNext()) && (this.bucket < ProfileList.this.buckets.length)) {
+                    this.profiles = ProfileList.this.buckets[this.bucket++].iterator(0);
+                }
+                return this.profiles.hasNext();
+            }
+
+            @Override
+            public Profile next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return this.profiles.next();
+            }
+        };
+    }
+}
@@ -0,0 +1,241 @@
+package com.amore.task.repository;
+
+import com.amore.task.model.domain.AllocationLog;
+import com.amore.task.model.domain.Member;
+import com.amore.task.model.domain.Profile;
+import com.amore.task.model.dto.MemberDto;
+import com.amore.task.model.dto.ProfileDto;
+import com.amore.task.model.enums.ProgressStatus;
+import com.amore.task.model.enums.TaskLevel;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * 변경 로그, 스냅샷 파일의 이진 형식 변환
+ * null이 될 수 있는 값은 존재 여부(boolean)를 먼저 기록한다.
+ */
+public final class ProfileRecords {
+    private ProfileRecords() {}
+
+    /**
+     * 요청 정보 기록(부여된 번호로 기록해야 재실행 결과가 같음)
+     * @param out
+     * @param num 해야할일 번호
+     * @param profileDto
+     */
+    public static void writeProfileDto(DataOutput out, int num, ProfileDto profileDto) throws IOException {
+        out.writeInt(num);
+        writeDate(out, profileDto.getDate());
+        writeMember(out, profileDto.getAssignee());
+        writeMember(out, profileDto.getReporter());
+        writeTaskLevel(out, profileDto.getTaskLevel());
+        writeInteger(out, profileDto.getSeq());
+        writeString(out, profileDto.getTask());
+        writeString(out, profileDto.getDescription());
+        writeStatus(out, profileDto.getStatus());
+        writeLog(out, profileDto.getLog());
+    }
+
+    public static ProfileDto readProfileDto(DataInput in) throws IOException {
+        ProfileDto profileDto = new ProfileDto();
+        profileDto.setNum(in.readInt());
+        profileDto.setDate(readDate(in));
+        profileDto.setAssignee(readMemberDto(in));
+        profileDto.setReporter(readMemberDto(in));
+        profileDto.setTaskLevel(readTaskLevel(in));
+        profileDto.setSeq(readInteger(in));
+        profileDto.setTask(readString(in));
+        profileDto.setDescription(readString(in));
+        profileDto.setStatus(readStatus(in));
+        profileDto.setLog(readLog(in));
+        return profileDto;
+    }
+
+    /**
+     * 해야할일 기록(현재 순서 포함)
+     * @param out
+     * @param profile
+     */
+    public static void writeProfile(DataOutput out, Profile profile) throws IOException {
+        out.writeInt(profile.getNum());
+        writeDate(out, profile.getDate());
+        writeMember(out, profile.getAssignee());
+        writeMember(out, profile.getReporter());
+        writeTaskLevel(out, profile.getTaskLevel());
+        writeInteger(out, profile.getSeq());
+        writeString(out, profile.getTask());
+        writeString(out, profile.getDescription());
+        writeStatus(out, profile.getStatus());
+        writeLog(out, profile.getLog());
+    }
+
+    public static Profile readProfile(DataInput in) throws IOException {
+        return Profile.builder()
+                .num(in.readInt())
+                .date(readDate(in))
+                .assignee(readMember(in))
+                .reporter(readMember(in))
+                .taskLevel(readTaskLevel(in))
+                .seq(readInteger(in))
+                .task(readString(in))
+                .description(readString(in))
+                .status(readStatus(in))
+                .log(readAllocationLog(in))
+                .build();
+    }
+
+    public static void writeMember(DataOutput out, Member member) throws IOException {
+        out.writeBoolean(null != member);
+        if (null != member) {
+            out.writeInt(member.getNumber());
+            writeString(out, member.getName());
+        }
+    }
+
+    public static Member readMember(DataInput in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        return Member.of(in.readInt(), readString(in));
+    }
+
+    public static void writeMember(DataOutput out, MemberDto member) throws IOException {
+        out.writeBoolean(null != member);
+        if (null != member) {
+            out.writeInt(member.getNum());
+            writeString(out, member.getName());
+        }
+    }
+
+    public static MemberDto readMemberDto(DataInput in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        return new MemberDto(in.readInt(), readString(in));
+    }
+
+    /**
+     * 해야할일 번호 목록 읽기(건수 + 번호)
+     * @param in
+     * @return 번호
+     */
+    public static List<Integer> readNums(DataInput in) throws IOException {
+        int size = in.readInt();
+        ArrayList<Integer> nums = new ArrayList<Integer>(size);
+        for (int index = 0; index < size; index++) {
+            nums.add(in.readInt());
+        }
+        return nums;
+    }
+
+    public static void writeStatus(DataOutput out, ProgressStatus status) throws IOException {
+        writeString(out, (null != status) ? status.name() : null);
+    }
+
+    public static ProgressStatus readStatus(DataInput in) throws IOException {
+        String name = readString(in);
+        return (null != name) ? ProgressStatus.valueOf(name) : null;
+    }
+
+    /**
+     * 문자열 기록(UTF-8 길이 + 내용, null이면 길이 -1)
+     * writeUTF는 64KB 제한이 있어 사용하지 않는다.
+     * @param out
+     * @param value
+     */
+    public static void writeString(DataOutput out, String value) throws IOException {
+        if (null == value) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    public static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (0 > length) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeDate(DataOutput out, LocalDate date) throws IOException {
+        out.writeBoolean(null != date);
+        if (null != date) {
+            out.writeLong(date.toEpochDay());
+        }
+    }
+
+    private static LocalDate readDate(DataInput in) throws IOException {
+        return in.readBoolean() ? LocalDate.ofEpochDay(in.readLong()) : null;
+    }
+
+    private static void writeTaskLevel(DataOutput out, TaskLevel taskLevel) throws IOException {
+        out.writeInt((null != taskLevel) ? taskLevel.getCode() : -1);
+    }
+
+    private static TaskLevel readTaskLevel(DataInput in) throws IOException {
+        int code = in.readInt();
+        return (0 > code) ? null : TaskLevel.ofCode(code);
+    }
+
+    private static void writeInteger(DataOutput out, Integer value) throws IOException {
+        out.writeBoolean(null != value);
+        if (null != value) {
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readInteger(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+
+    /**
+     * 위임취소 시 원상복구 값 기록(중요도, 순서)
+     * @param out
+     * @param log
+     */
+    private static void writeLog(DataOutput out, HashMap<String, Object> log) throws IOException {
+        out.writeBoolean(null != log);
+        if (null != log) {
+            writeTaskLevel(out, (TaskLevel) log.get(Profile.KEY_TASK_LEVEL));
+            writeInteger(out, (Integer) log.get(Profile.KEY_SEQ));
+        }
+    }
+
+    private static void writeLog(DataOutput out, AllocationLog log) throws IOException {
+        out.writeBoolean(null != log);
+        if (null != log) {
+            writeTaskLevel(out, log.getTaskLevel());
+            writeInteger(out, log.getSeq());
+        }
+    }
+
+    private static HashMap<String, Object> readLog(DataInput in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        HashMap<String, Object> log = new HashMap<>();
+        log.put(Profile.KEY_TASK_LEVEL, readTaskLevel(in));
+        log.put(Profile.KEY_SEQ, readInteger(in));
+        return log;
+    }
+
+    private static AllocationLog readAllocationLog(DataInput in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        return new AllocationLog(readTaskLevel(in), readInteger(in));
+    }
+}
@@ -0,0 +1,25 @@
+package com.amore.task.repository;
+
+import com.amore.task.model.domain.Profile;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 특정 시점의 전체 해야할일 목록(읽기 전용)
+ * 변경이 완료될 때마다 버전이 증가하며, 버전이 같으면 같은 목록을 재사용한다.
+ */
+@Getter
+public class ProfileSnapshot {
+    /** 버전(완료된 변경 횟수) */
+    private final long version;
+
+    /** 우선순위 순 해야할일 목록 */
+    private final List<Profile> profiles;
+
+    public ProfileSnapshot(long version, List<Profile> profiles) {
+        this.version = version;
+        this.profiles = Collections.unmodifiableList(profiles);
+    }
+}
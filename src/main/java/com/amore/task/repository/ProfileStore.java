@@ -0,0 +1,398 @@
+package com.amore.task.repository;
+
+import com.amore.task.model.domain.Profile;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+/**
+ * 특정 버전의 전체 해야할일(변경하지 않음)
+ * 변경은 Change에 묶음 단위로 모은 뒤 새 버전으로 게시하며, 조회는 게시된 버전 하나를 잠금 없이 사용한다.
+ * 변경하지 않은 묶음과 색인 노드는 이전 버전과 공유한다.
+ */
+public final class ProfileStore {
+    /** 하위 32bit 마스크 */
+    private static final long LOW_MASK = 0xFFFFFFFFL;
+
+    /** 번호 색인에 없는 경우의 값(담당자 번호는 음수가 아니므로 묶음 키로 사용되지 않음) */
+    private static final long NO_KEY = Long.MIN_VALUE;
+
+    /** 버전(게시된 변경 횟수) */
+    @Getter
+    private final long version;
+
+    /** 전체 해야할일 수 */
+    @Getter
+    private final int size;
+
+    /** 날짜, 담당자 순 묶음 */
+    private final PersistentLongMap<ProfileBucket> buckets;
+
+    /** 담당자, 날짜 순 묶음(담당자 조건 조회용 색인) */
+    private final PersistentLongMap<ProfileBucket> assigneeBuckets;
+
+    /** 해야할일 번호 → 묶음 키(날짜, 담당자 순, 해시 색인) */
+    private final PersistentIntLongMap locations;
+
+    /** 전체 목록 스냅샷(처음 조회할 때 생성) */
+    private volatile ProfileSnapshot snapshot;
+
+    private ProfileStore(long version, int size, PersistentLongMap<ProfileBucket> buckets, PersistentLongMap<ProfileBucket> assigneeBuckets, PersistentIntLongMap locations) {
+        this.version = version;
+        this.size = size;
+        this.buckets = buckets;
+        this.assigneeBuckets = assigneeBuckets;
+        this.locations = locations;
+    }
+
+    /**
+     * 비어있는 저장소
+     * @param version 버전
+     * @return 저장소
+     */
+    public static ProfileStore empty(long version) {
+        return new ProfileStore(version, 0, PersistentLongMap.empty(), PersistentLongMap.empty(), PersistentIntLongMap.empty());
+    }
+
+    /**
+     * 우선순위 순 해야할일로 저장소를 한번에 생성(스냅샷 적재용)
+     * @param expectedSize 예상 해야할일 수
+     * @return 생성기
+     */
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    /**
+     * 날짜, 담당자 순 묶음 키
+     * @param date
+     * @param assignee 담당자 번호
+     * @return 키
+     */
+    private static long keyOf(LocalDate date, int assignee) {
+        return ((long) Math.toIntExact(date.toEpochDay()) << 32) | ((assignee ^ Integer.MIN_VALUE) & LOW_MASK);
+    }
+
+    /**
+     * 담당자, 날짜 순 묶음 키
+     * @param assignee 담당자 번호
+     * @param date
+     * @return 키
+     */
+    private static long assigneeKeyOf(int assignee, LocalDate date) {
+        return ((long) assignee << 32) | ((Math.toIntExact(date.toEpochDay()) ^ Integer.MIN_VALUE) & LOW_MASK);
+    }
+
+    /**
+     * 조회 범위의 날짜(키 범위를 넘는 날짜는 최소, 최대값으로 변경)
+     * @param date
+     * @param isFrom 시작 날짜인지 여부
+     * @return 날짜(epoch day)
+     */
+    private static int dayOf(LocalDate date, boolean isFrom) {
+        if (null == date) {
+            return isFrom ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        }
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, date.toEpochDay()));
+    }
+
+    /**
+     * 날짜, 담당자에 해당하는 묶음
+     * @param date
+     * @param assignee 담당자 번호
+     * @return null 또는 묶음
+     */
+    public ProfileBucket getBucket(LocalDate date, int assignee) {
+        return this.buckets.get(keyOf(date, assignee));
+    }
+
+    /**
+     * 해야할일 번호로 조회
+     * 번호 해시 색인으로 묶음 키를, 묶음의 번호 해시 색인으로 rank를 찾은 뒤 rank로 위치를 찾는다.
+     * @param num
+     * @return null 또는 해야할일(조회 시점의 값을 복사한 해야할일)
+     */
+    public Profile getProfile(int num) {
+        long key = this.locations.getOrDefault(num, NO_KEY);
+        if (NO_KEY == key) {
+            return null;
+        }
+        ProfileBucket bucket = this.buckets.get(key);
+        int index = bucket.indexOf(num);
+        return (0 <= index) ? bucket.get(index) : null;
+    }
+
+    /**
+     * 전체 해야할일 스냅샷(버전마다 한번만 생성)
+     * @return 스냅샷
+     */
+    public ProfileSnapshot getSnapshot() {
+        ProfileSnapshot snapshot = this.snapshot;
+        if (null == snapshot) {
+            ArrayList<ProfileBucket> buckets = new ArrayList<ProfileBucket>();
+            this.buckets.forEach(Long.MIN_VALUE, Long.MAX_VALUE, buckets::add);
+            snapshot = new ProfileSnapshot(this.version, new ProfileList(buckets));
+            this.snapshot = snapshot; // 동시에 만들어도 같은 내용
+        }
+        return snapshot;
+    }
+
+    /**
+     * 날짜 범위의 묶음을 날짜, 담당자 순으로 방문
+     * @param from 시작 날짜(포함, null이면 제한 없음)
+     * @param to 종료 날짜(포함, null이면 제한 없음)
+     * @param visitor 묶음 처리(false를 반환하면 중단)
+     * @return 중단 없이 끝까지 방문했는지 여부
+     */
+    public boolean forEachBucket(LocalDate from, LocalDate to, Predicate<ProfileBucket> visitor) {
+        long fromKey = ((long) dayOf(from, true) << 32);
+        long toKey = ((long) dayOf(to, false) << 32) | LOW_MASK;
+        return this.buckets.forEach(fromKey, toKey, visitor);
+    }
+
+    /**
+     * 담당자의 날짜 범위 묶음을 날짜 순으로 방문
+     * @param assignee 담당자 번호
+     * @param from 시작 날짜(포함, null이면 제한 없음)
+     * @param to 종료 날짜(포함, null이면 제한 없음)
+     * @param visitor 묶음 처리(false를 반환하면 중단)
+     * @return 중단 없이 끝까지 방문했는지 여부
+     */
+    public boolean forEachBucket(int assignee, LocalDate from, LocalDate to, Predicate<ProfileBucket> visitor) {
+        long fromKey = ((long) assignee << 32) | ((dayOf(from, true) ^ Integer.MIN_VALUE) & LOW_MASK);
+        long toKey = ((long) assignee << 32) | ((dayOf(to, false) ^ Integer.MIN_VALUE) & LOW_MASK);
+        return this.assigneeBuckets.forEach(fromKey, toKey, visitor);
+    }
+
+    /**
+     * 담당자의 해야할일 수
+     * @param assignee 담당자 번호
+     * @return 해야할일 수
+     */
+    public int getProfileCount(int assignee) {
+        int[] count = new int[1];
+        this.forEachBucket(assignee, null, null, bucket -> {
+            count[0] += bucket.size();
+            return true;
+        });
+        return count[0];
+    }
+
+    /**
+     * 해야할일이 있는 담당자인지 여부
+     * @param assignee 담당자 번호
+     * @return 여부
+     */
+    public boolean hasAssignee(int assignee) {
+        return !this.forEachBucket(assignee, null, null, bucket -> false);
+    }
+
+    /**
+     * 해야할일이 있는 담당자 번호
+     * @return 담당자 번호(오름차순)
+     */
+    public Collection<Integer> getAssignees() {
+        TreeSet<Integer> assignees = new TreeSet<Integer>();
+        this.assigneeBuckets.forEach(Long.MIN_VALUE, Long.MAX_VALUE, bucket -> {
+            assignees.add(bucket.getAssignee());
+            return true;
+        });
+        return assignees;
+    }
+
+    /**
+     * 현재 버전을 기준으로 변경 시작
+     * @return 변경 내용
+     */
+    public Change change() {
+        return new Change(this);
+    }
+
+    /**
+     * 변경 내용을 반영한 다음 버전
+     * 변경한 묶음의 담당자 잠금을 획득한 상태에서 호출하므로, 변경 시작 이후 다른 담당자의 변경이 게시된 버전에도 반영할 수 있다.
+     * 비어있는 묶음은 제거한다.
+     * @param change 변경 내용
+     * @return 저장소
+     */
+    public ProfileStore apply(Change change) {
+        PersistentLongMap<ProfileBucket> buckets = this.buckets;
+        PersistentLongMap<ProfileBucket> assigneeBuckets = this.assigneeBuckets;
+        PersistentIntLongMap locations = this.locations;
+        int size = this.size;
+        for (Map.Entry<Long, ProfileBucket> entry : change.buckets.entrySet()) {
+            ProfileBucket bucket = entry.getValue();
+            long assigneeKey = assigneeKeyOf(bucket.getAssignee(), bucket.getDate());
+            ProfileBucket current = buckets.get(entry.getKey());
+            size += bucket.size() - ((null != current) ? current.size() : 0);
+            if (bucket.isEmpty()) {
+                buckets = buckets.remove(entry.getKey());
+                assigneeBuckets = assigneeBuckets.remove(assigneeKey);
+            } else {
+                buckets = buckets.put(entry.getKey(), bucket);
+                assigneeBuckets = assigneeBuckets.put(assigneeKey, bucket);
+            }
+        }
+        for (Map.Entry<Integer, Long> entry : change.locations.entrySet()) {
+            locations = (null == entry.getValue()) ? locations.remove(entry.getKey()) : locations.put(entry.getKey(), entry.getValue());
+        }
+        return new ProfileStore(this.version + 1, size, buckets, assigneeBuckets, locations);
+    }
+
+    /**
+     * 우선순위 순으로 추가한 해야할일로 저장소 생성(한 스레드에서만 사용)
+     * 우선순위 순은 묶음 키 순이므로 묶음과 색인을 정렬, 경로 복사 없이 한번의 순차 탐색으로 만든다.
+     * 담당자 순 색인만 묶음 단위로 정렬한다.
+     */
+    public static final class Builder {
+        /** 날짜, 담당자 순 묶음 */
+        private final PersistentLongMap.Builder<ProfileBucket> buckets;
+
+        /** 생성한 묶음(담당자 순 색인용) */
+        private final ArrayList<ProfileBucket> built;
+
+        /** 해야할일 번호 → 묶음 키 */
+        private final PersistentIntLongMap.Builder locations;
+
+        /** 채우고 있는 묶음 */
+        private ProfileBucket.Builder bucket;
+
+        /** 채우고 있는 묶음의 키 */
+        private long key;
+
+        private int size;
+
+        private Builder(int expectedSize) {
+            this.buckets = PersistentLongMap.builder(16);
+            this.built = new ArrayList<ProfileBucket>();
+            this.locations = PersistentIntLongMap.builder(expectedSize);
+        }
+
+        /**
+         * 해야할일 추가
+         * @param profile 앞에 추가한 해야할일보다 우선순위가 낮은 해야할일
+         * @return 생성기
+         * @throws IllegalArgumentException 우선순위 순이 아닌 경우
+         */
+        public Builder add(Profile profile) {
+            long key = keyOf(profile.getDate(), profile.getAssignee().getNumber());
+            if ((null == this.bucket) || (key != this.key)) {
+                if ((null != this.bucket) && (key < this.key)) {
+                    throw new IllegalArgumentException("우선순위 순으로 추가해야 합니다. num = " + profile.getNum());
+                }
+                this.finishBucket();
+                this.bucket = ProfileBucket.builder(profile.getDate(), profile.getAssignee().getNumber());
+                this.key = key;
+            }
+            this.bucket.add(profile);
+            this.locations.put(profile.getNum(), key);
+            this.size++;
+            return this;
+        }
+
+        private void finishBucket() {
+            if (null != this.bucket) {
+                ProfileBucket bucket = this.bucket.build();
+                this.buckets.put(this.key, bucket);
+                this.built.add(bucket);
+                this.bucket = null;
+            }
+        }
+
+        /**
+         * 저장소 생성
+         * @param version 버전
+         * @return 저장소
+         * @throws IllegalArgumentException 번호가 중복된 경우
+         */
+        public ProfileStore build(long version) {
+            this.finishBucket();
+            this.built.sort(Comparator.comparingInt(ProfileBucket::getAssignee).thenComparing(ProfileBucket::getDate));
+            PersistentLongMap.Builder<ProfileBucket> assigneeBuckets = PersistentLongMap.builder(this.built.size());
+            for (ProfileBucket bucket : this.built) {
+                assigneeBuckets.put(assigneeKeyOf(bucket.getAssignee(), bucket.getDate()), bucket);
+            }
+            return new ProfileStore(version, this.size, this.buckets.build(), assigneeBuckets.build(), this.locations.build());
+        }
+    }
+
+    /**
+     * 게시 전 변경 내용(변경하는 스레드 하나에서만 사용)
+     */
+    public static final class Change {
+        /** 변경 시작 시점의 저장소 */
+        private final ProfileStore base;
+
+        /** 묶음 키 → 변경한 묶음 */
+        private final LinkedHashMap<Long, ProfileBucket> buckets;
+
+        /** 해야할일 번호 → 묶음 키(null이면 삭제) */
+        private final HashMap<Integer, Long> locations;
+
+        private Change(ProfileStore base) {
+            this.base = base;
+            this.buckets = new LinkedHashMap<Long, ProfileBucket>();
+            this.locations = new HashMap<Integer, Long>();
+        }
+
+        /**
+         * 날짜, 담당자에 해당하는 묶음(변경한 묶음이 있으면 변경한 묶음, 없으면 비어있는 묶음)
+         * @param date
+         * @param assignee 담당자 번호
+         * @return 묶음
+         */
+        public ProfileBucket getBucket(LocalDate date, int assignee) {
+            long key = keyOf(date, assignee);
+            ProfileBucket bucket = this.buckets.get(key);
+            if (null == bucket) {
+                bucket = this.base.buckets.get(key);
+            }
+            return (null != bucket) ? bucket : new ProfileBucket(date, assignee);
+        }
+
+        /**
+         * 변경한 묶음 저장
+         * @param bucket
+         */
+        public void putBucket(ProfileBucket bucket) {
+            this.buckets.put(keyOf(bucket.getDate(), bucket.getAssignee()), bucket);
+        }
+
+        /**
+         * 해야할일이 속한 묶음 저장
+         * @param num 해야할일 번호
+         * @param bucket 묶음
+         */
+        public void locate(int num, ProfileBucket bucket) {
+            this.locations.put(num, keyOf(bucket.getDate(), bucket.getAssignee()));
+        }
+
+        /**
+         * 삭제한 해야할일 저장
+         * @param num 해야할일 번호
+         */
+        public void unlocate(int num) {
+            this.locations.put(num, null);
+        }
+
+        /**
+         * 변경한 묶음의 담당자 번호
+         * @return 담당자 번호
+         */
+        public Collection<Integer> getAssignees() {
+            TreeSet<Integer> assignees = new TreeSet<Integer>();
+            for (ProfileBucket bucket : this.buckets.values()) {
+                assignees.add(bucket.getAssignee());
+            }
+            return assignees;
+        }
+    }
+}
@@ -0,0 +1,408 @@
+package com.amore.task.repository;
+
+import com.amore.task.model.domain.AllocationLog;
+import com.amore.task.model.domain.Member;
+import com.amore.task.model.domain.Profile;
+import com.amore.task.model.enums.ProgressStatus;
+import com.amore.task.model.enums.TaskLevel;
+import lombok.Getter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * 스냅샷 파일(FileChannel.map으로 읽고 쓰는 고정 길이 형식)
+ * 해야할일은 우선순위 순으로 기록하므로 읽을 때 정렬 없이 한번의 순차 탐색으로 적재할 수 있다.
+ * 문자열(이름, 업무 제목, 업무 설명)은 중복을 제거하여 문자열 영역에 한번만 기록하고 위치로 참조한다.
+ *
+ * 파일 구성: 머리(HEADER_SIZE) + 담당자(MEMBER_SIZE * 수) + 해야할일(RECORD_SIZE * 수) + 문자열 영역
+ * 머리: MAGIC(int) + 형식 버전(int) + 재실행 시작 세그먼트(long) + 마지막 해야할일 번호(long)
+ *      + 마지막 담당자 번호(long) + 담당자 수(int) + 해야할일 수(int) + 문자열 영역 크기(long)
+ * 담당자: 번호(int) + 이름(int)
+ * 해야할일: 번호(int) + 날짜(epochDay, int) + 담당자 번호(int) + 담당자 이름(int) + 위임자 번호(int) + 위임자 이름(int)
+ *          + 순서(int) + 업무 제목(int) + 업무 설명(int) + 위임 전 순서(int)
+ *          + 중요도(byte) + 상태(byte) + 위임 전 중요도(byte) + 구분(byte, 위임자/위임 전 값 유무)
+ * 문자열: 길이(int) + UTF-8, 참조값은 문자열 영역 내 위치(null은 -1)
+ */
+public class SnapshotFile {
+    /** 파일 구분값("TODO") */
+    private static final int MAGIC = 0x544F444F;
+
+    /** 형식 버전 */
+    private static final int FORMAT_VERSION = 2;
+
+    private static final int HEADER_SIZE = 48;
+    private static final int MEMBER_SIZE = 8;
+    private static final int RECORD_SIZE = 44;
+
+    /** 값 없음 표시 */
+    private static final int NULL_REFERENCE = -1;
+    private static final int NULL_VALUE = Integer.MIN_VALUE;
+    private static final byte NULL_CODE = -1;
+
+    /** 구분 값 */
+    private static final byte HAS_REPORTER = 1;
+    private static final byte HAS_LOG = 2;
+
+    /** 재실행 시작 세그먼트 번호 */
+    @Getter
+    private final long segment;
+
+    /** 마지막 해야할일 번호 */
+    @Getter
+    private final long lastProfileNumber;
+
+    /** 마지막 담당자 번호 */
+    @Getter
+    private final long lastMemberNumber;
+
+    /** 담당자 */
+    @Getter
+    private final List<Member> members;
+
+    /** 해야할일 수 */
+    @Getter
+    private final int profileCount;
+
+    /** 해야할일 영역(매핑) */
+    private final ByteBuffer records;
+
+    /** 문자열 영역 */
+    private final StringHeap heap;
+
+    private SnapshotFile(long segment, long lastProfileNumber, long lastMemberNumber, List<Member> members
+            , int profileCount, ByteBuffer records, StringHeap heap) {
+        this.segment = segment;
+        this.lastProfileNumber = lastProfileNumber;
+        this.lastMemberNumber = lastMemberNumber;
+        this.members = members;
+        this.profileCount = profileCount;
+        this.records = records;
+        this.heap = heap;
+    }
+
+    /**
+     * 스냅샷 파일 읽기
+     * 고정 길이 영역과 문자열 영역을 매핑하여 담당자만 읽고, 해야할일은 profiles()로 조회할 때 순차로 읽는다.
+     * 매핑은 파일을 닫은 뒤에도 유효하다.
+     * @param file
+     * @return 스냅샷
+     */
+    public static SnapshotFile read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining()) {
+                if (0 > channel.read(header)) {
+                    throw new IllegalStateException("스냅샷 파일이 불완전합니다. file = " + file);
+                }
+            }
+            header.flip();
+            if ((MAGIC != header.getInt()) || (FORMAT_VERSION != header.getInt())) {
+                throw new IllegalStateException("스냅샷 형식이 올바르지 않습니다. file = " + file);
+            }
+            long segment = header.getLong();
+            long lastProfileNumber = header.getLong();
+            long lastMemberNumber = header.getLong();
+            int memberCount = header.getInt();
+            int profileCount = header.getInt();
+            long heapSize = header.getLong();
+
+            long fixedSize = fixedSize(memberCount, profileCount);
+            if (channel.size() < HEADER_SIZE + fixedSize + heapSize) {
+                throw new IllegalStateException("스냅샷 파일이 불완전합니다. file = " + file);
+            }
+            MappedByteBuffer fixed = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, fixedSize);
+            StringHeap heap = new StringHeap(channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + fixedSize, heapSize));
+
+            ArrayList<Member> members = new ArrayList<Member>(memberCount);
+            for (int index = 0; index < memberCount; index++) {
+                int number = fixed.getInt();
+                members.add(Member.of(number, heap.get(fixed.getInt())));
+            }
+
+            return new SnapshotFile(segment, lastProfileNumber, lastMemberNumber, members, profileCount, fixed.slice(), heap);
+        }
+    }
+
+    /**
+     * 해야할일을 기록된 순서(우선순위 순)로 읽음
+     * 목록을 만들지 않고 next() 호출마다 기록 하나를 읽으며, 같은 위치의 문자열은 한번만 만든다.
+     * @return 해야할일(한번만 순회)
+     */
+    public Iterator<Profile> profiles() {
+        ByteBuffer records = this.records.duplicate();
+        return new Iterator<Profile>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return this.index < SnapshotFile.this.profileCount;
+            }
+
+            @Override
+            public Profile next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                this.index++;
+                return readProfile(records, SnapshotFile.this.heap);
+            }
+        };
+    }
+
+    private static Profile readProfile(ByteBuffer fixed, StringHeap heap) {
+        int num = fixed.getInt();
+        LocalDate date = LocalDate.ofEpochDay(fixed.getInt());
+        int assignee = fixed.getInt();
+        String assigneeName = heap.get(fixed.getInt());
+        int reporter = fixed.getInt();
+        String reporterName = heap.get(fixed.getInt());
+        int seq = fixed.getInt();
+        String task = heap.get(fixed.getInt());
+        String description = heap.get(fixed.getInt());
+        int logSeq = fixed.getInt();
+        byte level = fixed.get();
+        byte status = fixed.get();
+        byte logLevel = fixed.get();
+        byte flags = fixed.get();
+
+        AllocationLog log = null;
+        if (0 != (flags & HAS_LOG)) {
+            log = new AllocationLog((NULL_CODE == logLevel) ? null : TaskLevel.ofCode(logLevel), (NULL_VALUE == logSeq) ? null : logSeq);
+        }
+
+        return Profile.builder()
+                .num(num)
+                .date(date)
+                .assignee(Member.of(assignee, assigneeName))
+                .reporter((0 != (flags & HAS_REPORTER)) ? Member.of(reporter, reporterName) : null)
+                .taskLevel((NULL_CODE == level) ? null : TaskLevel.ofCode(level))
+                .seq((NULL_VALUE == seq) ? null : seq)
+                .task(task)
+                .description(description)
+                .status((NULL_CODE == status) ? null : ProgressStatus.values()[status])
+                .log(log)
+                .build();
+    }
+
+    /**
+     * 담당자, 해야할일 영역 크기
+     * @param memberCount
+     * @param profileCount
+     * @return 크기
+     */
+    private static long fixedSize(int memberCount, int profileCount) {
+        return ((long) MEMBER_SIZE * memberCount) + ((long) RECORD_SIZE * profileCount);
+    }
+
+    /**
+     * 스냅샷 파일 쓰기
+     * 고정 길이 영역은 건수를 알고 있으므로 생성 시 매핑하여 값을 바로 복사하고(배타 잠금 구간),
+     * 문자열 영역과 머리는 finish()에서 기록한 뒤 fsync 한다(잠금 해제 후).
+     */
+    public static class Writer implements Closeable {
+        private final FileChannel channel;
+
+        private final MappedByteBuffer fixed;
+
+        private final long fixedSize;
+
+        /** 문자열 → 문자열 영역 내 위치(중복 제거) */
+        private final HashMap<String, Integer> references;
+
+        /** 문자열 영역 */
+        private final HeapOutput heap;
+
+        private final long lastProfileNumber;
+
+        private final long lastMemberNumber;
+
+        private final int memberCount;
+
+        private final int profileCount;
+
+        /**
+         * 생성자
+         * @param file 기록할 파일(있으면 덮어씀)
+         * @param lastProfileNumber 마지막 해야할일 번호
+         * @param lastMemberNumber 마지막 담당자 번호
+         * @param memberCount 담당자 수
+         * @param profileCount 해야할일 수
+         */
+        public Writer(Path file, long lastProfileNumber, long lastMemberNumber, int memberCount, int profileCount) throws IOException {
+            this.fixedSize = fixedSize(memberCount, profileCount);
+            if (Integer.MAX_VALUE < this.fixedSize) {
+                throw new IllegalStateException("스냅샷 파일 하나에 기록할 수 있는 건수를 넘었습니다. count = " + profileCount);
+            }
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ
+                    , StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            this.fixed = this.channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE, this.fixedSize);
+            this.references = new HashMap<String, Integer>();
+            this.heap = new HeapOutput();
+            this.lastProfileNumber = lastProfileNumber;
+            this.lastMemberNumber = lastMemberNumber;
+            this.memberCount = memberCount;
+            this.profileCount = profileCount;
+        }
+
+        public void addMember(Member member) {
+            this.fixed.putInt(member.getNumber());
+            this.fixed.putInt(this.reference(member.getName()));
+        }
+
+        public void addProfile(Profile profile) {
+            Integer seq = profile.getSeq();
+            AllocationLog log = profile.getLog();
+            Integer logSeq = (null != log) ? log.getSeq() : null;
+            TaskLevel logLevel = (null != log) ? log.getTaskLevel() : null;
+            byte flags = 0;
+            if (null != profile.getReporter()) {
+                flags |= HAS_REPORTER;
+            }
+            if (null != log) {
+                flags |= HAS_LOG;
+            }
+
+            this.fixed.putInt(profile.getNum());
+            this.fixed.putInt(Math.toIntExact(profile.getDate().toEpochDay()));
+            this.fixed.putInt(profile.getAssignee().getNumber());
+            this.fixed.putInt(this.reference(profile.getAssignee().getName()));
+            this.fixed.putInt((null != profile.getReporter()) ? profile.getReporter().getNumber() : 0);
+            this.fixed.putInt((null != profile.getReporter()) ? this.reference(profile.getReporter().getName()) : NULL_REFERENCE);
+            this.fixed.putInt((null != seq) ? seq : NULL_VALUE);
+            this.fixed.putInt(this.reference(profile.getTask()));
+            this.fixed.putInt(this.reference(profile.getDescription()));
+            this.fixed.putInt((null != logSeq) ? logSeq : NULL_VALUE);
+            this.fixed.put((null != profile.getTaskLevel()) ? (byte) profile.getTaskLevel().getCode() : NULL_CODE);
+            this.fixed.put((null != profile.getStatus()) ? (byte) profile.getStatus().ordinal() : NULL_CODE);
+            this.fixed.put((null != logLevel) ? (byte) logLevel.getCode() : NULL_CODE);
+            this.fixed.put(flags);
+        }
+
+        /**
+         * 문자열 영역, 머리 기록 후 fsync
+         * @param segment 재실행 시작 세그먼트 번호
+         */
+        public void finish(long segment) throws IOException {
+            if (this.fixed.hasRemaining()) {
+                throw new IllegalStateException("스냅샷에 기록한 건수가 맞지 않습니다.");
+            }
+            this.fixed.force();
+
+            ByteBuffer heap = this.heap.toByteBuffer();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(segment)
+                    .putLong(this.lastProfileNumber).putLong(this.lastMemberNumber)
+                    .putInt(this.memberCount).putInt(this.profileCount).putLong(heap.remaining())
+                    .flip();
+
+            long position = HEADER_SIZE + this.fixedSize;
+            while (heap.hasRemaining()) {
+                position += this.channel.write(heap, position);
+            }
+            position = 0;
+            while (header.hasRemaining()) {
+                position += this.channel.write(header, position);
+            }
+            this.channel.force(true);
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.channel.close();
+        }
+
+        /**
+         * 문자열의 참조값(처음 나온 문자열이면 문자열 영역에 추가)
+         * @param value
+         * @return 참조값
+         */
+        private int reference(String value) {
+            if (null == value) {
+                return NULL_REFERENCE;
+            }
+            Integer reference = this.references.get(value);
+            if (null == reference) {
+                reference = this.heap.write(value);
+                this.references.put(value, reference);
+            }
+            return reference;
+        }
+    }
+
+    /**
+     * 문자열 영역 쓰기(복사 없이 ByteBuffer로 전달)
+     */
+    private static class HeapOutput extends ByteArrayOutputStream {
+        HeapOutput() {
+            super(1 << 16);
+        }
+
+        /**
+         * 문자열 추가
+         * @param value
+         * @return 추가한 위치
+         */
+        int write(String value) {
+            int position = this.count;
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            if (Integer.MAX_VALUE - Integer.BYTES - bytes.length < position) {
+                throw new IllegalStateException("스냅샷 문자열 영역 크기를 넘었습니다.");
+            }
+            this.write(bytes.length >>> 24);
+            this.write(bytes.length >>> 16);
+            this.write(bytes.length >>> 8);
+            this.write(bytes.length);
+            this.write(bytes, 0, bytes.length);
+            return position;
+        }
+
+        ByteBuffer toByteBuffer() {
+            return ByteBuffer.wrap(this.buf, 0, this.count);
+        }
+    }
+
+    /**
+     * 문자열 영역 읽기(같은 위치의 문자열은 같은 인스턴스 반환)
+     */
+    private static class StringHeap {
+        private final ByteBuffer heap;
+
+        private final HashMap<Integer, String> strings;
+
+        StringHeap(ByteBuffer heap) {
+            this.heap = heap;
+            this.strings = new HashMap<Integer, String>();
+        }
+
+        String get(int reference) {
+            if (NULL_REFERENCE == reference) {
+                return null;
+            }
+            String value = this.strings.get(reference);
+            if (null == value) {
+                int length = this.heap.getInt(reference);
+                byte[] bytes = new byte[length];
+                ByteBuffer slice = this.heap.duplicate();
+                slice.position(reference + Integer.BYTES);
+                slice.get(bytes);
+                value = new String(bytes, StandardCharsets.UTF_8);
+                this.strings.put(reference, value);
+            }
+            return value;
+        }
+    }
+}
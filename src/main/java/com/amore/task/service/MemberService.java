@@ -1,79 +1,246 @@
 package com.amore.task.service;
 
+import com.amore.task.common.IdGenerator;
+import com.amore.task.common.TaskMetrics;
 import com.amore.task.model.domain.Member;
-import lombok.Synchronized;
+import com.amore.task.repository.JournalOperation;
+import com.amore.task.repository.ProfileJournal;
+import com.amore.task.repository.ProfileRecords;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Service
 public class MemberService {
-    /** 담당자 및 위임자 */
-    private ArrayList<Member> members;
+    /** 담당자 번호 → 담당자 및 위임자 */
+    private final ConcurrentHashMap<Integer, Member> members;
 
-    /** 담당자 번호 */
-    private int number;
+    /** 이름 → 담당자(등록 순, 변경하지 않는 리스트) */
+    private final ConcurrentHashMap<String, List<Member>> nameIndex;
+
+    /** 전체 담당자(등록 순, 등록할 때마다 새 리스트로 교체) */
+    private volatile List<Member> registered;
+
+    /** 담당자 번호 발급기 */
+    private IdGenerator idGenerator;
+
+    /** 변경 로그(null이면 기록하지 않음) */
+    private volatile ProfileJournal journal;
+
+    /** 등록 잠금(가상 스레드의 캐리어 점유를 피하기 위해 synchronized 대신 사용) */
+    private final ReentrantLock registerLock = new ReentrantLock();
+
+    /** 처리 지표 */
+    private final TaskMetrics metrics;
 
     /**
-     * 생성자
+     * 생성자(처리 지표를 기록하지 않음)
      */
     public MemberService() {
-        this.members = new ArrayList<Member>();
-        this.members.add(Member.of(0, "김희정"));
-        this.members.add(Member.of(1, "임성욱"));
-        this.members.add(Member.of(2, "임시완"));
-        this.members.add(Member.of(3, "임시현"));
-        this.members.add(Member.of(4, "우영우"));
+        this(new IdGenerator(5));
+    }
+
+    /**
+     * 생성자
+     * @param metrics 처리 지표
+     */
+    @Autowired
+    public MemberService(TaskMetrics metrics) {
+        this(new IdGenerator(5), metrics);
+    }
 
-        this.number = 5;
+    /**
+     * 생성자(처리 지표를 기록하지 않음)
+     * @param idGenerator 담당자 번호 발급기(초기 담당자 번호 이후부터 발급해야함)
+     */
+    public MemberService(IdGenerator idGenerator) {
+        this(idGenerator, TaskMetrics.noop());
     }
 
     /**
-     * 이름이 일치하는 프로필 반환
+     * 생성자
+     * @param idGenerator 담당자 번호 발급기(초기 담당자 번호 이후부터 발급해야함)
+     * @param metrics 처리 지표
+     */
+    public MemberService(IdGenerator idGenerator, TaskMetrics metrics) {
+        this.idGenerator = idGenerator;
+        this.metrics = metrics;
+        this.members = new ConcurrentHashMap<Integer, Member>();
+        this.nameIndex = new ConcurrentHashMap<String, List<Member>>();
+        this.registered = Collections.emptyList();
+        this.register(Member.of(0, "김희정"));
+        this.register(Member.of(1, "임성욱"));
+        this.register(Member.of(2, "임시완"));
+        this.register(Member.of(3, "임시현"));
+        this.register(Member.of(4, "우영우"));
+    }
+
+    /**
+     * 담당자 수 지표 등록
+     */
+    @PostConstruct
+    public void bindMetrics() {
+        this.metrics.gauge(TaskMetrics.MEMBERS, () -> this.registered.size());
+    }
+
+    /**
+     * 번호가 일치하는 프로필 반환
      * @param number 프로필번호
      * @return null 또는 member
      */
     public Member getMember(int number) {
-        return this.members.stream()
-                .filter(p -> number == p.getNumber())
-                .findFirst()
-                .orElse(null);
+        return this.members.get(number);
+    }
+
+    /**
+     * 이름이 일치하는 프로필 반환(동명이인은 등록 순)
+     * @param name 이름
+     * @return 담당자(없으면 빈 리스트)
+     */
+    public List<Member> getMembers(String name) {
+        if (null == name) {
+            return Collections.emptyList();
+        }
+        return this.nameIndex.getOrDefault(name, Collections.emptyList());
+    }
+
+    /**
+     * 담당자 추가(같은 번호가 있으면 추가하지 않음)
+     * 조회는 잠금 없이 하므로 이름 목록, 전체 목록은 새 리스트를 만들어 교체한다.
+     * @param member
+     * @return 추가 여부
+     */
+    private boolean register(Member member) {
+        this.registerLock.lock();
+        try {
+            if (null != this.members.putIfAbsent(member.getNumber(), member)) {
+                return false;
+            }
+
+            if (null != member.getName()) {
+                List<Member> named = new ArrayList<Member>(this.getMembers(member.getName()));
+                named.add(member);
+                this.nameIndex.put(member.getName(), Collections.unmodifiableList(named));
+            }
+
+            List<Member> all = new ArrayList<Member>(this.registered.size() + 1);
+            all.addAll(this.registered);
+            all.add(member);
+            this.registered = Collections.unmodifiableList(all);
+            return true;
+        } finally {
+            this.registerLock.unlock();
+        }
     }
 
     /**
      * 신규 담당자 번호 반급
      * @return 담당자 번호
      */
-    @Synchronized
     public int getNextNumber() {
-        this.number++;
-        return this.number;
+        return this.idGenerator.next();
+    }
+
+    /**
+     * 마지막으로 발급한 번호
+     * @return 번호
+     */
+    public long getLastNumber() {
+        return this.idGenerator.current();
+    }
+
+    /**
+     * 변경 로그 설정
+     * 복구(재실행)가 끝난 뒤 요청을 받기 전에 설정한다.
+     * @param journal 변경 로그(null이면 기록 중단)
+     */
+    public void setJournal(ProfileJournal journal) {
+        this.journal = journal;
     }
 
     /**
      * 담당자 등록
+     * 변경 로그가 설정되어있으면 기록이 fsync 될 때까지 기다린다.
      * @param name 이름
      * @return 등록 결과
      */
     public boolean addMember(String name) {
-        int number = this.getNextNumber(); // 신규 번호를 발급
-        
-        // 신규 번호가 유효한 값이고 중복되지않음을 체크
-        if ((0 < number) && (null == getMember(number))) {
-            this.members.add(Member.of(number, name));
-        } else {
-            return false;
+        ProfileJournal journal = this.journal;
+        if (null == journal) {
+            return this.insertMember(name);
+        }
+
+        boolean result;
+        Lock lock = journal.sharedLock();
+        lock.lock();
+        try {
+            result = this.insertMember(name);
+        } finally {
+            lock.unlock();
         }
+        journal.awaitDurable();
+        return result;
+    }
 
-        return true;
+    /**
+     * 담당자 등록(변경 로그가 설정되어있으면 등록 전에 등록 내용 기록)
+     * 복구 시 같은 순서로 등록되도록 등록과 기록을 함께 잠그며, 기록하지 못하면 예외가 발생하고 등록하지 않는다.
+     * @param name 이름
+     * @return 등록 결과
+     */
+    private boolean insertMember(String name) {
+        this.registerLock.lock();
+        try {
+            int number = this.getNextNumber(); // 신규 번호를 발급
+
+            // 신규 번호가 유효한 값이고 중복되지않음을 체크
+            if ((0 >= number) || (this.members.containsKey(number))) {
+                return false;
+            }
+
+            Member member = Member.of(number, name);
+            ProfileJournal journal = this.journal;
+            if (null != journal) {
+                journal.append(JournalOperation.ADD_MEMBER, out -> ProfileRecords.writeMember(out, member));
+            }
+            return this.register(member);
+        } finally {
+            this.registerLock.unlock();
+        }
+    }
+
+    /**
+     * 번호가 부여된 담당자를 그대로 적재(복구용)
+     * 같은 번호의 담당자가 있으면 추가하지 않고, 이후 발급 번호를 조정한다.
+     * @param member
+     */
+    public void loadMember(Member member) {
+        this.register(member);
+        this.idGenerator.advanceTo(member.getNumber());
+    }
+
+    /**
+     * 이미 사용중인 번호 이후부터 발급하도록 조정(데이터 복구 시 사용)
+     * @param number 사용중인 번호
+     */
+    public void advanceNumber(long number) {
+        this.idGenerator.advanceTo(number);
     }
 
     /**
      * 전체 프로필 리스트를 조회
-     * @return 리스트
+     * 조회 시점의 목록(변경 불가)을 복사 없이 반환하며, 이후 등록은 반영되지 않는다.
+     * @return 리스트(등록 순)
      */
-    public ArrayList<Member> getProfiles() {
-        return this.members;
+    public List<Member> getProfiles() {
+        return this.registered;
     }
 
 }
@@ -0,0 +1,302 @@
+package com.amore.task.service;
+
+import com.amore.task.model.domain.Member;
+import com.amore.task.model.domain.Profile;
+import com.amore.task.model.dto.MemberDto;
+import com.amore.task.model.dto.ProfileDto;
+import com.amore.task.repository.JournalOperation;
+import com.amore.task.repository.ProfileJournal;
+import com.amore.task.repository.ProfileRecords;
+import com.amore.task.repository.SnapshotFile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.DataInput;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 해야할일, 담당자 저장(task.persistence.enabled=true 인 경우 사용)
+ * 변경은 변경 로그(WAL)에 기록하고, 주기적으로 전체 상태를 스냅샷 파일로 저장한 뒤 이전 변경 로그를 삭제한다.
+ * 시작 시 마지막 스냅샷을 적재하고 이후의 변경 로그를 재실행하여 복구한다.
+ * 스냅샷 형식은 SnapshotFile 참고.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "task.persistence", name = "enabled", havingValue = "true")
+public class PersistenceService {
+    /** 스냅샷 파일 이름 */
+    private static final String SNAPSHOT = "snapshot.dat";
+    private static final String SNAPSHOT_TEMP = "snapshot.tmp";
+
+    private final ProfileService profileService;
+
+    private final MemberService memberService;
+
+    /** 저장 폴더 */
+    private final Path directory;
+
+    /** 스냅샷 주기(ms, 0 이하면 종료 시에만 저장) */
+    private final long snapshotInterval;
+
+    /** 변경 로그 */
+    private ProfileJournal journal;
+
+    /** 스냅샷 스케줄러 */
+    private ScheduledExecutorService scheduler;
+
+    /** 스냅샷 저장 잠금(한번에 하나만 저장) */
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+
+    @Autowired
+    public PersistenceService(ProfileService profileService, MemberService memberService
+            , @Value("${task.persistence.directory:data}") String directory
+            , @Value("${task.persistence.snapshot-interval:600000}") long snapshotInterval) {
+        this.profileService = profileService;
+        this.memberService = memberService;
+        this.directory = Paths.get(directory);
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    /**
+     * 복구 후 변경 로그 기록 시작
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        long segment = this.recover();
+        this.journal = new ProfileJournal(this.directory, segment);
+        this.memberService.setJournal(this.journal);
+        this.profileService.setJournal(this.journal);
+
+        if (0 < this.snapshotInterval) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "profile-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.scheduler.scheduleWithFixedDelay(this::scheduledSnapshot
+                    , this.snapshotInterval, this.snapshotInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 스냅샷 저장 후 변경 로그 종료
+     */
+    @PreDestroy
+    public void stop() throws IOException {
+        if (null != this.scheduler) {
+            this.scheduler.shutdown();
+            try {
+                this.scheduler.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        try {
+            this.snapshot();
+        } finally {
+            this.profileService.setJournal(null);
+            this.memberService.setJournal(null);
+            this.journal.close();
+        }
+    }
+
+    private void scheduledSnapshot() {
+        try {
+            this.snapshot();
+        } catch (Exception e) {
+            log.error("스냅샷 저장 실패", e);
+        }
+    }
+
+    /**
+     * 스냅샷 저장
+     * 진행중인 변경이 없는 시점에 전체 상태를 임시 파일에 복사하고 변경 로그 세그먼트를 교체한다.
+     * 문자열 영역 기록과 fsync는 잠금을 해제한 뒤 하고, 이름을 바꿔 교체한다.
+     */
+    public void snapshot() throws IOException {
+        this.snapshotLock.lock();
+        try {
+            this.writeSnapshot();
+        } finally {
+            this.snapshotLock.unlock();
+        }
+    }
+
+    private void writeSnapshot() throws IOException {
+        Path temp = this.directory.resolve(SNAPSHOT_TEMP);
+        SnapshotFile.Writer writer;
+        long segment;
+        int count;
+        Lock lock = this.journal.exclusiveLock();
+        lock.lock();
+        try {
+            List<Member> members = this.memberService.getProfiles();
+            List<Profile> profiles = this.profileService.getSnapshot().getProfiles();
+            count = profiles.size();
+            writer = new SnapshotFile.Writer(temp, this.profileService.getLastNumber()
+                    , this.memberService.getLastNumber(), members.size(), profiles.size());
+            try {
+                for (Member member : members) {
+                    writer.addMember(member);
+                }
+                for (Profile profile : profiles) {
+                    writer.addProfile(profile);
+                }
+            } catch (RuntimeException e) {
+                writer.close();
+                throw e;
+            }
+            segment = this.journal.rotate(); // 이후 변경은 새 세그먼트에 기록
+        } finally {
+            lock.unlock();
+        }
+
+        try (writer) {
+            this.journal.awaitDurable(); // 이전 세그먼트 기록 완료
+            writer.finish(segment);
+        }
+        Files.move(temp, this.directory.resolve(SNAPSHOT), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        this.syncDirectory();
+
+        this.journal.deleteBefore(segment);
+        log.info("스냅샷 저장 : segment = {}, count = {}", segment, count);
+    }
+
+    /**
+     * 파일 이름 변경이 유지되도록 폴더 fsync(지원하지 않는 환경은 무시)
+     */
+    private void syncDirectory() {
+        try (FileChannel channel = FileChannel.open(this.directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            log.debug("폴더 fsync 미지원 : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 스냅샷 적재 후 변경 로그 재실행
+     * @return 새 기록을 시작할 세그먼트 번호
+     */
+    private long recover() throws IOException {
+        Files.createDirectories(this.directory);
+
+        long segment = 0;
+        Path file = this.directory.resolve(SNAPSHOT);
+        if (Files.exists(file)) {
+            segment = this.loadSnapshot(file);
+        }
+
+        long count = ProfileJournal.replay(this.directory, segment, this::apply);
+
+        // 마지막 세그먼트는 끝이 불완전할 수 있으므로 이어쓰지 않고 다음 번호부터 기록
+        List<Long> segments = ProfileJournal.segments(this.directory);
+        if (!segments.isEmpty()) {
+            segment = Math.max(segment, segments.get(segments.size() - 1) + 1);
+        }
+        log.info("복구 완료 : replay = {}, next segment = {}", count, segment);
+        return segment;
+    }
+
+    /**
+     * 스냅샷 적재
+     * 우선순위 순으로 기록되어있으므로 정렬 없이 기록 순서대로 읽으며 묶음과 색인을 만든다.
+     * @param file
+     * @return 재실행 시작 세그먼트 번호
+     */
+    private long loadSnapshot(Path file) throws IOException {
+        SnapshotFile snapshot = SnapshotFile.read(file);
+        this.profileService.advanceNumber(snapshot.getLastProfileNumber());
+        this.memberService.advanceNumber(snapshot.getLastMemberNumber());
+        for (Member member : snapshot.getMembers()) {
+            this.memberService.loadMember(member);
+        }
+        this.profileService.loadSnapshot(snapshot.profiles(), snapshot.getProfileCount());
+        return snapshot.getSegment();
+    }
+
+    /**
+     * 변경 로그 기록 하나를 재실행
+     * 기록 당시와 같은 순서, 같은 번호로 실행하므로 중요도, 순서도 같게 계산된다.
+     * 추가 기록은 부여된 중요도, 순서를 그대로 사용하며 우선순위를 다시 계산하지 않는다.
+     * @param operation 기록 종류
+     * @param in 기록 내용
+     */
+    private void apply(JournalOperation operation, DataInput in) throws IOException {
+        switch (operation) {
+            case ADD: {
+                Profile profile = ProfileRecords.readProfile(in);
+                this.profileService.advanceNumber(profile.getNum());
+                this.profileService.restoreProfile(profile);
+                break;
+            }
+            case ADD_BATCH: {
+                int size = in.readInt();
+                ArrayList<Profile> profiles = new ArrayList<Profile>(size);
+                for (int index = 0; index < size; index++) {
+                    Profile profile = ProfileRecords.readProfile(in);
+                    this.profileService.advanceNumber(profile.getNum());
+                    profiles.add(profile);
+                }
+                this.profileService.restoreProfiles(profiles);
+                break;
+            }
+            case LOAD: {
+                Profile profile = ProfileRecords.readProfile(in);
+                this.profileService.loadProfile(profile);
+                break;
+            }
+            case REMOVE:
+                this.profileService.removeProfile(in.readInt());
+                break;
+            case REMOVE_BATCH:
+                this.profileService.removeProfiles(ProfileRecords.readNums(in));
+                break;
+            case STATUS_BATCH: {
+                List<Integer> nums = ProfileRecords.readNums(in);
+                this.profileService.updateStatuses(nums, ProfileRecords.readStatus(in));
+                break;
+            }
+            case ALLOCATE: {
+                ProfileDto profileDto = new ProfileDto();
+                profileDto.setNum(in.readInt());
+                MemberDto assignee = ProfileRecords.readMemberDto(in);
+                profileDto.setAssignee(assignee);
+                this.profileService.allocateAssignee(profileDto);
+                break;
+            }
+            case CANCEL:
+                this.profileService.cancelAllocatedProfile(in.readInt());
+                break;
+            case UPDATE:
+                this.profileService.updateProfile(ProfileRecords.readProfileDto(in));
+                break;
+            case CLEAR:
+                this.profileService.clear();
+                break;
+            case ADD_MEMBER:
+                this.memberService.loadMember(ProfileRecords.readMember(in));
+                break;
+            default:
+                throw new IllegalStateException("처리할 수 없는 변경 로그입니다. operation = " + operation);
+        }
+    }
+}
@@ -1,136 +1,418 @@
 package com.amore.task.service;
 
 import com.amore.task.common.HandledException;
+import com.amore.task.common.IdGenerator;
+import com.amore.task.common.IdRange;
+import com.amore.task.common.TaskMetrics;
+import com.amore.task.model.domain.AllocationLog;
 import com.amore.task.model.domain.Member;
 import com.amore.task.model.domain.Profile;
 import com.amore.task.model.dto.MemberDto;
+import com.amore.task.model.dto.ProfileCursor;
+import com.amore.task.model.dto.ProfilePageDto;
 import com.amore.task.model.dto.ProfileDto;
+import com.amore.task.model.dto.ProfileSearchDto;
 import com.amore.task.model.enums.ProgressStatus;
 import com.amore.task.model.enums.ResponseStatus;
 import com.amore.task.model.enums.TaskLevel;
-import lombok.Synchronized;
+import com.amore.task.repository.JournalOperation;
+import com.amore.task.repository.ProfileBucket;
+import com.amore.task.repository.ProfileJournal;
+import com.amore.task.repository.ProfileList;
+import com.amore.task.repository.ProfileRecords;
+import com.amore.task.repository.ProfileSnapshot;
+import com.amore.task.repository.ProfileStore;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 
+/**
+ * 해야할일 저장소
+ * 변경은 담당자별 잠금을 획득한 뒤 수행하므로 다른 담당자의 해야할일은 동시에 변경할 수 있다.
+ * 변경한 묶음은 새 버전의 저장소(변경하지 않는 트리)로 게시하고, 조회는 게시된 버전 하나를 잠금 없이 사용한다.
+ * 조회한 해야할일은 해당 버전의 값을 복사한 것이므로 이후의 변경이 반영되지 않는다.
+ * 변경 로그가 설정되어있으면 변경 내용을 잠금 구간 안에서 기록하고, 잠금 해제 후 fsync 완료를 기다린다.
+ */
 @Slf4j
 @Service
 public class ProfileService {
-    /** 해야할일 목록 */
-    private ArrayList<Profile> profiles;
+    /** 마지막으로 게시된 해야할일 저장소(날짜, 담당자별 우선순위 순 묶음과 번호 색인) */
+    private AtomicReference<ProfileStore> store;
 
-    /** 해야할일 번호 */
-    private int number;
+    /** 담당자 번호 → 잠금 */
+    private ConcurrentHashMap<Integer, ReentrantLock> assigneeLocks;
 
+    /** 전체 잠금(담당자별 변경은 공유, 전체 삭제는 단독으로 획득) */
+    private ReentrantReadWriteLock storeLock;
+
+    /** 해야할일 번호 발급기 */
+    private IdGenerator idGenerator;
+
+    /** 변경 로그(null이면 기록하지 않음) */
+    private volatile ProfileJournal journal;
+
+    /** 담당자 등록 정보(공유 인스턴스 조회용, 없으면 번호별로 직접 공유) */
+    @Autowired(required = false)
+    private MemberService memberService;
+
+    /** 담당자 번호 → 해야할일이 공유하는 담당자 인스턴스 */
+    private ConcurrentHashMap<Integer, Member> members;
+
+    /** 처리 지표 */
+    private final TaskMetrics metrics;
+
+    /**
+     * 생성자(처리 지표를 기록하지 않음)
+     */
     public ProfileService() {
-        this.number = 0;
-        this.profiles = new ArrayList<Profile>();
+        this(new IdGenerator(0));
+    }
+
+    /**
+     * 생성자
+     * @param metrics 처리 지표
+     */
+    @Autowired
+    public ProfileService(TaskMetrics metrics) {
+        this(new IdGenerator(0), metrics);
+    }
+
+    /**
+     * 생성자(처리 지표를 기록하지 않음)
+     * @param idGenerator 해야할일 번호 발급기
+     */
+    public ProfileService(IdGenerator idGenerator) {
+        this(idGenerator, TaskMetrics.noop());
+    }
+
+    /**
+     * 생성자
+     * @param idGenerator 해야할일 번호 발급기
+     * @param metrics 처리 지표
+     */
+    public ProfileService(IdGenerator idGenerator, TaskMetrics metrics) {
+        this.idGenerator = idGenerator;
+        this.metrics = metrics;
+        this.store = new AtomicReference<ProfileStore>(ProfileStore.empty(0));
+        this.assigneeLocks = new ConcurrentHashMap<Integer, ReentrantLock>();
+        this.storeLock = new ReentrantReadWriteLock();
+        this.members = new ConcurrentHashMap<Integer, Member>();
     }
 
     /**
      * 신규 번호를 발급하여 해야할일을 구분
      * @return 해야할일 번호
      */
-    @Synchronized
     public int getNextNumber() {
-        this.number++;
-        return this.number;
+        return this.idGenerator.next();
     }
 
     /**
-     * 해야할일의 인덱스 찾기
-     * @param profileDto
-     * @return 인덱스
+     * 대량 등록을 위해 연속된 번호를 예약
+     * @param count 예약할 번호 수
+     * @return 번호 구간
      */
-    public int getPriority(ProfileDto profileDto) {
-        boolean isValidIndex = false;
-        int index = 0;
+    public IdRange reserveNumbers(int count) {
+        return this.idGenerator.reserve(count);
+    }
 
-        for (; index < this.profiles.size(); index++) {
-            // 1. 날짜 비교
-            if (profileDto.getDate().isBefore(this.profiles.get(index).getDate())) {
-                // 해당 인덱스의 날짜보다 이전일 경우, 인덱스로 추가
-                break;
-            } else if (profileDto.getDate().isAfter(this.profiles.get(index).getDate())) {
-                // 다음 인덱스 확인
-                continue;
-            } else {
-                // 2. 날짜가 동일한 경우 담당자 비교
-                if (profileDto.getAssignee().getNum() < this.profiles.get(index).getAssignee().getNumber()) {
-                    // 해당 인덱스의 담당자 번호보다 낮은 경우, 해당 인덱스로 추가
-                    break;
-                } else if (profileDto.getAssignee().getNum() > this.profiles.get(index).getAssignee().getNumber()) {
-                    // 다음 인덱스 확인
-                    continue;
-                } else {
-                    // 3. 담당자가 동일한 경우 최하순위 바로 아래 순위를 검색
-                    while (index < this.profiles.size()) {
-                        if (null != profileDto.getTaskLevel()) {
-                            if (profileDto.getTaskLevel().getCode() < this.profiles.get(index).getTaskLevel().getCode()) {
-                                // 다음 인덱스가 하위의 중요도인 경우 해당 인덱스로 추가
-                                isValidIndex = true;
-                                break;
-                            } else if (profileDto.getTaskLevel().getCode() > this.profiles.get(index).getTaskLevel().getCode()) {
-                                // 중요도A보다 높은 중요도의 경우 다음 인덱스 확인
-                            } else {
-                                // 동일 중요도 내 순서
-                                if ((index + 1) < this.profiles.size()) {
-                                    // 다음 인덱스와 중요도가 다름
-                                    if (this.profiles.get(index).getTaskLevel().getCode() < this.profiles.get(index + 1).getTaskLevel().getCode()) {
-                                        isValidIndex = true;
-                                        break;
-                                    } else {
-                                        // 순서 비교
-                                        if (profileDto.getSeq() <= this.profiles.get(index).getSeq()) {
-                                            // 다음 인덱스 보다 순서가 낮거나 동일하면 해당 인덱스로 입력
-                                            isValidIndex = true;
-//                                            index++;
-                                            break;
-                                        }
-                                    }
-                                } else { // 다음 인덱스 없음
-                                    isValidIndex = true;
-                                    index++;
-                                    break;
-                                }
-                            }
-
-                        }
-
-                        // 담당자가 바뀌면 해당 인덱스로 추가
-                        if ((index + 1) < this.profiles.size()) {
-                            if (profileDto.getAssignee().getNum() != this.profiles.get(index + 1).getAssignee().getNumber()) {
-                                isValidIndex = true;
-                                index++;
-                                break;
-                            }
-                        } else {
-                            isValidIndex = true;
-                            index++;
-                            break;
-                        }
-
-                        index++;
-                    } // end of while
-
-                    // 입력할 인덱스를 찾은 경우 반복문을 종료
-                    if (isValidIndex) {
+    /**
+     * 마지막으로 발급한 번호
+     * @return 번호
+     */
+    public long getLastNumber() {
+        return this.idGenerator.current();
+    }
+
+    /**
+     * 이미 사용중인 번호 이후부터 발급하도록 조정(데이터 복구 시 사용)
+     * @param number 사용중인 번호
+     */
+    public void advanceNumber(long number) {
+        this.idGenerator.advanceTo(number);
+    }
+
+    /**
+     * 해야할일 수 지표 등록(담당자별 지표는 담당자의 첫 묶음 게시 시 등록, 마지막 묶음 제거 시 제거)
+     */
+    @PostConstruct
+    public void bindMetrics() {
+        this.metrics.gauge(TaskMetrics.PROFILES, this::getProfileCount);
+        for (Integer assignee : this.store.get().getAssignees()) {
+            this.bindAssigneeMetrics(assignee);
+        }
+    }
+
+    private void bindAssigneeMetrics(int assignee) {
+        this.metrics.gauge(TaskMetrics.ASSIGNEE_PROFILES, () -> this.getProfileCount(assignee), "assignee", String.valueOf(assignee));
+    }
+
+    private void unbindAssigneeMetrics(int assignee) {
+        this.metrics.removeGauge(TaskMetrics.ASSIGNEE_PROFILES, "assignee", String.valueOf(assignee));
+    }
+
+    /**
+     * 전체 해야할일 수
+     * @return 해야할일 수
+     */
+    public int getProfileCount() {
+        return this.store.get().getSize();
+    }
+
+    /**
+     * 담당자의 해야할일 수
+     * @param assignee 담당자 번호
+     * @return 해야할일 수
+     */
+    public int getProfileCount(int assignee) {
+        return this.store.get().getProfileCount(assignee);
+    }
+
+    /**
+     * 변경 로그 설정
+     * 복구(재실행)가 끝난 뒤 요청을 받기 전에 설정한다.
+     * @param journal 변경 로그(null이면 기록 중단)
+     */
+    public void setJournal(ProfileJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * 변경 내용 기록(잠금을 획득한 상태에서 변경을 게시하기 전에 호출)
+     * 기록하지 못하면 예외가 발생하므로 기록되지 않은 변경은 게시되지 않는다.
+     * @param operation 기록 종류
+     * @param body 기록 내용
+     */
+    private void record(JournalOperation operation, ProfileJournal.RecordWriter body) {
+        ProfileJournal journal = this.journal;
+        if (null != journal) {
+            journal.append(operation, body);
+        }
+    }
+
+    /**
+     * 담당자 번호 순으로 잠금 획득(교착 방지)
+     * 변경 로그가 설정되어있으면 스냅샷 시점 고정용 공유 잠금을 먼저 획득하고, 전체 삭제와 겹치지 않도록 전체 잠금을 공유로 획득한다.
+     * @param assignees 담당자 번호
+     * @return 획득한 잠금
+     */
+    private List<Lock> lock(int... assignees) {
+        int[] numbers = Arrays.stream(assignees).distinct().sorted().toArray();
+        List<Lock> locks = new ArrayList<Lock>(numbers.length + 2);
+        long start = System.nanoTime();
+        this.lockStore(locks, this.storeLock.readLock());
+        for (int assignee : numbers) {
+            ReentrantLock lock = this.assigneeLocks.computeIfAbsent(assignee, key -> new ReentrantLock());
+            lock.lock();
+            locks.add(lock);
+        }
+        this.metrics.recordLockWait(System.nanoTime() - start);
+        return locks;
+    }
+
+    /**
+     * 전체 잠금을 단독으로 획득(모든 담당자의 변경이 끝날 때까지 대기)
+     * @return 획득한 잠금
+     */
+    private List<Lock> lockAll() {
+        List<Lock> locks = new ArrayList<Lock>(2);
+        long start = System.nanoTime();
+        this.lockStore(locks, this.storeLock.writeLock());
+        this.metrics.recordLockWait(System.nanoTime() - start);
+        return locks;
+    }
+
+    /**
+     * 변경 로그의 공유 잠금과 전체 잠금 획득
+     * @param locks 획득한 잠금을 추가할 목록
+     * @param storeLock 획득할 전체 잠금(공유 또는 단독)
+     */
+    private void lockStore(List<Lock> locks, Lock storeLock) {
+        ProfileJournal journal = this.journal;
+        if (null != journal) {
+            Lock lock = journal.sharedLock();
+            lock.lock();
+            locks.add(lock);
+        }
+        storeLock.lock();
+        locks.add(storeLock);
+    }
+
+    /**
+     * 획득한 잠금의 역순으로 해제
+     * 변경 로그가 설정되어있으면 잠금 해제 후 기록이 fsync 될 때까지 기다린다(group commit).
+     * @param locks
+     */
+    private void unlock(List<Lock> locks) {
+        for (int index = locks.size() - 1; 0 <= index; index--) {
+            locks.get(index).unlock();
+        }
+
+        ProfileJournal journal = this.journal;
+        if (null != journal) {
+            journal.awaitDurable();
+        }
+    }
+
+    /**
+     * 변경 내용을 새 버전으로 게시(변경한 묶음의 담당자 잠금을 획득한 상태에서 호출)
+     * 다른 담당자의 변경이 먼저 게시되었으면 그 버전에 다시 반영한다.
+     * 담당자의 첫 묶음이 게시되거나 마지막 묶음이 제거되면 담당자 지표를 등록, 제거한다.
+     * @param change 변경 내용
+     * @return 게시한 저장소
+     */
+    private ProfileStore publish(ProfileStore.Change change) {
+        while (true) {
+            ProfileStore current = this.store.get();
+            ProfileStore next = current.apply(change);
+            if (this.store.compareAndSet(current, next)) {
+                for (int assignee : change.getAssignees()) {
+                    boolean hadProfiles = current.hasAssignee(assignee);
+                    boolean hasProfiles = next.hasAssignee(assignee);
+                    if ((!hadProfiles) && (hasProfiles)) {
+                        this.bindAssigneeMetrics(assignee);
+                    } else if ((hadProfiles) && (!hasProfiles)) {
+                        this.unbindAssigneeMetrics(assignee);
+                    }
+                }
+                return next;
+            }
+        }
+    }
+
+    /**
+     * 해야할일 담당자와 관련 담당자의 잠금을 획득한 상태로 작업 수행
+     * 잠금 획득 전에 위임 등으로 담당자가 변경되었으면 다시 조회하여 재시도한다.
+     * @param num 해야할일 번호
+     * @param relatedAssignee 함께 잠글 담당자 번호
+     * @param task 작업(잠금 획득 후 조회한 해야할일 전달, 일치하는 해야할일이 없으면 null 전달, 잠금 없이 수행)
+     * @return 작업 결과
+     */
+    private <T> T withProfileLock(int num, ToIntFunction<Profile> relatedAssignee, Function<Profile, T> task) {
+        while (true) {
+            Profile profile = this.getProfile(num);
+            if (null == profile) {
+                return task.apply(null);
+            }
+
+            int assignee = profile.getAssignee().getNumber();
+            int related = relatedAssignee.applyAsInt(profile);
+            List<Lock> locks = this.lock(assignee, related);
+            try {
+                Profile current = this.getProfile(num);
+                if ((null != current) && (assignee == current.getAssignee().getNumber()) && (related == relatedAssignee.applyAsInt(current))) {
+                    return task.apply(current);
+                }
+            } finally {
+                this.unlock(locks);
+            }
+        }
+    }
+
+    /**
+     * 여러 해야할일의 담당자 잠금을 한번에 획득한 상태로 작업 수행
+     * 잠금 획득 전에 위임 등으로 담당자가 변경되었으면 다시 조회하여 재시도한다.
+     * @param nums 해야할일 번호
+     * @param task 작업(잠금 획득 후 조회한 해야할일 중 일치하는 해야할일만 전달)
+     * @return 작업 결과
+     */
+    private <T> T withProfilesLock(Collection<Integer> nums, Function<List<Profile>, T> task) {
+        while (true) {
+            List<Profile> targets = new ArrayList<Profile>(nums.size());
+            for (int num : new LinkedHashSet<Integer>(nums)) {
+                Profile profile = this.getProfile(num);
+                if (null != profile) {
+                    targets.add(profile);
+                }
+            }
+
+            List<Lock> locks = this.lock(targets.stream().mapToInt(profile -> profile.getAssignee().getNumber()).toArray());
+            try {
+                List<Profile> currents = new ArrayList<Profile>(targets.size());
+                for (Profile profile : targets) {
+                    Profile current = this.getProfile(profile.getNum());
+                    if ((null == current) || (profile.getAssignee().getNumber() != current.getAssignee().getNumber())) {
                         break;
                     }
+                    currents.add(current);
                 }
+                if (currents.size() == targets.size()) {
+                    return task.apply(currents);
+                }
+            } finally {
+                this.unlock(locks);
             }
         }
+    }
 
-        return index;
+    /**
+     * 해야할일의 인덱스 찾기
+     * 동일 날짜, 동일 담당자의 묶음 내 인덱스를 반환한다.
+     * @param profileDto
+     * @return 인덱스
+     */
+    public int getPriority(ProfileDto profileDto) {
+        ProfileBucket bucket = this.store.get().getBucket(profileDto.getDate(), profileDto.getAssignee().getNum());
+        if (null == bucket) {
+            return 0;
+        }
+        return this.getPriority(bucket, profileDto.getTaskLevel(), profileDto.getSeq());
     }
 
-    @Synchronized
+    /**
+     * 묶음 내 해야할일의 인덱스 찾기
+     * 중요도, 순서가 같거나 낮은 첫번째 인덱스를 트리 탐색으로 찾는다.
+     * @param bucket 동일 날짜, 동일 담당자의 묶음
+     * @param taskLevel 중요도(null이면 최하순위)
+     * @param sequence 순서(null이면 동일 중요도 내 최하순위)
+     * @return 인덱스
+     */
+    private int getPriority(ProfileBucket bucket, TaskLevel taskLevel, Integer sequence) {
+        this.metrics.recordPriorityScan(bucket.size());
+        if (null == taskLevel) {
+            return bucket.size();
+        }
+        return bucket.lowerBound(taskLevel, (null == sequence) ? Integer.MAX_VALUE : sequence);
+    }
+
+    @Timed(value = TaskMetrics.PROFILE_OPERATION, extraTags = {"operation", "add"}, histogram = true)
     public int addProfile(ProfileDto profileDto) {
-        int index = 0; // 추가 될 위치
+        List<Lock> locks = this.lock(profileDto.getAssignee().getNum());
+        try {
+            ProfileStore.Change change = this.store.get().change();
+            Profile profile = this.insertProfile(change, profileDto);
+            this.record(JournalOperation.ADD, out -> ProfileRecords.writeProfile(out, profile)); // 부여한 중요도, 순서로 기록
+            this.publish(change);
+            return profile.getNum();
+        } finally {
+            this.unlock(locks);
+        }
+    }
+
+    /**
+     * 해야할일 추가(담당자 잠금을 획득한 상태에서 호출)
+     * @param change 변경 내용
+     * @param profileDto
+     * @return 중요도, 순서가 부여된 해야할일
+     */
+    private Profile insertProfile(ProfileStore.Change change, ProfileDto profileDto) {
         TaskLevel taskLevel = null;
         int sequence = 0; // 동일 날짜의 최초 추가 시 초기값
 
@@ -147,146 +429,566 @@ public class ProfileService {
         // 해야할일 변경 시 번호를 새로 부여하지않음
         int number = (0 == profileDto.getNum()) ? this.getNextNumber() : profileDto.getNum();
 
-        if (0 < this.profiles.size()) { // 해야할일이 존재할 경우
-            index = getPriority(profileDto); // 입력 할 위치(인덱스)
-        }
+        ProfileBucket bucket = change.getBucket(profileDto.getDate(), profileDto.getAssignee().getNum());
+        int index = this.getPriority(bucket, taskLevel, profileDto.getSeq()); // 입력 할 위치(인덱스)
 
         // 해야할일이 추가되어야하는 위치(인덱스)에 맞는 중요도와 순서를 부여
         if (null == taskLevel) {
-            // 위임받거나 중요도가 지정되지않음 아닌 경우 앞의 인덱스 날짜와 담당자가 동일하면 중요도와 동일하게 부여
-            // 담당자가 다른 경우 초기값 B0 부여
-            if ((0 < index) && (profileDto.getDate().isEqual(this.profiles.get(index - 1).getDate()))
-                    && (profileDto.getAssignee().getNum() == this.profiles.get(index - 1).getAssignee().getNumber())) {
-                taskLevel = this.profiles.get(index - 1).getTaskLevel();
-                sequence = this.profiles.get(index - 1).getSeq() + 1; // 앞의 인덱스 위치의 순서 +1
+            // 위임받거나 중요도가 지정되지않은 경우 최하순위의 중요도와 동일하게 부여
+            // 동일 날짜, 동일 담당자의 해야할일이 없으면 초기값 B0 부여
+            Profile last = bucket.getLast();
+            if (null != last) {
+                taskLevel = last.getTaskLevel();
+                sequence = last.getSeq() + 1; // 앞의 인덱스 위치의 순서 +1
             } else {
                 taskLevel = TaskLevel.B; // 동일 날짜의 최초 추가 시 초기값
-                // sequence = 0; 초기값과 동일
             }
         } else {
-            // 동일 중요도 내 순서
-            if (0 < this.profiles.size()) {
-                if ((0 < index) && (taskLevel.equals(this.profiles.get(index - 1).getTaskLevel()))
-                        && (profileDto.getAssignee().getNum() == this.profiles.get(index - 1).getAssignee().getNumber())) {
-                    // 동일 중요도 내 다음 순서로 우선순위 입력
-                    sequence = this.profiles.get(index - 1).getSeq() + 1;
+            // 동일 중요도 내 다음 순서로 우선순위 입력
+            // 이후의 동일 중요도 해야할일은 위치가 밀리면서 순서가 +1 됨
+            if (0 < index) {
+                Profile previous = bucket.get(index - 1);
+                if (taskLevel.equals(previous.getTaskLevel())) {
+                    sequence = previous.getSeq() + 1;
                 }
-
-                // 이후의 해야할일의 우선순위 재부여
-                int targetIndex = index;
-                while (targetIndex < this.profiles.size()) {
-                    // 동일 담당자의 동일 중요도인 경우, 순서를 +1 해주어야함
-                    if ((profileDto.getAssignee().getNum() == this.profiles.get(targetIndex).getAssignee().getNumber())
-                            && (taskLevel.equals(this.profiles.get(targetIndex).getTaskLevel()))) {
-                        this.profiles.get(targetIndex).addSequence();
-                    } else {
-                        break;
-                    }
-                    targetIndex++;
-                }
-            } else {
-                // sequence = 0; 초기값과 동일
             }
         }
 
-        if (null == taskLevel) {
-            taskLevel = TaskLevel.B; // 동일 날짜의 최초 추가 시 초기값
-        }
-
         log.debug("[add] index = {} / taskLevel = {} / seq = {} / num = {}", index, taskLevel.getName(), sequence, number);
+        Profile profile = this.newProfile(profileDto, number, taskLevel, sequence);
+        this.metrics.recordReorderShift(bucket.size() - index); // 뒤의 해야할일은 위치가 밀림
+        bucket = bucket.add(index, profile);
+        change.putBucket(bucket);
+        change.locate(number, bucket);
+        return profile;
+    }
+
+    /**
+     * 해야할일 생성
+     * @param profileDto
+     * @param number 해야할일 번호
+     * @param taskLevel 중요도
+     * @param sequence 순서
+     * @return 해야할일
+     */
+    private Profile newProfile(ProfileDto profileDto, int number, TaskLevel taskLevel, int sequence) {
+        Profile profile = null;
         if (ProgressStatus.ASSIGN.equals(profileDto.getStatus())) {
-            this.profiles.add(index, Profile.of(number
+            profile = Profile.of(number
                     , profileDto.getDate()
-                    , Member.of(profileDto.getAssignee().getNum(), profileDto.getAssignee().getName())
+                    , this.toMember(profileDto.getAssignee().getNum(), profileDto.getAssignee().getName())
                     , taskLevel
                     , sequence
                     , profileDto.getTask()
                     , ProgressStatus.ASSIGN
                     , profileDto.getDescription()
-                    , Member.of(profileDto.getReporter().getNum(), profileDto.getReporter().getName()) // 위임자
+                    , this.toMember(profileDto.getReporter().getNum(), profileDto.getReporter().getName()) // 위임자
                     , profileDto.getLog() // 위임 전 값
-            ));
+            );
         } else {
             ProgressStatus progressStatus = ProgressStatus.OPEN;
             if (ProgressStatus.CANCEL.equals(profileDto.getStatus())) {
                 progressStatus = ProgressStatus.CANCEL;
             }
 
-            this.profiles.add(index, Profile.of(number
+            profile = Profile.of(number
                     , profileDto.getDate()
-                    , Member.of(profileDto.getAssignee().getNum(), profileDto.getAssignee().getName())
+                    , this.toMember(profileDto.getAssignee().getNum(), profileDto.getAssignee().getName())
                     , taskLevel
                     , sequence
                     , profileDto.getTask()
                     , progressStatus
                     , profileDto.getDescription()
-            ));
+            );
+        }
+        return profile;
+    }
+
+    /**
+     * 해야할일이 참조할 담당자 인스턴스
+     * 번호, 이름이 같은 담당자는 등록된 담당자(없으면 처음 만든 인스턴스)를 공유하므로
+     * 해야할일마다 담당자를 복사하지 않고, 등록된 담당자의 이름 변경이 모든 해야할일에 반영된다.
+     * 이름이 다른 경우(기존 데이터)는 값을 바꾸지 않도록 새로 만든다.
+     * @param number 담당자 번호
+     * @param name 이름
+     * @return 담당자
+     */
+    private Member toMember(int number, String name) {
+        Member member = this.members.get(number);
+        if ((null != member) && (Objects.equals(name, member.getName()))) {
+            return member;
+        }
+
+        MemberService memberService = this.memberService;
+        Member registered = (null != memberService) ? memberService.getMember(number) : null;
+        if ((null != registered) && (Objects.equals(name, registered.getName()))) {
+            this.members.put(number, registered);
+            return registered;
+        }
+
+        member = Member.of(number, name);
+        this.members.putIfAbsent(number, member);
+        return member;
+    }
+
+    /**
+     * 적재할 해야할일의 담당자, 위임자를 공유 인스턴스로 변경
+     * @param profile
+     */
+    private void shareMembers(Profile profile) {
+        profile.setAssignee(this.toMember(profile.getAssignee().getNumber(), profile.getAssignee().getName()));
+        if (null != profile.getReporter()) {
+            profile.setReporter(this.toMember(profile.getReporter().getNumber(), profile.getReporter().getName()));
+        }
+    }
+
+    /**
+     * 해야할일 일괄 추가
+     * 날짜, 담당자 별로 묶어 순차 추가와 같은 중요도, 순서를 계산한 뒤 한번에 게시한다.
+     * 번호는 한번에 예약하고 관련 담당자의 잠금도 한번만 획득한다.
+     * 번호가 지정된 해야할일은 지정된 번호를 사용한다.
+     * @param profileDtos 담당자가 지정된 해야할일
+     * @return 추가한 해야할일(요청 순서)
+     */
+    @Timed(value = TaskMetrics.PROFILE_OPERATION, extraTags = {"operation", "addBatch"}, histogram = true)
+    public List<Profile> addProfiles(List<ProfileDto> profileDtos) {
+        Profile[] result = new Profile[profileDtos.size()];
+        Profile[] resolved = new Profile[profileDtos.size()]; // 요청 순서별 중요도, 순서가 부여된 해야할일
+        if (profileDtos.isEmpty()) {
+            return Arrays.asList(result);
+        }
+
+        // 날짜, 담당자 순으로 정렬(같은 묶음 내에서는 요청 순서 유지)
+        Integer[] order = new Integer[profileDtos.size()];
+        for (int index = 0; index < order.length; index++) {
+            order[index] = index;
+        }
+        Arrays.sort(order, Comparator
+                .comparing((Integer index) -> profileDtos.get(index).getDate())
+                .thenComparingInt(index -> profileDtos.get(index).getAssignee().getNum()));
+
+        int count = (int) profileDtos.stream().filter(profileDto -> 0 == profileDto.getNum()).count();
+        IdRange numbers = (0 < count) ? this.reserveNumbers(count) : null;
+        List<Lock> locks = this.lock(profileDtos.stream().mapToInt(profileDto -> profileDto.getAssignee().getNum()).toArray());
+        try {
+            ProfileStore.Change change = this.store.get().change();
+            int start = 0;
+            while (start < order.length) {
+                ProfileDto first = profileDtos.get(order[start]);
+                ProfileBucket bucket = change.getBucket(first.getDate(), first.getAssignee().getNum());
+
+                // 묶음의 중요도별 다음 순서
+                EnumMap<TaskLevel, Integer> nextSequences = new EnumMap<TaskLevel, Integer>(TaskLevel.class);
+                TaskLevel lastLevel = bucket.isEmpty() ? null : bucket.getLast().getTaskLevel();
+
+                ArrayList<Profile> additions = new ArrayList<Profile>();
+                int end = start;
+                for (; end < order.length; end++) {
+                    ProfileDto profileDto = profileDtos.get(order[end]);
+                    if ((!first.getDate().equals(profileDto.getDate())) || (first.getAssignee().getNum().intValue() != profileDto.getAssignee().getNum().intValue())) {
+                        break;
+                    }
+
+                    // 순차 추가와 동일하게 지정된 중요도(위임은 A)의 최하순위, 지정되지 않으면 최하순위의 중요도로 부여
+                    TaskLevel taskLevel = profileDto.getTaskLevel();
+                    if (ProgressStatus.ASSIGN.equals(profileDto.getStatus())) {
+                        taskLevel = TaskLevel.A;
+                        profileDto.setTaskLevel(taskLevel);
+                    } else if (null == taskLevel) {
+                        taskLevel = (null == lastLevel) ? TaskLevel.B : lastLevel;
+                    }
+                    if ((null == lastLevel) || (lastLevel.getCode() < taskLevel.getCode())) {
+                        lastLevel = taskLevel;
+                    }
+
+                    Integer sequence = nextSequences.get(taskLevel);
+                    if (null == sequence) {
+                        sequence = this.getNextSequence(bucket, taskLevel);
+                    }
+                    nextSequences.put(taskLevel, sequence + 1);
+
+                    int number = (0 == profileDto.getNum()) ? numbers.next() : profileDto.getNum();
+                    resolved[order[end]] = this.newProfile(profileDto, number, taskLevel, sequence);
+                    additions.add(resolved[order[end]]);
+                }
+
+                // 추가하는 해야할일은 동일 중요도의 최하순위이므로 뒤의 해야할일의 순서는 바뀌지 않음
+                additions.sort(Profile.PRIORITY_ORDER);
+                for (Profile profile : additions) {
+                    bucket = bucket.add(bucket.upperBound(profile.getTaskLevel(), profile.getSeq()), profile);
+                    change.locate(profile.getNum(), bucket);
+                }
+                change.putBucket(bucket);
+                start = end;
+            }
+
+            this.record(JournalOperation.ADD_BATCH, out -> this.writeProfiles(out, Arrays.asList(resolved))); // 부여한 중요도, 순서로 기록
+            ProfileStore store = this.publish(change);
+            for (int index = 0; index < result.length; index++) {
+                result[index] = store.getProfile(resolved[index].getNum());
+            }
+        } finally {
+            this.unlock(locks);
         }
+        return Arrays.asList(result);
+    }
 
-        return number;
+    /**
+     * 묶음 내 중요도의 최하순위 다음 순서
+     * @param bucket
+     * @param taskLevel
+     * @return 순서(해당 중요도가 없으면 0)
+     */
+    private int getNextSequence(ProfileBucket bucket, TaskLevel taskLevel) {
+        int index = this.getPriority(bucket, taskLevel, null);
+        if (0 < index) {
+            Profile previous = bucket.get(index - 1);
+            if (taskLevel.equals(previous.getTaskLevel())) {
+                return previous.getSeq() + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * 중요도, 순서가 부여된 해야할일을 추가(변경 로그 재실행용)
+     * 우선순위를 다시 계산하지 않고 추가한 위치에 그대로 넣으며, 뒤의 동일 중요도 해야할일은 추가와 같이 순서가 +1 된다.
+     * @param profile 추가 기록의 해야할일
+     */
+    public void restoreProfile(Profile profile) {
+        this.restoreProfiles(Collections.singletonList(profile), JournalOperation.ADD, out -> ProfileRecords.writeProfile(out, profile));
+    }
+
+    /**
+     * 중요도, 순서가 부여된 해야할일을 한번에 추가(일괄 추가 변경 로그 재실행용)
+     * 일괄 추가와 같이 우선순위 순으로 각 중요도의 최하순위에 추가한다.
+     * @param profiles 일괄 추가 기록의 해야할일(요청 순서)
+     */
+    public void restoreProfiles(List<Profile> profiles) {
+        this.restoreProfiles(profiles, JournalOperation.ADD_BATCH, out -> this.writeProfiles(out, profiles));
+    }
+
+    /**
+     * 중요도, 순서가 부여된 해야할일을 추가하고 기록
+     * @param profiles
+     * @param operation 기록 종류
+     * @param body 기록 내용
+     */
+    private void restoreProfiles(List<Profile> profiles, JournalOperation operation, ProfileJournal.RecordWriter body) {
+        ArrayList<Profile> sorted = new ArrayList<Profile>(profiles);
+        sorted.sort(Profile.PRIORITY_ORDER);
+        for (Profile profile : sorted) {
+            this.shareMembers(profile);
+        }
+
+        List<Lock> locks = this.lock(sorted.stream().mapToInt(profile -> profile.getAssignee().getNumber()).toArray());
+        try {
+            ProfileStore.Change change = this.store.get().change();
+            for (Profile profile : sorted) {
+                ProfileBucket bucket = change.getBucket(profile.getDate(), profile.getAssignee().getNumber());
+                bucket = bucket.add(bucket.lowerBound(profile.getTaskLevel(), profile.getSeq()), profile);
+                change.putBucket(bucket);
+                change.locate(profile.getNum(), bucket);
+            }
+            this.record(operation, body);
+            this.publish(change);
+        } finally {
+            this.unlock(locks);
+        }
+    }
+
+    /**
+     * 해야할일 목록 기록 내용(건수 + 해야할일)
+     * @param out
+     * @param profiles 중요도, 순서가 부여된 해야할일
+     */
+    private void writeProfiles(DataOutput out, List<Profile> profiles) throws IOException {
+        out.writeInt(profiles.size());
+        for (Profile profile : profiles) {
+            ProfileRecords.writeProfile(out, profile);
+        }
+    }
+
+    /**
+     * 우선순위가 부여된 해야할일을 그대로 적재(복구 및 테스트 데이터 입력용)
+     * 중요도, 순서를 변경하지 않고 정렬 기준에 맞는 위치에 추가한다.
+     * 번호는 발급기를 거치지 않으므로 적재한 번호 이후부터 발급하도록 조정한다.
+     * @param profile
+     */
+    public void loadProfile(Profile profile) {
+        this.idGenerator.advanceTo(profile.getNum());
+        this.shareMembers(profile);
+        List<Lock> locks = this.lock(profile.getAssignee().getNumber());
+        try {
+            ProfileStore.Change change = this.store.get().change();
+            this.insertLoaded(change, profile);
+            this.record(JournalOperation.LOAD, out -> ProfileRecords.writeProfile(out, profile));
+            this.publish(change);
+        } finally {
+            this.unlock(locks);
+        }
+    }
+
+    /**
+     * 우선순위가 부여된 해야할일 추가(담당자 잠금을 획득한 상태에서 호출)
+     * @param change 변경 내용
+     * @param profile
+     */
+    private void insertLoaded(ProfileStore.Change change, Profile profile) {
+        ProfileBucket bucket = change.getBucket(profile.getDate(), profile.getAssignee().getNumber());
+        bucket = bucket.load(bucket.upperBound(profile.getTaskLevel(), profile.getSeq()), profile);
+        change.putBucket(bucket);
+        change.locate(profile.getNum(), bucket);
+    }
+
+    /**
+     * 스냅샷의 해야할일을 비어있는 저장소에 적재(스냅샷 복구용)
+     * 우선순위 순으로 기록된 해야할일을 다시 정렬하지 않고, 한번의 순차 탐색으로 묶음과 색인을 아래에서부터 만든 뒤 한번에 게시한다.
+     * 변경 로그를 설정하기 전(복구 중)에만 사용하므로 변경 로그는 기록하지 않는다.
+     * @param profiles 해야할일(우선순위 순)
+     * @param count 해야할일 수
+     * @throws IllegalStateException 저장소가 비어있지 않은 경우
+     * @throws IllegalArgumentException 우선순위 순이 아니거나 번호가 중복된 경우
+     */
+    public void loadSnapshot(Iterator<Profile> profiles, int count) {
+        List<Lock> locks = this.lockAll();
+        try {
+            ProfileStore current = this.store.get();
+            if (0 < current.getSize()) {
+                throw new IllegalStateException("비어있는 저장소에만 스냅샷을 적재할 수 있습니다.");
+            }
+
+            ProfileStore.Builder builder = ProfileStore.builder(count);
+            long lastNumber = 0;
+            while (profiles.hasNext()) {
+                Profile profile = profiles.next();
+                this.shareMembers(profile);
+                builder.add(profile);
+                lastNumber = Math.max(lastNumber, profile.getNum());
+            }
+            this.idGenerator.advanceTo(lastNumber);
+
+            ProfileStore loaded = builder.build(current.getVersion() + 1);
+            this.store.set(loaded);
+            for (Integer assignee : loaded.getAssignees()) {
+                this.bindAssigneeMetrics(assignee);
+            }
+        } finally {
+            this.unlock(locks);
+        }
+    }
+
+    /**
+     * 전체 해야할일 삭제
+     * 진행중인 담당자별 변경이 모두 끝난 후 단독으로 비어있는 버전을 게시한다.
+     */
+    public void clear() {
+        List<Lock> locks = this.lockAll();
+        try {
+            this.record(JournalOperation.CLEAR, out -> {});
+            ProfileStore current = this.store.get();
+            this.store.set(ProfileStore.empty(current.getVersion() + 1));
+            for (Integer assignee : current.getAssignees()) {
+                this.unbindAssigneeMetrics(assignee);
+            }
+            this.members.clear();
+        } finally {
+            this.unlock(locks);
+        }
     }
 
     /**
      * 해야할일 번호로 데이터 추출
      * @param num
-     * @return 해야할일
+     * @return 해야할일(조회 시점의 값을 복사한 해야할일)
      */
     public Profile getProfile(int num) {
         // 해야할일의 번호는 1부터 부여 함
         if (0 < num) {
-            boolean isExist = false;
-            int index = 0;
-            while (index < this.profiles.size()) {
-                if (num == this.profiles.get(index).getNum()) {
-                    isExist = true; // 번호가 일치하는 해야할일이 있음
-                    break;
-                }
-                index++;
-            }
-    
-            if (isExist) {
-                return this.profiles.get(index);
-            } else {
-                // 번호가 일치하는 해야할일 없음
-                return null;
-            }
+            return this.store.get().getProfile(num); // 번호가 일치하는 해야할일이 없으면 null
         } else {
             return null;
         }
     }
 
+    /**
+     * 전체 해야할일 스냅샷 조회
+     * 마지막으로 게시된 버전의 목록을 잠금 없이 반환한다(버전마다 한번만 생성).
+     * @return 스냅샷
+     */
+    public ProfileSnapshot getSnapshot() {
+        return this.store.get().getSnapshot();
+    }
+
     /**
      * 해야할일 리스트를 반환
+     * 전체 조회의 경우 읽기 전용 스냅샷을 반환한다.
      * @return 리스트
      */
-    public ArrayList<Profile> getProfiles(ProfileDto profileDto) {
+    public List<Profile> getProfiles(ProfileDto profileDto) {
         if (null == profileDto) { // 전체 조회
-            return this.profiles;
-        } else {
-            ArrayList<Profile> result = null;
+            return this.getSnapshot().getProfiles();
+        }
 
-            if (null != profileDto.getDate()) { // 특정 날짜에 해당하는 해야할일 조회
-                result = (ArrayList<Profile>) this.profiles.stream()
-                        .filter(profile -> profileDto.getDate().equals(profile.getDate()))
-                        .collect(Collectors.toList());
+        if ((null == profileDto.getDate()) && (null == profileDto.getAssignee())) {
+            return null;
+        }
+
+        // 특정 날짜, 특정 담당자 조건은 하루, 한명의 범위 조회와 동일
+        ProfileSearchDto search = new ProfileSearchDto(profileDto.getDate(), profileDto.getDate(), null);
+        if (null != profileDto.getAssignee()) {
+            search.setAssignees(Collections.singletonList(profileDto.getAssignee().getNum()));
+        }
+        return this.searchProfiles(search);
+    }
+
+    /**
+     * 날짜 범위, 담당자 목록에 해당하는 해야할일을 우선순위 순으로 조회
+     * @param search 조회 조건
+     * @return 리스트(조회 시점 버전의 읽기 전용 목록)
+     */
+    public List<Profile> searchProfiles(ProfileSearchDto search) {
+        if ((null != search.getFrom()) && (null != search.getTo()) && (search.getFrom().isAfter(search.getTo()))) {
+            return new ArrayList<Profile>(); // 잘못된 범위
+        }
+        return new ProfileList(this.findBuckets(this.store.get(), search.getFrom(), search.getTo(), search.getAssignees()));
+    }
+
+    /**
+     * 날짜 범위, 담당자 목록에 해당하는 묶음
+     * @param store 조회할 버전
+     * @param from 시작 날짜(포함, null이면 제한 없음)
+     * @param to 종료 날짜(포함, null이면 제한 없음)
+     * @param assignees 담당자 번호(null 또는 비어있으면 전체)
+     * @return 날짜, 담당자 순 묶음
+     */
+    private List<ProfileBucket> findBuckets(ProfileStore store, LocalDate from, LocalDate to, List<Integer> assignees) {
+        ArrayList<ProfileBucket> buckets = new ArrayList<ProfileBucket>();
+        if ((null == assignees) || (assignees.isEmpty())) {
+            // 날짜 색인에서 범위에 해당하는 묶음 추출
+            store.forEachBucket(from, to, buckets::add);
+        } else {
+            // 담당자 색인에서 담당자별로 범위에 해당하는 묶음 추출 후 날짜, 담당자 순으로 정렬
+            int[] numbers = assignees.stream().mapToInt(Integer::intValue).distinct().toArray();
+            for (int assignee : numbers) {
+                store.forEachBucket(assignee, from, to, buckets::add);
+            }
+            if (1 < numbers.length) {
+                buckets.sort(ProfileBucket.BUCKET_ORDER);
             }
+        }
+        return buckets;
+    }
 
-            if (null != profileDto.getAssignee()) {
-                // 특정 담당자에 해당하는 해야할일 조회
-                if (null != result) {
-                    // 특정 날짜조건도 있을 경우 상단 블럭(if)에 해당하여 조회한 결과에 담당자를 필터하여 결과 추출
-                    result = (ArrayList<Profile>) result.stream()
-                            .filter(profile -> profileDto.getAssignee().getNum() == profile.getAssignee().getNumber())
-                            .collect(Collectors.toList());
-                } else {
-                    result = (ArrayList<Profile>) this.profiles.stream()
-                            .filter(profile -> profileDto.getAssignee().getNum() == profile.getAssignee().getNumber())
-                            .collect(Collectors.toList());
+    /**
+     * 조회 조건에 해당하는 해야할일을 커서 다음부터 limit 건 조회
+     * 커서 위치는 날짜, 담당자 색인과 묶음 내 트리 탐색으로 찾는다.
+     * @param search 조회 조건
+     * @param cursor 이전 페이지 커서(null이면 처음부터)
+     * @param limit 최대 건수
+     * @return 페이지
+     */
+    public ProfilePageDto getProfilePage(ProfileSearchDto search, ProfileCursor cursor, int limit) {
+        // 다음 페이지 여부 확인을 위해 한 건 더 조회
+        ArrayList<Profile> result = new ArrayList<Profile>(limit + 1);
+        this.visitProfiles(search, cursor, profile -> {
+            result.add(profile);
+            return result.size() <= limit;
+        });
+
+        if (limit < result.size()) {
+            result.remove(limit);
+            return new ProfilePageDto(result, ProfileCursor.of(result.get(limit - 1)).encode());
+        }
+        return new ProfilePageDto(result, null);
+    }
+
+    /**
+     * 조회 조건에 해당하는 해야할일을 우선순위 순으로 하나씩 전달
+     * 결과 목록을 만들지 않으므로 조회 건수와 무관하게 메모리 사용량이 일정하다.
+     * @param search 조회 조건
+     * @param action 해야할일 처리
+     */
+    public void forEachProfile(ProfileSearchDto search, Consumer<Profile> action) {
+        this.visitProfiles(search, null, profile -> {
+            action.accept(profile);
+            return true;
+        });
+    }
+
+    /**
+     * 조회 조건에 해당하는 해야할일을 커서 다음부터 우선순위 순으로 방문
+     * 조회 시작 시점에 게시된 버전 하나를 사용하며, 커서 위치는 날짜, 담당자 색인과 묶음 내 트리 탐색으로 찾는다.
+     * @param search 조회 조건
+     * @param cursor 커서(null이면 처음부터)
+     * @param visitor 해야할일 처리(false를 반환하면 중단)
+     */
+    private void visitProfiles(ProfileSearchDto search, ProfileCursor cursor, Predicate<Profile> visitor) {
+        LocalDate from = search.getFrom();
+        if ((null != cursor) && ((null == from) || (cursor.getDate().isAfter(from)))) {
+            from = cursor.getDate();
+        }
+        if ((null != from) && (null != search.getTo()) && (from.isAfter(search.getTo()))) {
+            return; // 잘못된 범위
+        }
+
+        ProfileStore store = this.store.get();
+        if ((null == search.getAssignees()) || (search.getAssignees().isEmpty())) {
+            store.forEachBucket(from, search.getTo(), bucket -> this.visitBucket(bucket, cursor, visitor));
+        } else {
+            for (ProfileBucket bucket : this.findBuckets(store, from, search.getTo(), search.getAssignees())) {
+                if (!this.visitBucket(bucket, cursor, visitor)) {
+                    return;
                 }
             }
+        }
+    }
+
+    /**
+     * 묶음의 해야할일을 커서 다음부터 우선순위 순으로 방문
+     * @param bucket
+     * @param cursor 커서(null이면 처음부터)
+     * @param visitor 해야할일 처리(false를 반환하면 중단)
+     * @return 중단 없이 끝까지 방문했는지 여부
+     */
+    private boolean visitBucket(ProfileBucket bucket, ProfileCursor cursor, Predicate<Profile> visitor) {
+        int index = 0;
+        if (null != cursor) {
+            int order = bucket.getDate().compareTo(cursor.getDate());
+            if (0 == order) {
+                order = Integer.compare(bucket.getAssignee(), cursor.getAssignee());
+            }
+            if (0 > order) {
+                return true; // 커서 이전 묶음
+            } else if (0 == order) {
+                index = this.positionAfter(bucket, cursor);
+            }
+        }
 
-            return result;
+        Iterator<Profile> profiles = bucket.iterator(index);
+        while (profiles.hasNext()) {
+            if (!visitor.test(profiles.next())) {
+                return false;
+            }
         }
+        return true;
+    }
+
+    /**
+     * 커서 다음 해야할일의 인덱스
+     * 우선순위가 같은 해야할일이 여럿이면 번호로 구분한다.
+     * @param bucket 커서의 묶음
+     * @param cursor 커서
+     * @return 인덱스
+     */
+    private int positionAfter(ProfileBucket bucket, ProfileCursor cursor) {
+        int start = bucket.lowerBound(cursor.getTaskLevel(), cursor.getSeq());
+        int end = bucket.upperBound(cursor.getTaskLevel(), cursor.getSeq());
+        int index = bucket.indexOf(cursor.getNum());
+        if ((start <= index) && (index < end)) {
+            return index + 1;
+        }
+        return end;
     }
 
     /**
@@ -294,40 +996,103 @@ public class ProfileService {
      * @param num
      * @return 삭제 결과
      */
-    @Synchronized
+    @Timed(value = TaskMetrics.PROFILE_OPERATION, extraTags = {"operation", "remove"}, histogram = true)
     public boolean removeProfile(int num) {
-        boolean isValid = false; // 일치하는 번호가 위치한 인덱스가 유효한지(찾지못했을 경우 false)
-        int index = 0; // 삭제 할 인덱스
-        for (; index < this.profiles.size(); index++) {
-            if (num == this.profiles.get(index).getNum()) {
-                isValid = true;
-                break;
+        return this.withProfileLock(num, target -> target.getAssignee().getNumber(), target -> {
+            if (null == target) {
+                // 일치하는 번호가 없음
+                return false;
             }
-        }
-        
-        // 해야할일 삭제
-        if (isValid) {
-            Profile target = this.profiles.get(index); // 삭제 대상 해야할일의 중요도
-            this.profiles.remove(index);
-
-            // 삭제 후 인덱스(삭제 시 인덱스 -1)부터 동일 중요도 내 순서 -1
-            while (index < this.profiles.size()) {
-                if (target.getTaskLevel().equals(this.profiles.get(index).getTaskLevel())
-                        && (target.getAssignee().getNumber() == this.profiles.get(index).getAssignee().getNumber())) { // 상단의 taskLevel 변수에 할당한 것과 다른 정보(삭제 됨)
-                    // 동일 중요도의 순서 -1
-                    this.profiles.get(index).minusSequence();
-                } else {
-                    // 중요도가 다르면 종료
-                    break;
-                }
 
-                index++;
+            ProfileStore.Change change = this.store.get().change();
+            this.deleteProfile(change, target);
+            this.record(JournalOperation.REMOVE, out -> out.writeInt(num));
+            this.publish(change);
+            return true;
+        });
+    }
+
+    /**
+     * 해야할일 삭제(담당자 잠금을 획득한 상태에서 호출)
+     * 이후의 동일 중요도 해야할일은 순서가 -1 된다.
+     * @param change 변경 내용
+     * @param target
+     */
+    private void deleteProfile(ProfileStore.Change change, Profile target) {
+        ProfileBucket bucket = change.getBucket(target.getDate(), target.getAssignee().getNumber());
+        int index = bucket.indexOf(target.getNum());
+        this.metrics.recordReorderShift(bucket.size() - index - 1);
+        change.putBucket(bucket.remove(index)); // 비어있는 묶음은 게시할 때 제거
+        change.unlocate(target.getNum());
+    }
+
+    /**
+     * 해야할일의 번호로 일괄 삭제
+     * 관련 담당자의 잠금과 게시는 한번만 한다.
+     * 남은 해야할일의 순서는 앞에서 삭제된 동일 중요도의 수만큼 -1 된다.
+     * @param nums
+     * @return 삭제한 해야할일 수
+     */
+    @Timed(value = TaskMetrics.PROFILE_OPERATION, extraTags = {"operation", "removeBatch"}, histogram = true)
+    public int removeProfiles(Collection<Integer> nums) {
+        return this.withProfilesLock(nums, targets -> {
+            ProfileStore.Change change = this.store.get().change();
+            for (Profile target : targets) {
+                this.deleteProfile(change, target);
             }
+            this.recordNums(JournalOperation.REMOVE_BATCH, targets, null);
+            this.publish(change);
+            return targets.size();
+        });
+    }
 
-            return true;
-        }
+    /**
+     * 해야할일의 번호로 상태 일괄 변경
+     * 관련 담당자의 잠금과 게시는 한번만 한다.
+     * @param nums
+     * @param status 변경할 상태
+     * @return 변경한 해야할일
+     */
+    @Timed(value = TaskMetrics.PROFILE_OPERATION, extraTags = {"operation", "statusBatch"}, histogram = true)
+    public List<Profile> updateStatuses(Collection<Integer> nums, ProgressStatus status) {
+        return this.withProfilesLock(nums, targets -> {
+            ProfileStore.Change change = this.store.get().change();
+            for (Profile target : targets) {
+                target.setStatus(status);
+                this.replaceProfile(change, target);
+            }
+            this.recordNums(JournalOperation.STATUS_BATCH, targets, status);
+            this.publish(change);
+            return targets;
+        });
+    }
 
-        return false;
+    /**
+     * 해야할일의 중요도, 순서를 제외한 정보 변경(담당자 잠금을 획득한 상태에서 호출)
+     * @param change 변경 내용
+     * @param profile 변경한 값
+     */
+    private void replaceProfile(ProfileStore.Change change, Profile profile) {
+        ProfileBucket bucket = change.getBucket(profile.getDate(), profile.getAssignee().getNumber());
+        change.putBucket(bucket.replace(bucket.indexOf(profile.getNum()), profile));
+    }
+
+    /**
+     * 일괄 변경 내용 기록(잠금을 획득한 상태에서 호출)
+     * @param operation 기록 종류
+     * @param targets 변경한 해야할일
+     * @param status 변경한 상태(상태 변경만 기록)
+     */
+    private void recordNums(JournalOperation operation, List<Profile> targets, ProgressStatus status) {
+        this.record(operation, out -> {
+            out.writeInt(targets.size());
+            for (Profile target : targets) {
+                out.writeInt(target.getNum());
+            }
+            if (JournalOperation.STATUS_BATCH.equals(operation)) {
+                ProfileRecords.writeStatus(out, status);
+            }
+        });
     }
 
     /**
@@ -335,30 +1100,40 @@ public class ProfileService {
      * @param profileDto
      * @return 결과
      */
+    @Timed(value = TaskMetrics.PROFILE_OPERATION, extraTags = {"operation", "allocate"}, histogram = true)
     public void allocateAssignee(ProfileDto profileDto) {
         if (null != profileDto && 0 != profileDto.getNum() && null != profileDto.getAssignee()) {
-            Profile profile = this.getProfile(profileDto.getNum()); // 해야할일 조회
-            if (null != profile) {
-                this.removeProfile(profileDto.getNum()); // 해야할일 삭제
-                ProfileDto allocateTodo = new ProfileDto();
-                allocateTodo.setNum(profile.getNum()); // 번호는 고유값이므로 변경하지않음
-                allocateTodo.setReporter(new MemberDto(profile.getAssignee().getNumber(), profile.getAssignee().getName())); // 담당자를 위임자로 변경
-                allocateTodo.setAssignee(profileDto.getAssignee()); // 새로운 담당자
-                allocateTodo.setDate(profile.getDate());
-                allocateTodo.setTask(profile.getTask());
-                allocateTodo.setDescription(profile.getDescription());
-                allocateTodo.setStatus(ProgressStatus.ASSIGN); // 위임
-                
-                // 위임취소 시 원상복구를 위한 값 보관
-                HashMap<String, Object> log = new HashMap<>();
-                log.put(Profile.KEY_TASK_LEVEL, profile.getTaskLevel());
-                log.put(Profile.KEY_SEQ, profile.getSeq());
-                allocateTodo.setLog(log);
-                this.addProfile(allocateTodo); // 새로운 담당자의 해야할일로 추가
-            } else {
-                // 해당하는 번호의 해야할일이 없으면 HandledException 발생
-                throw new HandledException(HttpStatus.BAD_REQUEST, ResponseStatus.FAIL02);
-            }
+            // 현재 담당자와 새로운 담당자의 잠금을 함께 획득
+            this.withProfileLock(profileDto.getNum(), target -> profileDto.getAssignee().getNum(), profile -> {
+                if (null != profile) {
+                    ProfileStore.Change change = this.store.get().change();
+                    this.deleteProfile(change, profile); // 해야할일 삭제
+                    ProfileDto allocateTodo = new ProfileDto();
+                    allocateTodo.setNum(profile.getNum()); // 번호는 고유값이므로 변경하지않음
+                    allocateTodo.setReporter(new MemberDto(profile.getAssignee().getNumber(), profile.getAssignee().getName())); // 담당자를 위임자로 변경
+                    allocateTodo.setAssignee(profileDto.getAssignee()); // 새로운 담당자
+                    allocateTodo.setDate(profile.getDate());
+                    allocateTodo.setTask(profile.getTask());
+                    allocateTodo.setDescription(profile.getDescription());
+                    allocateTodo.setStatus(ProgressStatus.ASSIGN); // 위임
+
+                    // 위임취소 시 원상복구를 위한 값 보관
+                    HashMap<String, Object> log = new HashMap<>();
+                    log.put(Profile.KEY_TASK_LEVEL, profile.getTaskLevel());
+                    log.put(Profile.KEY_SEQ, profile.getSeq());
+                    allocateTodo.setLog(log);
+                    this.insertProfile(change, allocateTodo); // 새로운 담당자의 해야할일로 추가
+                    this.record(JournalOperation.ALLOCATE, out -> {
+                        out.writeInt(profile.getNum());
+                        ProfileRecords.writeMember(out, profileDto.getAssignee());
+                    });
+                    this.publish(change);
+                } else {
+                    // 해당하는 번호의 해야할일이 없으면 HandledException 발생
+                    throw new HandledException(HttpStatus.BAD_REQUEST, ResponseStatus.FAIL02);
+                }
+                return null;
+            });
         }
     }
 
@@ -367,108 +1142,136 @@ public class ProfileService {
      * @param todoNum
      * @return 결과
      */
+    @Timed(value = TaskMetrics.PROFILE_OPERATION, extraTags = {"operation", "cancel"}, histogram = true)
     public void cancelAllocatedProfile(int todoNum) {
-        Profile profile = this.getProfile(todoNum); // 해야할일을 조회
-        if (null == profile) {
-            // 해야할지 유무 체크
-            throw new HandledException(HttpStatus.BAD_REQUEST, ResponseStatus.FAIL02);
-        }
-
-        if ((null != profile.getReporter())) { // 위임받은게 맞는지 확인
-            ProfileDto profileDto = new ProfileDto();
-            profileDto.setNum(profile.getNum()); // 번호는 고유값이므로 변경하지않음
-            profileDto.setAssignee(new MemberDto(profile.getReporter().getNumber(), profile.getReporter().getName())); // 위임자를 담당자로 변경
-            profileDto.setDate(profile.getDate());
-            profileDto.setTask(profile.getTask());
-            profileDto.setDescription(profile.getDescription());
-            profileDto.setStatus(ProgressStatus.CANCEL);
-
-            // 위임취소의 경우 이전의 값(중요도, 순서)으로 변경
-            // 내역이 없으면 새로운 우선순위로 변경(중요도와 순서를 부여하지 않음)
-            if (null != profile.getLog()) {
-                profileDto.setTaskLevel((TaskLevel) profile.getLog().get(Profile.KEY_TASK_LEVEL));
-                profileDto.setSeq((int) profile.getLog().get(Profile.KEY_SEQ));
+        // 현재 담당자와 위임자의 잠금을 함께 획득
+        this.withProfileLock(todoNum, target -> (null != target.getReporter()) ? target.getReporter().getNumber() : target.getAssignee().getNumber(), profile -> {
+            if (null == profile) {
+                // 해야할지 유무 체크
+                throw new HandledException(HttpStatus.BAD_REQUEST, ResponseStatus.FAIL02);
             }
 
-            this.removeProfile(profile.getNum()); // 위임받은 해야할일 제거
-            this.addProfile(profileDto);
-        } else {
-            // 번호와 일치하는 해야할일이 없으면 HandledException 발생
-            throw new HandledException(HttpStatus.BAD_REQUEST, ResponseStatus.FAIL03);
-        }
+            if ((null != profile.getReporter())) { // 위임받은게 맞는지 확인
+                ProfileDto profileDto = new ProfileDto();
+                profileDto.setNum(profile.getNum()); // 번호는 고유값이므로 변경하지않음
+                profileDto.setAssignee(new MemberDto(profile.getReporter().getNumber(), profile.getReporter().getName())); // 위임자를 담당자로 변경
+                profileDto.setDate(profile.getDate());
+                profileDto.setTask(profile.getTask());
+                profileDto.setDescription(profile.getDescription());
+                profileDto.setStatus(ProgressStatus.CANCEL);
+
+                // 위임취소의 경우 이전의 값(중요도, 순서)으로 변경
+                // 내역이 없으면 새로운 우선순위로 변경(중요도와 순서를 부여하지 않음)
+                AllocationLog allocationLog = profile.getLog();
+                if (null != allocationLog) {
+                    profileDto.setTaskLevel(allocationLog.getTaskLevel());
+                    profileDto.setSeq((int) allocationLog.getSeq());
+                }
+
+                ProfileStore.Change change = this.store.get().change();
+                this.deleteProfile(change, profile); // 위임받은 해야할일 제거
+                this.insertProfile(change, profileDto);
+                this.record(JournalOperation.CANCEL, out -> out.writeInt(todoNum));
+                this.publish(change);
+            } else {
+                // 번호와 일치하는 해야할일이 없으면 HandledException 발생
+                throw new HandledException(HttpStatus.BAD_REQUEST, ResponseStatus.FAIL03);
+            }
+            return null;
+        });
     }
 
     /**
      * 해야할일 정보(task, description, 중요도, 순서, 상태) 변경
      * @param profileDto
      */
+    @Timed(value = TaskMetrics.PROFILE_OPERATION, extraTags = {"operation", "update"}, histogram = true)
     public void updateProfile(ProfileDto profileDto) {
-        Profile profile = this.getProfile(profileDto.getNum());
-        if (null == profile) {
-            // 일치하는 해야할일이 없으면 HandledException 발생
-            throw new HandledException(HttpStatus.BAD_REQUEST, ResponseStatus.FAIL02);
-        } else {
-            // 우선순위가 변경되는지 확인
-            boolean isUpdate = false;
-            if ((null != profileDto.getTaskLevel()) || (null != profileDto.getSeq())) {
-                // 현재 값과 비교
-                if (!profile.getTaskLevel().equals(profileDto.getTaskLevel())) {
-                    isUpdate = true;
-                }
-                if (!profile.getSeq().equals(profileDto.getSeq())) {
-                    isUpdate = true;
-                }
-            }
-
-            if (!isUpdate) {
-                if ((null != profileDto.getTask()) && (!profile.getTask().equals(profileDto.getTask()))) { // task 변경
-                    profile.setTask(profileDto.getTask());
-                }
-                if ((null != profileDto.getDescription()) && (!profile.getDescription().equals(profileDto.getDescription()))) { // description 변경
-                    profile.setDescription(profileDto.getDescription());
-                }
-                if ((null != profileDto.getStatus()) && (!profile.getStatus().equals(profileDto.getStatus()))) { // 상태 변경
-                    profile.setStatus(profileDto.getStatus());
-                }
+        this.withProfileLock(profileDto.getNum(), target -> target.getAssignee().getNumber(), profile -> {
+            if (null == profile) {
+                // 일치하는 해야할일이 없으면 HandledException 발생
+                throw new HandledException(HttpStatus.BAD_REQUEST, ResponseStatus.FAIL02);
             } else {
-                ProfileDto updateDto = new ProfileDto();
-                updateDto.setNum(profile.getNum());
-                updateDto.setDate(profile.getDate());
-                updateDto.setAssignee(new MemberDto(profile.getAssignee().getNumber(), profile.getAssignee().getName()));
-                // task 변경
-                if (null != profileDto.getTask()) {
-                    updateDto.setTask(profileDto.getTask());
-                } else {
-                    updateDto.setTask(profile.getTask());
-                }
-                // description 변경
-                if (null != profileDto.getDescription()) {
-                    updateDto.setDescription(profileDto.getDescription());
-                } else {
-                    updateDto.setDescription(profile.getDescription());
-                }
-                // 상태 변경
-                if (null != profileDto.getStatus()) {
-                    updateDto.setStatus(profileDto.getStatus());
-                } else {
-                    updateDto.setStatus(profile.getStatus());
-                }
-                // 중요도
-                if (null != profileDto.getTaskLevel()) {
-                    updateDto.setTaskLevel(profileDto.getTaskLevel());
-                } else {
-                    updateDto.setTaskLevel(profile.getTaskLevel());
+                // 우선순위가 변경되는지 확인
+                boolean isUpdate = false;
+                if ((null != profileDto.getTaskLevel()) || (null != profileDto.getSeq())) {
+                    // 현재 값과 비교
+                    if (!profile.getTaskLevel().equals(profileDto.getTaskLevel())) {
+                        isUpdate = true;
+                    }
+                    if (!profile.getSeq().equals(profileDto.getSeq())) {
+                        isUpdate = true;
+                    }
                 }
-                // 순서
-                if (null != profileDto.getSeq()) {
-                    updateDto.setSeq(profileDto.getSeq());
+
+                // 조회한 해야할일은 복사본이므로 변경한 뒤 묶음에 반영
+                ProfileStore.Change change = this.store.get().change();
+                if (!isUpdate) {
+                    if ((null != profileDto.getTask()) && (!profile.getTask().equals(profileDto.getTask()))) { // task 변경
+                        profile.setTask(profileDto.getTask());
+                    }
+                    if ((null != profileDto.getDescription()) && (!profile.getDescription().equals(profileDto.getDescription()))) { // description 변경
+                        profile.setDescription(profileDto.getDescription());
+                    }
+                    if ((null != profileDto.getStatus()) && (!profile.getStatus().equals(profileDto.getStatus()))) { // 상태 변경
+                        profile.setStatus(profileDto.getStatus());
+                    }
+                    this.replaceProfile(change, profile);
                 } else {
-                    updateDto.setSeq(profile.getSeq());
+                    // 기본정보 변경
+                    if (null != profileDto.getTask()) {
+                        profile.setTask(profileDto.getTask());
+                    }
+                    if (null != profileDto.getDescription()) {
+                        profile.setDescription(profileDto.getDescription());
+                    }
+                    if (null != profileDto.getStatus()) {
+                        profile.setStatus(profileDto.getStatus());
+                    }
+
+                    // 묶음 내에서 우선순위만 이동
+                    TaskLevel taskLevel = (null != profileDto.getTaskLevel()) ? profileDto.getTaskLevel() : profile.getTaskLevel();
+                    int sequence = (null != profileDto.getSeq()) ? profileDto.getSeq() : profile.getSeq();
+                    this.moveProfile(change, profile, taskLevel, sequence);
                 }
+                this.record(JournalOperation.UPDATE, out -> ProfileRecords.writeProfileDto(out, profileDto.getNum(), profileDto));
+                this.publish(change);
+            }
+            return null;
+        });
+    }
 
-                this.removeProfile(profile.getNum());
-                this.addProfile(updateDto);
+    /**
+     * 해야할일을 묶음 내에서 이동(담당자 잠금을 획득한 상태에서 호출)
+     * 삭제 후 지정한 중요도, 순서로 추가한 것과 같은 위치로 옮긴다.
+     * @param change 변경 내용
+     * @param target 이동할 해야할일(변경한 값)
+     * @param taskLevel 변경할 중요도
+     * @param sequence 변경할 순서
+     */
+    private void moveProfile(ProfileStore.Change change, Profile target, TaskLevel taskLevel, int sequence) {
+        ProfileBucket bucket = change.getBucket(target.getDate(), target.getAssignee().getNumber());
+        int from = bucket.indexOf(target.getNum());
+
+        // 삭제한 묶음에서 추가 할 위치를 탐색(삭제 시 뒤의 동일 중요도는 순서 -1)
+        ProfileBucket removed = bucket.remove(from);
+        int to = removed.lowerBound(taskLevel, sequence); // 이동 후 인덱스
+
+        // 앞의 해야할일이 동일 중요도이면 다음 순서, 아니면 0
+        int newSequence = 0;
+        if (0 < to) {
+            Profile previous = removed.get(to - 1);
+            if (taskLevel.equals(previous.getTaskLevel())) {
+                newSequence = previous.getSeq() + 1;
             }
         }
+
+        log.debug("[move] from = {} / to = {} / taskLevel = {} / seq = {} / num = {}", from, to, taskLevel.getName(), newSequence, target.getNum());
+        this.metrics.recordReorderShift(Math.abs(from - to));
+        target.setTaskLevel(taskLevel);
+        target.setSeq(newSequence);
+        bucket = removed.add(to, target); // 뒤의 동일 중요도 해야할일은 순서가 +1 됨
+        change.putBucket(bucket);
+        change.locate(target.getNum(), bucket);
     }
 }
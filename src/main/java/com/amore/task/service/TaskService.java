@@ -1,30 +1,47 @@
 package com.amore.task.service;
 
 import com.amore.task.common.HandledException;
+import com.amore.task.common.TaskMetrics;
 import com.amore.task.model.domain.Member;
 import com.amore.task.model.domain.Profile;
 import com.amore.task.model.dto.MemberDto;
+import com.amore.task.model.dto.ProfileCursor;
+import com.amore.task.model.dto.ProfilePageDto;
 import com.amore.task.model.dto.ProfileDto;
+import com.amore.task.model.dto.ProfileSearchDto;
+import com.amore.task.model.enums.ProgressStatus;
 import com.amore.task.model.enums.ResponseStatus;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 public class TaskService {
-    @Autowired
-    MemberService memberService;
+    private final MemberService memberService;
+
+    private final ProfileService profileService;
+
+    /** 처리 지표 */
+    private final TaskMetrics metrics;
 
     @Autowired
-    ProfileService profileService;
+    public TaskService(MemberService memberService, ProfileService profileService, TaskMetrics metrics) {
+        this.memberService = memberService;
+        this.profileService = profileService;
+        this.metrics = metrics;
+    }
 
     /**
      * 작업자 추가
      * @param memberDto
      * @return 결과
      */
+    @Timed(value = TaskMetrics.SERVICE_CALL, extraTags = {"operation", "addMember"}, histogram = true)
     public boolean addMember(MemberDto memberDto) {
         return memberService.addMember(memberDto.getName());
     }
@@ -34,6 +51,7 @@ public class TaskService {
      * @param profileDto
      * @return 추가 한 프로필
      */
+    @Timed(value = TaskMetrics.SERVICE_CALL, extraTags = {"operation", "addProfile"}, histogram = true)
     public Profile addProfile(MemberDto memberDto, ProfileDto profileDto) {
         // 담당자 조회
         Member member = memberService.getMember(memberDto.getNum());
@@ -51,11 +69,34 @@ public class TaskService {
         }
     }
 
+    /**
+     * 프로필 일괄 추가
+     * 담당자는 번호별로 한번만 조회하며, 없는 담당자가 있으면 전체를 추가하지 않는다.
+     * @param memberDtos 담당자(프로필과 같은 순서)
+     * @param profileDtos
+     * @return 추가 한 프로필(요청 순서)
+     */
+    @Timed(value = TaskMetrics.SERVICE_CALL, extraTags = {"operation", "addProfiles"}, histogram = true)
+    public List<Profile> addProfiles(List<MemberDto> memberDtos, List<ProfileDto> profileDtos) {
+        HashMap<Integer, Member> members = new HashMap<>();
+        for (int index = 0; index < profileDtos.size(); index++) {
+            int number = memberDtos.get(index).getNum();
+            Member member = members.computeIfAbsent(number, memberService::getMember);
+            if (null == member) {
+                throw new HandledException(HttpStatus.BAD_REQUEST, ResponseStatus.FAIL04);
+            }
+            profileDtos.get(index).setAssignee(new MemberDto(member.getNumber(), member.getName()));
+        }
+
+        return profileService.addProfiles(profileDtos);
+    }
+
     /**
      * 프로필 정보 변경
      * @param profileDto
      * @return 변경 된 프로필
      */
+    @Timed(value = TaskMetrics.SERVICE_CALL, extraTags = {"operation", "updateProfile"}, histogram = true)
     public Profile updateProfile(ProfileDto profileDto) {
         Profile profile = profileService.getProfile(profileDto.getNum());
         if (null == profile) {
@@ -73,6 +114,7 @@ public class TaskService {
      * @param profileDto
      * @return 위임한 프로필
      */
+    @Timed(value = TaskMetrics.SERVICE_CALL, extraTags = {"operation", "allocateTask"}, histogram = true)
     public Profile allocateTask(MemberDto memberDto, ProfileDto profileDto) {
         Member assignee = memberService.getMember(memberDto.getNum());
         if (null == assignee) {
@@ -94,6 +136,7 @@ public class TaskService {
      * @param profileDto
      * @return 취소 결과
      */
+    @Timed(value = TaskMetrics.SERVICE_CALL, extraTags = {"operation", "cancelAllocation"}, histogram = true)
     public Profile cancelAllocation(ProfileDto profileDto) {
         Profile profile = profileService.getProfile(profileDto.getNum());
         if (null == profile) {
@@ -109,6 +152,7 @@ public class TaskService {
      * @param profileDto
      * @return 삭제 결과
      */
+    @Timed(value = TaskMetrics.SERVICE_CALL, extraTags = {"operation", "deleteProfile"}, histogram = true)
     public boolean deleteProfile(ProfileDto profileDto) {
         Profile profile = profileService.getProfile(profileDto.getNum());
         if (null == profile) {
@@ -118,20 +162,109 @@ public class TaskService {
         return profileService.removeProfile(profile.getNum());
     }
 
+    /**
+     * 프로필 일괄 삭제
+     * 없는 프로필이 있으면 전체를 삭제하지 않는다.
+     * @param nums 프로필 번호
+     * @return 삭제한 프로필 수
+     */
+    @Timed(value = TaskMetrics.SERVICE_CALL, extraTags = {"operation", "deleteProfiles"}, histogram = true)
+    public int deleteProfiles(List<Integer> nums) {
+        this.checkProfiles(nums);
+        return profileService.removeProfiles(nums);
+    }
+
+    /**
+     * 프로필 상태 일괄 변경
+     * 없는 프로필이 있으면 전체를 변경하지 않는다.
+     * @param nums 프로필 번호
+     * @param status 변경할 상태
+     * @return 변경 된 프로필
+     */
+    @Timed(value = TaskMetrics.SERVICE_CALL, extraTags = {"operation", "updateStatuses"}, histogram = true)
+    public List<Profile> updateStatuses(List<Integer> nums, ProgressStatus status) {
+        this.checkProfiles(nums);
+        return profileService.updateStatuses(nums, status);
+    }
+
+    /**
+     * 프로필 존재 여부 확인
+     * @param nums 프로필 번호
+     */
+    private void checkProfiles(List<Integer> nums) {
+        for (int num : nums) {
+            if (null == profileService.getProfile(num)) {
+                throw new HandledException(HttpStatus.BAD_REQUEST, ResponseStatus.FAIL02);
+            }
+        }
+    }
+
     /**
      * 프로필 리스트 조회
      * @param profileDto
      * @return 프로필 리스트
      */
-    public ArrayList<Profile> getProfiles(ProfileDto profileDto) {
+    @Timed(value = TaskMetrics.SERVICE_CALL, extraTags = {"operation", "getProfiles"}, histogram = true)
+    public List<Profile> getProfiles(ProfileDto profileDto) {
         return profileService.getProfiles(profileDto);
     }
 
+    /**
+     * 날짜 범위, 담당자 목록으로 프로필 리스트 조회
+     * @param search
+     * @return 프로필 리스트
+     */
+    @Timed(value = TaskMetrics.SERVICE_CALL, extraTags = {"operation", "searchProfiles"}, histogram = true)
+    public List<Profile> searchProfiles(ProfileSearchDto search) {
+        return profileService.searchProfiles(search);
+    }
+
+    /**
+     * 프로필 리스트 페이지 조회
+     * @param search
+     * @param cursor 이전 페이지 커서
+     * @param limit 최대 건수
+     * @return 페이지
+     */
+    @Timed(value = TaskMetrics.SERVICE_CALL, extraTags = {"operation", "getProfilePage"}, histogram = true)
+    public ProfilePageDto getProfilePage(ProfileSearchDto search, ProfileCursor cursor, int limit) {
+        return profileService.getProfilePage(search, cursor, limit);
+    }
+
+    /**
+     * 프로필 리스트를 우선순위 순으로 하나씩 처리
+     * 처리 시간에는 프로필 처리(응답 전송) 시간을 제외한 조회 시간만 기록한다.
+     * @param search
+     * @param action 프로필 처리
+     */
+    public void forEachProfile(ProfileSearchDto search, Consumer<Profile> action) {
+        long[] actionNanos = new long[1]; // 프로필 처리 시간의 합
+        Throwable exception = null;
+        long start = System.nanoTime();
+        try {
+            profileService.forEachProfile(search, profile -> {
+                long actionStart = System.nanoTime();
+                try {
+                    action.accept(profile);
+                } finally {
+                    actionNanos[0] += System.nanoTime() - actionStart;
+                }
+            });
+        } catch (RuntimeException | Error e) {
+            exception = e;
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start - actionNanos[0];
+            this.metrics.record(TaskMetrics.SERVICE_CALL, TaskService.class, "forEachProfile", elapsed, exception);
+        }
+    }
+
     /**
      * 프로필 조회
      * @param num
      * @return 프로필
      */
+    @Timed(value = TaskMetrics.SERVICE_CALL, extraTags = {"operation", "getProfile"}, histogram = true)
     public Profile getProfile(int num) {
         return profileService.getProfile(num);
     }
@@ -0,0 +1,66 @@
+package com.amore.task.common;
+
+import com.amore.task.model.enums.ResponseStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.WebExceptionHandler;
+import reactor.core.publisher.Mono;
+
+import java.io.UncheckedIOException;
+
+/**
+ * WebFlux 요청 처리(spring.main.web-application-type=reactive 인 경우 사용)
+ * Tomcat 라이브러리가 함께 있으면 Tomcat이 선택되므로 Netty 서버를 직접 지정한다.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveWebConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * 처리할 경로가 없는 경우 등 컨트롤러 밖에서 발생한 요청 오류 응답(ErrorController와 같은 응답)
+     * 기본 에러 응답(Order -1)보다 먼저 처리한다.
+     * @param objectMapper
+     * @return 에러 응답 처리
+     */
+    @Bean
+    @Order(-2)
+    public WebExceptionHandler responseStatusExceptionHandler(ObjectMapper objectMapper) {
+        return (exchange, throwable) -> {
+            ServerHttpResponse response = exchange.getResponse();
+            if ((!(throwable instanceof ResponseStatusException)) || (response.isCommitted())) {
+                return Mono.error(throwable);
+            }
+
+            ResponseStatusException e = (ResponseStatusException) throwable;
+            log.error("ResponseStatusException:: {} - {}", e.getClass(), e.getMessage());
+            String desc = (HttpStatus.NOT_FOUND == e.getStatus()) ? "페이지를 찾을 수 없습니다." : e.getReason();
+            ResponseMessage message = new ResponseMessage(ResponseStatus.FAIL.getCode(), desc, "");
+
+            response.setStatusCode(e.getStatus());
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return response.writeWith(Mono.fromSupplier(() -> {
+                try {
+                    return response.bufferFactory().wrap(objectMapper.writeValueAsBytes(message));
+                } catch (JsonProcessingException jsonProcessingException) {
+                    throw new UncheckedIOException(jsonProcessingException);
+                }
+            }));
+        };
+    }
+}
@@ -0,0 +1,55 @@
+package com.amore.task.controller;
+
+import com.amore.task.common.HandledException;
+import com.amore.task.common.ResponseMessage;
+import com.amore.task.model.enums.ResponseStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ServerWebInputException;
+
+/**
+ * WebFlux 에러처리(ErrorController와 같은 응답)
+ * 처리할 경로가 없는 경우(404)는 ReactiveWebConfig에서 처리한다.
+ */
+@Slf4j
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveErrorController {
+
+    /** 의도적으로 발생시킨 Exception */
+    @ExceptionHandler(HandledException.class)
+    public ResponseEntity<ResponseMessage> exceptionHandler(HandledException e) {
+        log.error("HandledException:: {} - {}", e.getClass(), e.getMessage());
+        if (log.isDebugEnabled()) {
+            e.printStackTrace();
+        }
+        return new ResponseEntity<ResponseMessage>(
+                new ResponseMessage(e.getResponseStatus().getCode(), e.getResponseStatus().getMessage(), ""), e.getHttpStatus());
+    }
+
+    /** 요청 본문, 파라미터를 읽을 수 없음(JSON 형식 또는 타입 오류) */
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ResponseMessage> exceptionHandler(ServerWebInputException e) {
+        log.error("ServerWebInputException:: {} - {}", e.getClass(), e.getMessage());
+        if (log.isDebugEnabled()) {
+            e.printStackTrace();
+        }
+        return new ResponseEntity<ResponseMessage>(
+                new ResponseMessage(ResponseStatus.BAD_REQUEST10.getCode(), ResponseStatus.BAD_REQUEST10.getMessage(), ""), HttpStatus.BAD_REQUEST);
+    }
+
+    /** 그 외 Exception */
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ResponseMessage> exceptionHandler(Exception e) {
+        log.error("Exception:: {} - {}", e.getClass(), e.getMessage());
+        if (log.isDebugEnabled()) {
+            e.printStackTrace();
+        }
+        return new ResponseEntity<ResponseMessage>(
+                new ResponseMessage(ResponseStatus.FAIL.getCode(), e.getMessage(), ""), HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+}
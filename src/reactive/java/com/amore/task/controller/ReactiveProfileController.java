@@ -0,0 +1,298 @@
+package com.amore.task.controller;
+
+import com.amore.task.common.HandledException;
+import com.amore.task.common.RequestValidator;
+import com.amore.task.common.ResponseMessage;
+import com.amore.task.model.domain.Profile;
+import com.amore.task.model.dto.AddProfileRequestDto;
+import com.amore.task.model.dto.AllocateProfileRequestDto;
+import com.amore.task.model.dto.MemberDto;
+import com.amore.task.model.dto.ProfileDto;
+import com.amore.task.model.dto.ProfileNumRequestDto;
+import com.amore.task.model.dto.ProfileNumsRequestDto;
+import com.amore.task.model.dto.ProfileSearchDto;
+import com.amore.task.model.dto.UpdateProfileRequestDto;
+import com.amore.task.model.enums.ProgressStatus;
+import com.amore.task.model.enums.ResponseStatus;
+import com.amore.task.service.ReactiveTaskService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 프로필 API(WebFlux, spring.main.web-application-type=reactive 인 경우 사용)
+ * ProfileController와 같은 경로, 같은 응답 형식으로 처리한다.
+ * 파라미터 검증은 요청 스레드에서 바로 처리하고 서비스 처리 결과만 비동기로 응답한다.
+ */
+@Slf4j
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveProfileController {
+    /** 일괄 처리 최대 건수 */
+    private static final int MAX_BATCH_SIZE = 10000;
+
+    /** 페이지 조회 기본 건수 */
+    private static final int DEFAULT_PAGE_LIMIT = 100;
+
+    /** 페이지 조회 최대 건수 */
+    private static final int MAX_PAGE_LIMIT = 1000;
+
+    @Autowired
+    ReactiveTaskService reactiveTaskService;
+
+    /**
+     * 성공 응답 변환(결과가 없으면 result는 null)
+     * @param result 처리 결과
+     * @return 응답
+     */
+    private Mono<ResponseEntity<ResponseMessage>> ok(Mono<?> result) {
+        return result.map(this::success)
+                .switchIfEmpty(Mono.fromSupplier(() -> this.success(null)));
+    }
+
+    private ResponseEntity<ResponseMessage> success(Object result) {
+        ResponseMessage message = new ResponseMessage();
+        message.setStatus(ResponseStatus.SUCCESS.getCode());
+        message.setResult(result);
+        message.setDesc("");
+        return new ResponseEntity<>(message, HttpStatus.OK);
+    }
+
+    /**
+     * 프로필 추가
+     * @param request
+     * @return ResponseEntity
+     */
+    @PostMapping(value = "/profile", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<ResponseMessage>> handleAddProfile(@RequestBody AddProfileRequestDto request) {
+        // 필수 파라미터 체크
+        ProfileDto profileDto = request.toProfileDto();
+        MemberDto memberDto = request.toMemberDto();
+
+        if (log.isDebugEnabled()) {
+            log.debug("date : {}", request.getDate());
+            log.debug("assignee : {}", request.getAssignee());
+            log.debug("task : {}", request.getTask());
+            log.debug("description : {}", request.getDescription());
+        }
+
+        return this.ok(reactiveTaskService.addProfile(memberDto, profileDto));
+    }
+
+    /**
+     * 프로필 일괄 추가
+     * 전체 요청을 검증한 뒤 한번에 추가한다.
+     * @param requests
+     * @return ResponseEntity
+     */
+    @PostMapping(value = "/profiles/batch", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<ResponseMessage>> handleAddProfiles(@RequestBody List<AddProfileRequestDto> requests) {
+        if ((null == requests) || (requests.isEmpty()) || (MAX_BATCH_SIZE < requests.size())) {
+            throw new HandledException(HttpStatus.BAD_REQUEST, ResponseStatus.BAD_REQUEST11);
+        }
+
+        // 필수 파라미터 체크
+        List<ProfileDto> profileDtos = new ArrayList<>(requests.size());
+        List<MemberDto> memberDtos = new ArrayList<>(requests.size());
+        for (AddProfileRequestDto request : requests) {
+            if (null == request) {
+                throw new HandledException(HttpStatus.BAD_REQUEST, ResponseStatus.BAD_REQUEST10);
+            }
+            profileDtos.add(request.toProfileDto());
+            memberDtos.add(request.toMemberDto());
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("batch size : {}", requests.size());
+        }
+
+        return this.ok(reactiveTaskService.addProfiles(memberDtos, profileDtos));
+    }
+
+    /**
+     * 프로필 리스트 조회
+     * date가 있으면 해당 날짜만, 없으면 from ~ to 범위를 조회한다.
+     * @param date
+     * @param from 시작 날짜(포함)
+     * @param to 종료 날짜(포함)
+     * @param assignees 담당자 번호(여러명 지정 가능)
+     * @param limit 페이지 건수(limit 또는 cursor가 있으면 페이지 조회)
+     * @param cursor 이전 페이지 응답의 커서
+     * @return ResponseEntity
+     */
+    @GetMapping(value = "/profiles", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<ResponseMessage>> handleGetProfiles(
+            @RequestParam(value = "date", required = false, defaultValue = "") String date,
+            @RequestParam(value = "from", required = false, defaultValue = "") String from,
+            @RequestParam(value = "to", required = false, defaultValue = "") String to,
+            @RequestParam(value = "assignee", required = false) List<Integer> assignees, // null허용
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "cursor", required = false, defaultValue = "") String cursor
+    ) {
+        if (log.isDebugEnabled()) {
+            log.debug("date : {}", date);
+            log.debug("from : {} / to : {}", from, to);
+            log.debug("assignee : {}", assignees);
+            log.debug("limit : {} / cursor : {}", limit, cursor);
+        }
+
+        // 필수 파라미터 없음
+        ProfileSearchDto search = RequestValidator.toSearch(date, from, to, assignees);
+
+        if ((null != limit) || (!"".equals(cursor))) {
+            // 페이지 조회
+            if ((null != limit) && ((1 > limit) || (MAX_PAGE_LIMIT < limit))) {
+                throw new HandledException(HttpStatus.BAD_REQUEST, ResponseStatus.BAD_REQUEST09);
+            }
+            return this.ok(reactiveTaskService.getProfilePage(search
+                    , RequestValidator.parseCursor(cursor)
+                    , (null == limit) ? DEFAULT_PAGE_LIMIT : limit));
+        } else if ((null == search.getFrom()) && (null == search.getTo()) && (search.getAssignees().isEmpty())) {
+            // 조건이 입력되지 않으면 파라미터는 null로 넘김
+            return this.ok(reactiveTaskService.getProfiles(null));
+        }
+        return this.ok(reactiveTaskService.searchProfiles(search));
+    }
+
+    /**
+     * 프로필 리스트 스트리밍 조회(NDJSON)
+     * 클라이언트가 읽는 속도에 맞춰 페이지 단위로 조회하여 한 줄에 프로필 하나씩 응답한다.
+     * @param date
+     * @param from 시작 날짜(포함)
+     * @param to 종료 날짜(포함)
+     * @param assignees 담당자 번호(여러명 지정 가능)
+     * @return 프로필
+     */
+    @GetMapping(value = "/profiles/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Profile> handleStreamProfiles(
+            @RequestParam(value = "date", required = false, defaultValue = "") String date,
+            @RequestParam(value = "from", required = false, defaultValue = "") String from,
+            @RequestParam(value = "to", required = false, defaultValue = "") String to,
+            @RequestParam(value = "assignee", required = false) List<Integer> assignees // null허용
+    ) {
+        if (log.isDebugEnabled()) {
+            log.debug("date : {}", date);
+            log.debug("from : {} / to : {}", from, to);
+            log.debug("assignee : {}", assignees);
+        }
+
+        // 파라미터 오류는 응답을 쓰기 전에 처리
+        ProfileSearchDto search = RequestValidator.toSearch(date, from, to, assignees);
+
+        return reactiveTaskService.streamProfiles(search);
+    }
+
+    /**
+     * 다른 담당자에게 프로필 위임
+     * @param request
+     * @return ResponseEntity
+     */
+    @PutMapping(value = "/profile/assignee", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<ResponseMessage>> handleAllocatedAssignee(@RequestBody AllocateProfileRequestDto request) {
+        // 필수 파라미터 체크
+        ProfileDto profileDto = request.toProfileDto();
+        MemberDto memberDto = request.toMemberDto();
+
+        if (log.isDebugEnabled()) {
+            log.debug("profile : {}", request.getProfile());
+            log.debug("assignee : {}", request.getAssignee());
+        }
+
+        return this.ok(reactiveTaskService.allocateTask(memberDto, profileDto));
+    }
+
+    /**
+     * 프로필 위임취소
+     * @param request
+     * @return ResponseEntity
+     */
+    @DeleteMapping(value = "/profile/assignee", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<ResponseMessage>> handleCancelAllocatedProfile(@RequestBody ProfileNumRequestDto request) {
+        // 필수 파라미터 체크
+        ProfileDto profileDto = request.toProfileDto();
+
+        if (log.isDebugEnabled()) {
+            log.debug("profile : {}", request.getProfile());
+        }
+
+        return this.ok(reactiveTaskService.cancelAllocation(profileDto));
+    }
+
+    /**
+     * 프로필 삭제
+     * @param request
+     * @return ResponseEntity
+     */
+    @DeleteMapping(value = "/profile", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<ResponseMessage>> handleDeleteProfile(@RequestBody ProfileNumRequestDto request) {
+        // 필수 파라미터 체크
+        ProfileDto profileDto = request.toProfileDto();
+
+        if (log.isDebugEnabled()) {
+            log.debug("profile : {}", request.getProfile());
+        }
+
+        return this.ok(reactiveTaskService.deleteProfile(profileDto));
+    }
+
+    /**
+     * 프로필 일괄 삭제
+     * @param request
+     * @return ResponseEntity
+     */
+    @DeleteMapping(value = "/profiles/batch", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<ResponseMessage>> handleDeleteProfiles(@RequestBody ProfileNumsRequestDto request) {
+        // 필수 파라미터 체크
+        List<Integer> nums = request.toNums(MAX_BATCH_SIZE);
+
+        if (log.isDebugEnabled()) {
+            log.debug("profiles : {}", nums);
+        }
+
+        return this.ok(reactiveTaskService.deleteProfiles(nums));
+    }
+
+    /**
+     * 프로필 상태 일괄 변경
+     * @param request
+     * @return ResponseEntity
+     */
+    @PutMapping(value = "/profiles/batch/status", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<ResponseMessage>> handleUpdateStatuses(@RequestBody ProfileNumsRequestDto request) {
+        // 필수 파라미터 체크
+        List<Integer> nums = request.toNums(MAX_BATCH_SIZE);
+        ProgressStatus status = request.toStatus();
+
+        if (log.isDebugEnabled()) {
+            log.debug("profiles : {} / status : {}", nums, status);
+        }
+
+        return this.ok(reactiveTaskService.updateStatuses(nums, status));
+    }
+
+    /**
+     * 프로필 정보 변경
+     * @param request
+     * @return ResponseEntity
+     */
+    @PutMapping(value = "/profile", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<ResponseMessage>> handleUpdateProfile(@RequestBody UpdateProfileRequestDto request) {
+        // 파라미터 체크
+        ProfileDto profileDto = request.toProfileDto();
+
+        // 요청 값이 유효하면 변경
+        if (request.hasChanges()) {
+            return this.ok(reactiveTaskService.updateProfile(profileDto)); // 변경 후 조회
+        }
+        return this.ok(reactiveTaskService.getProfile(profileDto.getNum())); // 변경하지 않은 프로필 조회
+    }
+}
@@ -0,0 +1,174 @@
+package com.amore.task.service;
+
+import com.amore.task.model.domain.Profile;
+import com.amore.task.model.dto.MemberDto;
+import com.amore.task.model.dto.ProfileCursor;
+import com.amore.task.model.dto.ProfileDto;
+import com.amore.task.model.dto.ProfilePageDto;
+import com.amore.task.model.dto.ProfileSearchDto;
+import com.amore.task.model.enums.ProgressStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * TaskService의 논블로킹 처리(WebFlux 사용 시)
+ * 변경 기능은 담당자 잠금 대기, 변경 로그 기록으로 블로킹될 수 있으므로 이벤트 루프가 아닌 boundedElastic 스케줄러에서 처리한다.
+ * 조회 기능은 잠금 없이 메모리에서 바로 조회하므로 구독한 스레드에서 처리한다.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTaskService {
+    /** 스트리밍 조회 시 한번에 조회하는 건수 */
+    private static final int STREAM_PAGE_SIZE = 256;
+
+    @Autowired
+    TaskService taskService;
+
+    /** 변경 기능 처리 스케줄러 */
+    private final Scheduler scheduler = Schedulers.boundedElastic();
+
+    /**
+     * 블로킹될 수 있는 작업을 변경 처리 스케줄러에서 실행
+     * @param task 작업
+     * @return 작업 결과
+     */
+    private <T> Mono<T> blocking(Callable<T> task) {
+        return Mono.fromCallable(task).subscribeOn(this.scheduler);
+    }
+
+    /**
+     * 프로필 추가
+     * @param memberDto
+     * @param profileDto
+     * @return 추가된 프로필
+     */
+    public Mono<Profile> addProfile(MemberDto memberDto, ProfileDto profileDto) {
+        return this.blocking(() -> taskService.addProfile(memberDto, profileDto));
+    }
+
+    /**
+     * 프로필 일괄 추가
+     * @param memberDtos
+     * @param profileDtos
+     * @return 추가된 프로필 리스트(요청 순서)
+     */
+    public Mono<List<Profile>> addProfiles(List<MemberDto> memberDtos, List<ProfileDto> profileDtos) {
+        return this.blocking(() -> taskService.addProfiles(memberDtos, profileDtos));
+    }
+
+    /**
+     * 프로필 정보 변경
+     * @param profileDto
+     * @return 변경된 프로필
+     */
+    public Mono<Profile> updateProfile(ProfileDto profileDto) {
+        return this.blocking(() -> taskService.updateProfile(profileDto));
+    }
+
+    /**
+     * 다른 담당자에게 프로필 위임
+     * @param memberDto
+     * @param profileDto
+     * @return 위임된 프로필
+     */
+    public Mono<Profile> allocateTask(MemberDto memberDto, ProfileDto profileDto) {
+        return this.blocking(() -> taskService.allocateTask(memberDto, profileDto));
+    }
+
+    /**
+     * 프로필 위임취소
+     * @param profileDto
+     * @return 위임취소된 프로필
+     */
+    public Mono<Profile> cancelAllocation(ProfileDto profileDto) {
+        return this.blocking(() -> taskService.cancelAllocation(profileDto));
+    }
+
+    /**
+     * 프로필 삭제
+     * @param profileDto
+     * @return 삭제 여부
+     */
+    public Mono<Boolean> deleteProfile(ProfileDto profileDto) {
+        return this.blocking(() -> taskService.deleteProfile(profileDto));
+    }
+
+    /**
+     * 프로필 일괄 삭제
+     * @param nums
+     * @return 삭제 건수
+     */
+    public Mono<Integer> deleteProfiles(List<Integer> nums) {
+        return this.blocking(() -> taskService.deleteProfiles(nums));
+    }
+
+    /**
+     * 프로필 상태 일괄 변경
+     * @param nums
+     * @param status
+     * @return 변경된 프로필 리스트
+     */
+    public Mono<List<Profile>> updateStatuses(List<Integer> nums, ProgressStatus status) {
+        return this.blocking(() -> taskService.updateStatuses(nums, status));
+    }
+
+    /**
+     * 프로필 리스트 조회
+     * @param profileDto
+     * @return 프로필 리스트
+     */
+    public Mono<List<Profile>> getProfiles(ProfileDto profileDto) {
+        return Mono.fromSupplier(() -> taskService.getProfiles(profileDto));
+    }
+
+    /**
+     * 날짜 범위, 담당자 목록으로 프로필 리스트 조회
+     * @param search
+     * @return 프로필 리스트
+     */
+    public Mono<List<Profile>> searchProfiles(ProfileSearchDto search) {
+        return Mono.fromSupplier(() -> taskService.searchProfiles(search));
+    }
+
+    /**
+     * 프로필 리스트 페이지 조회
+     * @param search
+     * @param cursor 이전 페이지 커서
+     * @param limit 최대 건수
+     * @return 페이지
+     */
+    public Mono<ProfilePageDto> getProfilePage(ProfileSearchDto search, ProfileCursor cursor, int limit) {
+        return Mono.fromSupplier(() -> taskService.getProfilePage(search, cursor, limit));
+    }
+
+    /**
+     * 프로필 리스트 스트리밍 조회
+     * 전체를 모으지 않고 구독자가 요청한 만큼 커서로 다음 페이지를 조회한다(배압).
+     * @param search
+     * @return 프로필(우선순위 순)
+     */
+    public Flux<Profile> streamProfiles(ProfileSearchDto search) {
+        return this.getProfilePage(search, null, STREAM_PAGE_SIZE)
+                .expand(page -> (null == page.getCursor())
+                        ? Mono.empty()
+                        : this.getProfilePage(search, ProfileCursor.decode(page.getCursor()), STREAM_PAGE_SIZE))
+                .concatMapIterable(ProfilePageDto::getProfiles);
+    }
+
+    /**
+     * 프로필 조회
+     * @param num
+     * @return 프로필(없으면 empty)
+     */
+    public Mono<Profile> getProfile(int num) {
+        return Mono.fromSupplier(() -> taskService.getProfile(num));
+    }
+}
@@ -0,0 +1,147 @@
+package com.amore.task.controller;
+
+import com.amore.task.model.domain.Member;
+import com.amore.task.model.domain.Profile;
+import com.amore.task.model.dto.ProfileCursor;
+import com.amore.task.model.dto.ProfilePageDto;
+import com.amore.task.model.dto.ProfileSearchDto;
+import com.amore.task.model.enums.ProgressStatus;
+import com.amore.task.model.enums.ResponseStatus;
+import com.amore.task.model.enums.TaskLevel;
+import com.amore.task.service.ReactiveTaskService;
+import com.amore.task.service.TaskService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = "spring.main.web-application-type=reactive")
+@AutoConfigureWebTestClient
+public class ReactiveProfileControllerTest {
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ReactiveTaskService reactiveTaskService;
+
+    @MockBean
+    private TaskService taskService;
+
+    /**
+     * 프로필 추가 API 테스트(ProfileController와 같은 응답)
+     * @throws Exception
+     */
+    @DisplayName("WebFlux 프로필 추가 API")
+    @Test
+    public void handleAddProfileTest() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode resultNode = null;
+        HashMap<String, Object> paramBody = new HashMap<>();
+
+        // 필수 파라미터 체크 - 날짜
+        resultNode = mapper.readTree(webTestClient.post().uri("/profile")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(mapper.writeValueAsString(paramBody))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).returnResult().getResponseBody());
+        assertThat(resultNode.get("status").asText()).isEqualTo(ResponseStatus.BAD_REQUEST04.getCode());
+
+        paramBody.put("date", LocalDate.of(2022, 6, 1).toString());
+        paramBody.put("assignee", 0);
+        paramBody.put("task", "업무명 입력");
+        when(taskService.addProfile(any(), any())).thenReturn(
+                Profile.of(1, LocalDate.of(2022, 6, 1), Member.of(0, "김희정"), TaskLevel.A, 0, "업무명 입력", ProgressStatus.OPEN, ""));
+
+        // 필수 파라미터 누락 없음 - 정상OK
+        resultNode = mapper.readTree(webTestClient.post().uri("/profile")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(mapper.writeValueAsString(paramBody))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).returnResult().getResponseBody());
+        assertThat(resultNode.get("status").asText()).isEqualTo(ResponseStatus.SUCCESS.getCode());
+        assertThat(resultNode.get("result").get("num").asInt()).isEqualTo(1);
+
+        // JSON 형식 오류
+        resultNode = mapper.readTree(webTestClient.post().uri("/profile")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"date\":")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).returnResult().getResponseBody());
+        assertThat(resultNode.get("status").asText()).isEqualTo(ResponseStatus.BAD_REQUEST10.getCode());
+
+        // 없는 경로
+        resultNode = mapper.readTree(webTestClient.get().uri("/profile/unknown")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody(String.class).returnResult().getResponseBody());
+        assertThat(resultNode.get("status").asText()).isEqualTo(ResponseStatus.FAIL.getCode());
+    }
+
+    /**
+     * 프로필 리스트 스트리밍 조회 API 테스트
+     * 페이지를 차례로 조회하여 한 줄에 프로필 하나씩 응답한다.
+     * @throws Exception
+     */
+    @DisplayName("WebFlux 프로필 리스트 스트리밍 조회 API")
+    @Test
+    public void handleStreamProfilesTest() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        Profile first = Profile.of(1, LocalDate.of(2022, 5, 1), Member.of(0, "김희정"), TaskLevel.A, 0, "task1", ProgressStatus.OPEN, "");
+        Profile second = Profile.of(2, LocalDate.of(2022, 5, 1), Member.of(0, "김희정"), TaskLevel.B, 0, "task2", ProgressStatus.OPEN, "");
+        List<Profile> firstPage = new ArrayList<>();
+        firstPage.add(first);
+        List<Profile> secondPage = new ArrayList<>();
+        secondPage.add(second);
+
+        when(taskService.getProfilePage(any(), isNull(), anyInt()))
+                .thenReturn(new ProfilePageDto(firstPage, ProfileCursor.of(first).encode()));
+        when(taskService.getProfilePage(any(), any(ProfileCursor.class), anyInt()))
+                .thenReturn(new ProfilePageDto(secondPage, null));
+
+        // 요청한 만큼 다음 페이지 조회
+        StepVerifier.create(reactiveTaskService.streamProfiles(new ProfileSearchDto()), 1)
+                .expectNextMatches(profile -> 1 == profile.getNum())
+                .thenRequest(1)
+                .expectNextMatches(profile -> 2 == profile.getNum())
+                .verifyComplete();
+
+        // 한 줄에 프로필 하나씩 응답
+        String body = webTestClient.get().uri("/profiles/stream?date=2022-05-01")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class).returnResult().getResponseBody();
+        String[] lines = body.split("\n");
+        assertThat(lines.length).isEqualTo(2);
+        assertThat(mapper.readTree(lines[0]).get("num").asInt()).isEqualTo(1);
+        assertThat(mapper.readTree(lines[1]).get("task").asText()).isEqualTo("task2");
+
+        // 잘못된 날짜 형식은 스트리밍 전에 처리
+        body = webTestClient.get().uri("/profiles/stream?from=2022/05/01")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).returnResult().getResponseBody();
+        assertThat(mapper.readTree(body).get("status").asText()).isEqualTo(ResponseStatus.BAD_REQUEST05.getCode());
+    }
+}
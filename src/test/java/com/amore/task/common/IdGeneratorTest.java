@@ -0,0 +1,106 @@
+package com.amore.task.common;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class IdGeneratorTest {
+
+    @DisplayName("번호 발급")
+    @Test
+    public void nextTest() {
+        IdGenerator idGenerator = new IdGenerator(5);
+        assertThat(idGenerator.next()).isEqualTo(6);
+        assertThat(idGenerator.next()).isEqualTo(7);
+        assertThat(idGenerator.current()).isEqualTo(7L);
+    }
+
+    @DisplayName("번호 구간 예약")
+    @Test
+    public void reserveTest() {
+        IdGenerator idGenerator = new IdGenerator(0);
+        idGenerator.next(); // 1
+
+        IdRange range = idGenerator.reserve(3);
+        assertThat(range.next()).isEqualTo(2);
+        assertThat(range.next()).isEqualTo(3);
+        assertThat(range.next()).isEqualTo(4);
+        assertThat(range.hasNext()).isFalse();
+
+        // 예약 구간 이후부터 발급
+        assertThat(idGenerator.next()).isEqualTo(5);
+    }
+
+    @DisplayName("복구 시 발급 번호 조정")
+    @Test
+    public void advanceToTest() {
+        IdGenerator idGenerator = new IdGenerator(0);
+        idGenerator.advanceTo(10);
+        idGenerator.advanceTo(3); // 더 작은 값으로는 되돌아가지 않음
+        assertThat(idGenerator.next()).isEqualTo(11);
+    }
+
+    @DisplayName("int 범위를 넘는 번호는 발급하지 않음")
+    @Test
+    public void overflowTest() {
+        IdGenerator idGenerator = new IdGenerator(Integer.MAX_VALUE - 1);
+        assertThat(idGenerator.next()).isEqualTo(Integer.MAX_VALUE);
+        try {
+            idGenerator.next();
+            fail("overflow 시 IllegalStateException이 발생해야 함");
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage()).isNotNull();
+        }
+        assertThat(idGenerator.current()).isEqualTo((long) Integer.MAX_VALUE);
+    }
+
+    @DisplayName("예약 실패 시 번호를 소비하지 않음")
+    @Test
+    public void reserveOverflowTest() {
+        IdGenerator idGenerator = new IdGenerator(Integer.MAX_VALUE - 3);
+        try {
+            idGenerator.reserve(4);
+            fail("overflow 시 IllegalStateException이 발생해야 함");
+        } catch (IllegalStateException e) {
+            assertThat(idGenerator.current()).isEqualTo(Integer.MAX_VALUE - 3L);
+        }
+
+        // 남은 번호는 그대로 발급 가능
+        IdRange range = idGenerator.reserve(2);
+        assertThat(range.next()).isEqualTo(Integer.MAX_VALUE - 2);
+        assertThat(range.next()).isEqualTo(Integer.MAX_VALUE - 1);
+        assertThat(idGenerator.next()).isEqualTo(Integer.MAX_VALUE);
+    }
+
+    @DisplayName("동시 발급 시 중복 없음")
+    @Test
+    public void concurrentNextTest() throws Exception {
+        IdGenerator idGenerator = new IdGenerator(0);
+        Set<Integer> numbers = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int thread = 0; thread < 8; thread++) {
+            executor.submit(() -> {
+                for (int index = 0; index < 1000; index++) {
+                    numbers.add(idGenerator.next());
+                }
+                IdRange range = idGenerator.reserve(100);
+                while (range.hasNext()) {
+                    numbers.add(range.next());
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(numbers.size()).isEqualTo(8 * 1100);
+        assertThat(idGenerator.current()).isEqualTo(8 * 1100L);
+    }
+}
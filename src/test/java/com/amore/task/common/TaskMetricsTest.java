@@ -0,0 +1,62 @@
+package com.amore.task.common;
+
+import static org.assertj.core.api.Assertions.*;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TaskMetricsTest {
+
+    @DisplayName("메소드 처리 시간은 TimedAspect와 같은 tag에 작업, 예외별로 기록")
+    @Test
+    public void recordTest() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        TaskMetrics metrics = new TaskMetrics(registry);
+
+        metrics.record(TaskMetrics.SERVICE_CALL, TaskMetricsTest.class, "forEachProfile", TimeUnit.MILLISECONDS.toNanos(2), null);
+        metrics.record(TaskMetrics.SERVICE_CALL, TaskMetricsTest.class, "forEachProfile", -1, null); // 음수는 0으로 기록
+        metrics.record(TaskMetrics.SERVICE_CALL, TaskMetricsTest.class, "forEachProfile", 1, new IllegalStateException());
+
+        Timer timer = registry.get(TaskMetrics.SERVICE_CALL)
+                .tag("class", TaskMetricsTest.class.getName())
+                .tag("method", "forEachProfile")
+                .tag("operation", "forEachProfile")
+                .tag("exception", "none")
+                .timer();
+        assertThat(timer.count()).isEqualTo(2);
+        assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(2.0);
+        assertThat(registry.get(TaskMetrics.SERVICE_CALL).tag("exception", "IllegalStateException").timer().count()).isEqualTo(1);
+    }
+
+    @DisplayName("현재 값 지표는 조회 시점의 값을 반환")
+    @Test
+    public void gaugeTest() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        TaskMetrics metrics = new TaskMetrics(registry);
+        AtomicInteger count = new AtomicInteger(1);
+        metrics.gauge(TaskMetrics.ASSIGNEE_PROFILES, count::get, "assignee", "0");
+        metrics.gauge(TaskMetrics.ASSIGNEE_PROFILES, count::get, "assignee", "0"); // 중복 등록은 무시
+
+        count.set(3);
+        assertThat(registry.get(TaskMetrics.ASSIGNEE_PROFILES).tag("assignee", "0").gauge().value()).isEqualTo(3.0);
+    }
+
+    @DisplayName("대상이 없어진 현재 값 지표 제거")
+    @Test
+    public void removeGaugeTest() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        TaskMetrics metrics = new TaskMetrics(registry);
+        metrics.gauge(TaskMetrics.ASSIGNEE_PROFILES, () -> 1, "assignee", "0");
+        metrics.gauge(TaskMetrics.ASSIGNEE_PROFILES, () -> 2, "assignee", "1");
+
+        metrics.removeGauge(TaskMetrics.ASSIGNEE_PROFILES, "assignee", "0");
+        metrics.removeGauge(TaskMetrics.ASSIGNEE_PROFILES, "assignee", "2"); // 없는 지표는 무시
+        assertThat(registry.find(TaskMetrics.ASSIGNEE_PROFILES).tag("assignee", "0").gauge()).isNull();
+        assertThat(registry.get(TaskMetrics.ASSIGNEE_PROFILES).tag("assignee", "1").gauge().value()).isEqualTo(2.0);
+    }
+}
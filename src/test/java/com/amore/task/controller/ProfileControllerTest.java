@@ -1,6 +1,11 @@
 package com.amore.task.controller;
 
+import com.amore.task.model.domain.Member;
+import com.amore.task.model.domain.Profile;
+import com.amore.task.model.dto.ProfileCursor;
+import com.amore.task.model.enums.ProgressStatus;
 import com.amore.task.model.enums.ResponseStatus;
+import com.amore.task.model.enums.TaskLevel;
 import com.amore.task.service.TaskService;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -19,9 +24,14 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -90,6 +100,125 @@ public class ProfileControllerTest {
                 .andExpect(status().isOk()).andReturn();
         resultNode = mapper.readTree(result.getResponse().getContentAsString());
         assertThat(resultNode.get("status").asText()).isEqualTo(ResponseStatus.SUCCESS.getCode());
+
+        // 담당자 번호 타입 오류
+        paramBody.put("assignee", "담당자");
+        result = mockMvc.perform(post("/profile")
+                        .accept(MediaType.APPLICATION_JSON_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(mapper.writeValueAsString(paramBody)))
+                .andExpect(status().isBadRequest()).andReturn();
+        resultNode = mapper.readTree(result.getResponse().getContentAsString());
+        assertThat(resultNode.get("status").asText()).isEqualTo(ResponseStatus.BAD_REQUEST10.getCode());
+
+        // JSON 형식 오류
+        result = mockMvc.perform(post("/profile")
+                        .accept(MediaType.APPLICATION_JSON_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content("{\"date\":"))
+                .andExpect(status().isBadRequest()).andReturn();
+        resultNode = mapper.readTree(result.getResponse().getContentAsString());
+        assertThat(resultNode.get("status").asText()).isEqualTo(ResponseStatus.BAD_REQUEST10.getCode());
+    }
+
+    /**
+     * 프로필 일괄 추가 API 테스트
+     * @throws Exception
+     */
+    @DisplayName("프로필 일괄 추가 API")
+    @Test
+    public void handleAddProfilesTest() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode resultNode = null;
+        MvcResult result = null;
+        List<HashMap<String, Object>> paramBody = new ArrayList<>();
+
+        // 추가할 프로필 없음
+        result = mockMvc.perform(post("/profiles/batch")
+                        .accept(MediaType.APPLICATION_JSON_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(mapper.writeValueAsString(paramBody)))
+                .andExpect(status().isBadRequest()).andReturn();
+        resultNode = mapper.readTree(result.getResponse().getContentAsString());
+        assertThat(resultNode.get("status").asText()).isEqualTo(ResponseStatus.BAD_REQUEST11.getCode());
+
+        HashMap<String, Object> profile = new HashMap<>();
+        profile.put("date", LocalDate.of(2022, 6, 1).toString());
+        profile.put("assignee", 0);
+        profile.put("task", "업무명 입력");
+        paramBody.add(profile);
+
+        // 필수 파라미터 체크 - 업무명이 없는 프로필 포함
+        HashMap<String, Object> invalidProfile = new HashMap<>(profile);
+        invalidProfile.remove("task");
+        paramBody.add(invalidProfile);
+        result = mockMvc.perform(post("/profiles/batch")
+                        .accept(MediaType.APPLICATION_JSON_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(mapper.writeValueAsString(paramBody)))
+                .andExpect(status().isBadRequest()).andReturn();
+        resultNode = mapper.readTree(result.getResponse().getContentAsString());
+        assertThat(resultNode.get("status").asText()).isEqualTo(ResponseStatus.BAD_REQUEST01.getCode());
+
+        // 정상
+        paramBody.remove(invalidProfile);
+        result = mockMvc.perform(post("/profiles/batch")
+                        .accept(MediaType.APPLICATION_JSON_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(mapper.writeValueAsString(paramBody)))
+                .andExpect(status().isOk()).andReturn();
+        resultNode = mapper.readTree(result.getResponse().getContentAsString());
+        assertThat(resultNode.get("status").asText()).isEqualTo(ResponseStatus.SUCCESS.getCode());
+    }
+
+    /**
+     * 프로필 일괄 삭제, 상태 일괄 변경 API 테스트
+     * @throws Exception
+     */
+    @DisplayName("프로필 일괄 삭제, 상태 일괄 변경 API")
+    @Test
+    public void handleBatchProfilesTest() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode resultNode = null;
+        MvcResult result = null;
+        HashMap<String, Object> paramBody = new HashMap<>();
+
+        // 필수 파라미터 없음 - 프로필 번호
+        result = mockMvc.perform(delete("/profiles/batch")
+                        .accept(MediaType.APPLICATION_JSON_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(mapper.writeValueAsString(paramBody)))
+                .andExpect(status().isBadRequest()).andReturn();
+        resultNode = mapper.readTree(result.getResponse().getContentAsString());
+        assertThat(resultNode.get("status").asText()).isEqualTo(ResponseStatus.BAD_REQUEST03.getCode());
+
+        paramBody.put("profiles", List.of(1, 2));
+        result = mockMvc.perform(delete("/profiles/batch")
+                        .accept(MediaType.APPLICATION_JSON_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(mapper.writeValueAsString(paramBody)))
+                .andExpect(status().isOk()).andReturn();
+        resultNode = mapper.readTree(result.getResponse().getContentAsString());
+        assertThat(resultNode.get("status").asText()).isEqualTo(ResponseStatus.SUCCESS.getCode());
+
+        // 잘못된 상태 값
+        paramBody.put("status", 3);
+        result = mockMvc.perform(put("/profiles/batch/status")
+                        .accept(MediaType.APPLICATION_JSON_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(mapper.writeValueAsString(paramBody)))
+                .andExpect(status().isBadRequest()).andReturn();
+        resultNode = mapper.readTree(result.getResponse().getContentAsString());
+        assertThat(resultNode.get("status").asText()).isEqualTo(ResponseStatus.BAD_REQUEST07.getCode());
+
+        paramBody.put("status", 2);
+        result = mockMvc.perform(put("/profiles/batch/status")
+                        .accept(MediaType.APPLICATION_JSON_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(mapper.writeValueAsString(paramBody)))
+                .andExpect(status().isOk()).andReturn();
+        resultNode = mapper.readTree(result.getResponse().getContentAsString());
+        assertThat(resultNode.get("status").asText()).isEqualTo(ResponseStatus.SUCCESS.getCode());
     }
 
     /**
@@ -135,6 +264,101 @@ public class ProfileControllerTest {
                 .andExpect(status().isOk()).andReturn();
         resultNode = mapper.readTree(result.getResponse().getContentAsString());
         assertThat(resultNode.get("status").asText()).isEqualTo(ResponseStatus.SUCCESS.getCode());
+
+        // 날짜 범위, 여러 담당자 입력 (선택)
+        result = mockMvc.perform(get("/profiles")
+                        .param("from", LocalDate.of(2022, 5, 1).toString())
+                        .param("to", LocalDate.of(2022, 5, 7).toString())
+                        .param("assignee", "0", "1")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk()).andReturn();
+        resultNode = mapper.readTree(result.getResponse().getContentAsString());
+        assertThat(resultNode.get("status").asText()).isEqualTo(ResponseStatus.SUCCESS.getCode());
+
+        // 잘못된 날짜 형식
+        result = mockMvc.perform(get("/profiles")
+                        .param("from", "2022/05/01")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isBadRequest()).andReturn();
+        resultNode = mapper.readTree(result.getResponse().getContentAsString());
+        assertThat(resultNode.get("status").asText()).isEqualTo(ResponseStatus.BAD_REQUEST05.getCode());
+
+        // 처리할 수 없는 날짜(epoch day가 int 범위를 벗어남)
+        result = mockMvc.perform(get("/profiles")
+                        .param("date", "+9999999-01-01")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isBadRequest()).andReturn();
+        resultNode = mapper.readTree(result.getResponse().getContentAsString());
+        assertThat(resultNode.get("status").asText()).isEqualTo(ResponseStatus.BAD_REQUEST13.getCode());
+
+        // 잘못된 담당자 번호
+        result = mockMvc.perform(get("/profiles")
+                        .param("assignee", "0", "-1")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isBadRequest()).andReturn();
+        resultNode = mapper.readTree(result.getResponse().getContentAsString());
+        assertThat(resultNode.get("status").asText()).isEqualTo(ResponseStatus.BAD_REQUEST12.getCode());
+
+        // 페이지 조회
+        result = mockMvc.perform(get("/profiles")
+                        .param("limit", "10")
+                        .param("cursor", new ProfileCursor(LocalDate.of(2022, 5, 1), 0, TaskLevel.B, 0, 1).encode())
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk()).andReturn();
+        resultNode = mapper.readTree(result.getResponse().getContentAsString());
+        assertThat(resultNode.get("status").asText()).isEqualTo(ResponseStatus.SUCCESS.getCode());
+
+        // 잘못된 커서
+        result = mockMvc.perform(get("/profiles")
+                        .param("cursor", "invalid")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isBadRequest()).andReturn();
+        resultNode = mapper.readTree(result.getResponse().getContentAsString());
+        assertThat(resultNode.get("status").asText()).isEqualTo(ResponseStatus.BAD_REQUEST08.getCode());
+
+        // 잘못된 조회 건수
+        result = mockMvc.perform(get("/profiles")
+                        .param("limit", "0")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isBadRequest()).andReturn();
+        resultNode = mapper.readTree(result.getResponse().getContentAsString());
+        assertThat(resultNode.get("status").asText()).isEqualTo(ResponseStatus.BAD_REQUEST09.getCode());
+    }
+
+    /**
+     * 프로필 리스트 스트리밍 조회 API 테스트
+     * @throws Exception
+     */
+    @DisplayName("프로필 리스트 스트리밍 조회 API")
+    @Test
+    public void handleStreamProfilesTest() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        MvcResult result = null;
+
+        doAnswer(invocation -> {
+            Consumer<Profile> action = invocation.getArgument(1);
+            action.accept(Profile.of(1, LocalDate.of(2022, 5, 1), Member.of(0, "김희정"), TaskLevel.A, 0, "task1", ProgressStatus.OPEN, ""));
+            action.accept(Profile.of(2, LocalDate.of(2022, 5, 1), Member.of(0, "김희정"), TaskLevel.B, 0, "task2", ProgressStatus.OPEN, ""));
+            return null;
+        }).when(taskService).forEachProfile(any(), any());
+
+        // 한 줄에 프로필 하나씩 응답
+        result = mockMvc.perform(get("/profiles/stream")
+                        .param("date", LocalDate.of(2022, 5, 1).toString()))
+                .andExpect(request().asyncStarted()).andReturn();
+        result = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson")).andReturn();
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertThat(lines.length).isEqualTo(2);
+        assertThat(mapper.readTree(lines[0]).get("num").asInt()).isEqualTo(1);
+        assertThat(mapper.readTree(lines[1]).get("task").asText()).isEqualTo("task2");
+
+        // 잘못된 날짜 형식은 스트리밍 전에 처리
+        result = mockMvc.perform(get("/profiles/stream")
+                        .param("from", "2022/05/01"))
+                .andExpect(status().isBadRequest()).andReturn();
+        assertThat(mapper.readTree(result.getResponse().getContentAsString()).get("status").asText()).isEqualTo(ResponseStatus.BAD_REQUEST05.getCode());
     }
 
     /**
@@ -9,7 +9,11 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 @Slf4j
 @SpringBootTest
@@ -69,4 +73,35 @@ public class MemberServiceTest {
             log.debug("number = {}, name = {}", p.getNumber(), p.getName());
         });
     }
+
+    @DisplayName("이름으로 담당자 조회")
+    @Test
+    public void getMembersTest() {
+        assertThat(memberService.getMembers("임시완").contains(memberService.getMember(2))).isTrue();
+        assertThat(memberService.getMembers("없는 이름")).isEmpty();
+    }
+
+    @DisplayName("동시 등록 시 번호 조회, 전체 리스트에 모두 반영")
+    @Test
+    public void addMemberConcurrentTest() throws Exception {
+        MemberService members = new MemberService();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+            for (int index = 0; index < 200; index++) {
+                String name = "동시" + (index % 10);
+                results.add(executor.submit(() -> members.addMember(name)));
+            }
+            for (Future<Boolean> result : results) {
+                assertThat(result.get()).isTrue();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        List<Member> all = members.getProfiles();
+        assertThat(all).hasSize(205);
+        all.forEach(member -> assertThat(members.getMember(member.getNumber())).isSameAs(member));
+        assertThat(members.getMembers("동시0")).hasSize(20);
+    }
 }
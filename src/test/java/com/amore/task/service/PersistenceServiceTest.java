@@ -0,0 +1,236 @@
+package com.amore.task.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.amore.task.model.domain.Member;
+import com.amore.task.model.domain.Profile;
+import com.amore.task.model.dto.MemberDto;
+import com.amore.task.model.dto.ProfileDto;
+import com.amore.task.model.enums.ProgressStatus;
+import com.amore.task.model.enums.TaskLevel;
+import com.amore.task.repository.ProfileJournal;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class PersistenceServiceTest {
+
+    @TempDir
+    Path directory;
+
+    @DisplayName("스냅샷 적재 후 변경 로그 재실행으로 복구")
+    @Test
+    public void recoverTest() throws Exception {
+        ProfileService profileService = new ProfileService();
+        MemberService memberService = new MemberService();
+        PersistenceService persistence = new PersistenceService(profileService, memberService, directory.toString(), 0);
+        persistence.start();
+
+        memberService.addMember("신규");
+        this.changeProfiles(profileService, 0);
+        persistence.snapshot(); // 스냅샷 이후 변경은 변경 로그로만 복구
+        this.changeProfiles(profileService, 1);
+        memberService.addMember("추가");
+
+        List<String> expected = this.describe(profileService);
+        List<String> expectedMembers = this.describeMembers(memberService);
+        persistence.stop();
+
+        ProfileService recoveredProfiles = new ProfileService();
+        MemberService recoveredMembers = new MemberService();
+        PersistenceService recovered = new PersistenceService(recoveredProfiles, recoveredMembers, directory.toString(), 0);
+        recovered.start();
+        try {
+            assertThat(this.describe(recoveredProfiles)).isEqualTo(expected);
+            assertThat(this.describeMembers(recoveredMembers)).isEqualTo(expectedMembers);
+
+            // 복구 후 발급하는 번호는 기존 번호와 겹치지 않음
+            int max = recoveredProfiles.getProfiles(null).stream().mapToInt(Profile::getNum).max().getAsInt();
+            assertThat(recoveredProfiles.getNextNumber()).isGreaterThan(max);
+            int maxMember = recoveredMembers.getProfiles().stream().mapToInt(Member::getNumber).max().getAsInt();
+            assertThat(recoveredMembers.getNextNumber()).isGreaterThan(maxMember);
+        } finally {
+            recovered.stop();
+        }
+    }
+
+    @DisplayName("비정상 종료 시 불완전한 마지막 기록은 무시하고 복구")
+    @Test
+    public void recoverAfterCrashTest() throws Exception {
+        ProfileService profileService = new ProfileService();
+        PersistenceService persistence = new PersistenceService(profileService, new MemberService(), directory.toString(), 0);
+        persistence.start();
+        this.changeProfiles(profileService, 0);
+        List<String> expected = this.describe(profileService);
+
+        // 스냅샷 없이 종료되고 마지막 레코드가 일부만 기록된 상태
+        List<Long> segments = ProfileJournal.segments(directory);
+        Path last = directory.resolve(String.format("journal-%020d.wal", segments.get(segments.size() - 1)));
+        Files.write(last, new byte[] {0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        ProfileService recoveredProfiles = new ProfileService();
+        PersistenceService recovered = new PersistenceService(recoveredProfiles, new MemberService(), directory.toString(), 0);
+        recovered.start();
+        try {
+            assertThat(this.describe(recoveredProfiles)).isEqualTo(expected);
+
+            // 복구 후의 변경은 새 세그먼트에 기록
+            recoveredProfiles.removeProfile(recoveredProfiles.getProfiles(null).get(0).getNum());
+            assertThat(ProfileJournal.segments(directory)).hasSize(segments.size() + 1);
+        } finally {
+            recovered.stop();
+            persistence.stop();
+        }
+    }
+
+    @DisplayName("스냅샷 저장 시 반영된 변경 로그 삭제")
+    @Test
+    public void snapshotTest() throws Exception {
+        ProfileService profileService = new ProfileService();
+        PersistenceService persistence = new PersistenceService(profileService, new MemberService(), directory.toString(), 0);
+        persistence.start();
+        try {
+            this.changeProfiles(profileService, 0);
+            persistence.snapshot();
+            persistence.snapshot();
+
+            assertThat(ProfileJournal.segments(directory)).hasSize(1);
+            assertThat(Files.exists(directory.resolve("snapshot.dat"))).isTrue();
+        } finally {
+            persistence.stop();
+        }
+    }
+
+    @DisplayName("대량 스냅샷 복구(우선순위 순 적재, 문자열 중복 제거)")
+    @Test
+    public void recoverLargeSnapshotTest() throws Exception {
+        ProfileService profileService = new ProfileService();
+        PersistenceService persistence = new PersistenceService(profileService, new MemberService(), directory.toString(), 0);
+        persistence.start();
+        TaskLevel[] levels = TaskLevel.values();
+        List<ProfileDto> batch = new ArrayList<ProfileDto>();
+        for (int index = 0; index < 50000; index++) {
+            ProfileDto profileDto = new ProfileDto(LocalDate.of(2022, 5, 1).plusDays(index % 7), new MemberDto(index % 5, "담당자" + (index % 5)), "task" + (index % 100), "같은 설명");
+            profileDto.setTaskLevel(levels[index % levels.length]);
+            batch.add(profileDto);
+        }
+        profileService.addProfiles(batch);
+        List<String> expected = this.describe(profileService);
+        persistence.stop();
+
+        ProfileService recoveredProfiles = new ProfileService();
+        PersistenceService recovered = new PersistenceService(recoveredProfiles, new MemberService(), directory.toString(), 0);
+        recovered.start();
+        try {
+            assertThat(this.describe(recoveredProfiles)).isEqualTo(expected);
+
+            List<Profile> profiles = recoveredProfiles.getProfiles(null);
+            assertThat(profiles.get(profiles.size() - 1).getDescription()).isSameAs(profiles.get(0).getDescription());
+        } finally {
+            recovered.stop();
+        }
+    }
+
+    /**
+     * 추가, 일괄 추가, 우선순위 변경, 위임, 위임 취소, 삭제, 상태 변경을 차례로 수행
+     * @param profileService
+     * @param day 날짜 구분
+     */
+    @DisplayName("변경 로그를 기록하지 못하면 변경을 반영하지 않음")
+    @Test
+    public void journalFailureTest() throws Exception {
+        ProfileService profileService = new ProfileService();
+        MemberService memberService = new MemberService();
+        this.changeProfiles(profileService, 0);
+        List<String> expected = this.describe(profileService);
+        List<String> expectedMembers = this.describeMembers(memberService);
+        int num = profileService.getProfiles(null).get(0).getNum();
+
+        // 종료한 변경 로그는 기록 시 예외 발생
+        ProfileJournal journal = new ProfileJournal(directory, 0);
+        journal.close();
+        profileService.setJournal(journal);
+        memberService.setJournal(journal);
+
+        LocalDate date = LocalDate.of(2022, 9, 1);
+        assertThatThrownBy(() -> profileService.addProfile(new ProfileDto(date, new MemberDto(0, "김희정"), "add", ""))).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> profileService.addProfiles(Arrays.asList(new ProfileDto(date, new MemberDto(1, "임성욱"), "batch", "")))).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> profileService.removeProfile(num)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> profileService.updateStatuses(Arrays.asList(num), ProgressStatus.COMPLETE)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> profileService.clear()).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> memberService.addMember("신규")).isInstanceOf(IllegalStateException.class);
+
+        assertThat(this.describe(profileService)).isEqualTo(expected);
+        assertThat(this.describeMembers(memberService)).isEqualTo(expectedMembers);
+        assertThat(profileService.getProfile(num)).isNotNull();
+    }
+
+    private void changeProfiles(ProfileService profileService, int day) {
+        LocalDate date = LocalDate.of(2022, 5, 1).plusDays(day);
+        MemberDto assignee = new MemberDto(0, "김희정");
+        List<Integer> nums = new ArrayList<Integer>();
+        for (int index = 0; index < 5; index++) {
+            nums.add(profileService.addProfile(new ProfileDto(date, assignee, "task" + index, "description" + index)));
+        }
+
+        List<ProfileDto> batch = new ArrayList<ProfileDto>();
+        for (int index = 0; index < 5; index++) {
+            ProfileDto profileDto = new ProfileDto(date, new MemberDto(index % 2, "담당자"), "batch" + index, "");
+            profileDto.setTaskLevel((0 == index % 3) ? TaskLevel.A : null);
+            batch.add(profileDto);
+        }
+        nums.addAll(profileService.addProfiles(batch).stream().map(Profile::getNum).collect(Collectors.toList()));
+
+        ProfileDto update = new ProfileDto();
+        update.setNum(nums.get(3));
+        update.setTaskLevel(TaskLevel.A);
+        update.setSeq(0);
+        update.setTask("변경");
+        profileService.updateProfile(update);
+
+        ProfileDto allocate = new ProfileDto();
+        allocate.setNum(nums.get(1));
+        allocate.setAssignee(new MemberDto(2, "임시완"));
+        profileService.allocateAssignee(allocate);
+
+        ProfileDto allocateAgain = new ProfileDto();
+        allocateAgain.setNum(nums.get(2));
+        allocateAgain.setAssignee(new MemberDto(3, "임시현"));
+        profileService.allocateAssignee(allocateAgain);
+        profileService.cancelAllocatedProfile(nums.get(2));
+
+        // 동일 중요도 중간에 추가(뒤의 해야할일의 순서 +1)
+        ProfileDto insert = new ProfileDto(date, assignee, "insert", "");
+        insert.setTaskLevel(TaskLevel.B);
+        insert.setSeq(1);
+        profileService.addProfile(insert);
+
+        profileService.removeProfile(nums.get(0));
+        profileService.removeProfiles(Arrays.asList(nums.get(5), nums.get(6)));
+        profileService.updateStatuses(Arrays.asList(nums.get(4), nums.get(7)), ProgressStatus.COMPLETE);
+        profileService.loadProfile(Profile.of(1000 + day, date, Member.of(4, "우영우"), TaskLevel.C, 3, "load", ProgressStatus.OPEN, ""));
+    }
+
+    private List<String> describe(ProfileService profileService) {
+        return profileService.getProfiles(null).stream()
+                .map(todo -> todo.getNum() + ":" + todo.getDate() + ":" + todo.getAssignee().getNumber()
+                        + ":" + todo.getTaskLevel().getName() + todo.getSeq() + ":" + todo.getTask() + ":" + todo.getStatus()
+                        + ":" + ((null != todo.getReporter()) ? todo.getReporter().getNumber() : "-") + ":" + ((null != todo.getLog()) ? todo.getLog().getTaskLevel() + "" + todo.getLog().getSeq() : "-"))
+                .collect(Collectors.toList());
+    }
+
+    private List<String> describeMembers(MemberService memberService) {
+        return memberService.getProfiles().stream()
+                .map(member -> member.getNumber() + ":" + member.getName())
+                .collect(Collectors.toList());
+    }
+}
@@ -6,9 +6,13 @@ import com.amore.task.common.HandledException;
 import com.amore.task.model.domain.Member;
 import com.amore.task.model.domain.Profile;
 import com.amore.task.model.dto.MemberDto;
+import com.amore.task.model.dto.ProfileCursor;
+import com.amore.task.model.dto.ProfilePageDto;
 import com.amore.task.model.dto.ProfileDto;
+import com.amore.task.model.dto.ProfileSearchDto;
 import com.amore.task.model.enums.ProgressStatus;
 import com.amore.task.model.enums.TaskLevel;
+import com.amore.task.repository.ProfileSnapshot;
 import lombok.extern.slf4j.Slf4j;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.AfterEach;
@@ -20,6 +24,12 @@ import org.springframework.boot.test.context.SpringBootTest;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
 @Slf4j
 @SpringBootTest
@@ -28,10 +38,13 @@ public class ProfileServiceTest {
     @Autowired
     ProfileService profileService;
 
+    @Autowired
+    MemberService memberService;
+
     @AfterEach
     @Test
     public void afterEachRun() {
-        profileService.getProfiles(null).clear();
+        profileService.clear();
     }
 
     @DisplayName("신규 todo 번호 발급")
@@ -442,7 +455,7 @@ public class ProfileServiceTest {
         }
 
         // 입력 시 정렬되어 들어가기때문에 순서가 동일한지 확인
-        ArrayList<Profile> profiles = profileService.getProfiles(null); // 해야할일 목록 조회
+        List<Profile> profiles = profileService.getProfiles(null); // 해야할일 목록 조회
         for (int index = 0; index < dates.size(); index++) {
             log.debug("{} : {} / {} / {}({})", index, profiles.get(index).getDate().toString(), dates.get(index), profiles.get(index).getTaskLevel().getName(), profiles.get(index).getSeq());
             assertThat(profiles.get(index).getDate()).isEqualTo(dates.get(index));
@@ -481,7 +494,7 @@ public class ProfileServiceTest {
             log.debug("num = {} / priority = {}({})", profile.getNum(), profile.getTaskLevel().getName(), profile.getSeq());
         }
 
-        ArrayList<Profile> profiles = profileService.getProfiles(null);
+        List<Profile> profiles = profileService.getProfiles(null);
         for (int index = 0; index < profiles.size(); index++) {
             log.debug("{} : {}({}) / {}({}) / {}({})", index, profiles.get(index).getAssignee().getName(), profiles.get(index).getAssignee().getNumber()
                     , members.get(index).getName(), members.get(index).getNum(), profiles.get(index).getTaskLevel().getName(), profiles.get(index).getSeq());
@@ -526,7 +539,7 @@ public class ProfileServiceTest {
             log.debug("num = {} / priority = {}({})", profile.getNum(), profile.getTaskLevel().getName(), profile.getSeq());
         }
 
-        ArrayList<Profile> profiles = profileService.getProfiles(null);
+        List<Profile> profiles = profileService.getProfiles(null);
         for (int index = 0; index < profiles.size(); index++) {
             log.debug("{} : {}({}) / {}", index, profiles.get(index).getTaskLevel().getName(), profiles.get(index).getSeq(), taskLevels.get(index).getName());
             Assertions.assertThat(profiles.get(index).getTaskLevel()).isEqualTo(taskLevels.get(index));
@@ -556,7 +569,7 @@ public class ProfileServiceTest {
             log.debug("num = {} / priority = {}({})", profile.getNum(), profile.getTaskLevel().getName(), profile.getSeq());
         }
 
-        ArrayList<Profile> profiles = profileService.getProfiles(null);
+        List<Profile> profiles = profileService.getProfiles(null);
         for (int index = 0; index < profiles.size(); index++) {
             log.debug("{} : {}({})", index, profiles.get(index).getTaskLevel().getName(), profiles.get(index).getSeq());
             Assertions.assertThat(profiles.get(index).getTaskLevel()).isEqualTo(TaskLevel.B);
@@ -572,9 +585,8 @@ public class ProfileServiceTest {
         int num1 = 1, seq1 = 0;
         int num2 = 2, seq2 = 1;
 
-        ArrayList<Profile> profiles = profileService.getProfiles(null);
-        profiles.add(Profile.of(num1, date, assignee, TaskLevel.B, seq1, "", ProgressStatus.OPEN, ""));
-        profiles.add(Profile.of(num2, date, assignee, TaskLevel.B, seq2, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(num1, date, assignee, TaskLevel.B, seq1, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(num2, date, assignee, TaskLevel.B, seq2, "", ProgressStatus.OPEN, ""));
 
         // addTodo 내부에서 부여한 우선순위 비교
         Profile firstProfile = profileService.getProfile(num1);
@@ -586,6 +598,7 @@ public class ProfileServiceTest {
         assertThat(secondProfile.getSeq()).isGreaterThan(seq1);
         
         assertThat(profileService.removeProfile(1)).isTrue(); // firstTodo 삭제
+        secondProfile = profileService.getProfile(num2); // 조회한 해야할일은 조회 시점의 값이므로 다시 조회
         log.debug("secondTodo 우선순위 = {}{}", secondProfile.getTaskLevel().getName(), secondProfile.getSeq());
         Assertions.assertThat(secondProfile.getTaskLevel()).isEqualTo(secondProfile.getTaskLevel());
         assertThat(secondProfile.getSeq()).isLessThan(seq2);
@@ -640,17 +653,16 @@ public class ProfileServiceTest {
         LocalDate date = LocalDate.of(2022, 5, 1);
         Member assignee = Member.of(0, "김희정");
         
-        ArrayList<Profile> profiles = profileService.getProfiles(null);
-        profiles.add(Profile.of(1, date, assignee, TaskLevel.B, 0, "", ProgressStatus.OPEN, ""));
-        profiles.add(Profile.of(2, date, assignee, TaskLevel.B, 1, "", ProgressStatus.OPEN, ""));
-        profiles.add(Profile.of(3, date, Member.of(1, "임성욱"), TaskLevel.B, 0, "", ProgressStatus.OPEN, ""));
-        profiles.add(Profile.of(4, LocalDate.of(2022, 5, 10), assignee, TaskLevel.B, 0, "", ProgressStatus.OPEN, ""));
-        profiles.add(Profile.of(5, LocalDate.of(2022, 5, 10), assignee, TaskLevel.B, 1, "", ProgressStatus.OPEN, ""));
-        profiles.add(Profile.of(6, LocalDate.of(2022, 5, 10), Member.of(1, "임성욱"), TaskLevel.B, 0, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(1, date, assignee, TaskLevel.B, 0, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(2, date, assignee, TaskLevel.B, 1, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(3, date, Member.of(1, "임성욱"), TaskLevel.B, 0, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(4, LocalDate.of(2022, 5, 10), assignee, TaskLevel.B, 0, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(5, LocalDate.of(2022, 5, 10), assignee, TaskLevel.B, 1, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(6, LocalDate.of(2022, 5, 10), Member.of(1, "임성욱"), TaskLevel.B, 0, "", ProgressStatus.OPEN, ""));
 
         // 2022-05-01 날짜의 해야할일 조회
         ProfileDto profileDto = new ProfileDto(date, null, null, null);
-        ArrayList<Profile> dateProfiles = profileService.getProfiles(profileDto);
+        List<Profile> dateProfiles = profileService.getProfiles(profileDto);
         assertThat(dateProfiles).isNotNull();
         assertThat(dateProfiles.size()).isEqualTo(3);
         assertThat(dateProfiles.get(0).getNum()).isEqualTo(1);
@@ -677,6 +689,207 @@ public class ProfileServiceTest {
         assertThat(dateProfiles.get(1).getNum()).isEqualTo(2);
     }
 
+    @DisplayName("todo 일괄 추가 시 순차 추가와 동일한 우선순위")
+    @Test
+    public void addTodosBatchTest() {
+        Member member0 = Member.of(0, "김희정");
+        LocalDate date = LocalDate.of(2022, 5, 1);
+        profileService.loadProfile(Profile.of(profileService.getNextNumber(), date, member0, TaskLevel.A, 0, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(profileService.getNextNumber(), date, member0, TaskLevel.B, 0, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(profileService.getNextNumber(), date, member0, TaskLevel.B, 1, "", ProgressStatus.OPEN, ""));
+
+        List<ProfileDto> profileDtos = new ArrayList<>();
+        profileDtos.add(new ProfileDto(date, new MemberDto(0, "김희정"), "task1", ""));
+        profileDtos.add(new ProfileDto(LocalDate.of(2022, 5, 2), new MemberDto(1, "임성욱"), "task2", ""));
+        profileDtos.add(new ProfileDto(date, new MemberDto(0, "김희정"), "task3", ""));
+        profileDtos.get(2).setTaskLevel(TaskLevel.A);
+        profileDtos.add(new ProfileDto(date, new MemberDto(0, "김희정"), "task4", ""));
+        profileDtos.add(new ProfileDto(date, new MemberDto(0, "김희정"), "task5", ""));
+        profileDtos.get(4).setTaskLevel(TaskLevel.C);
+        profileDtos.add(new ProfileDto(date, new MemberDto(0, "김희정"), "task6", ""));
+
+        // 요청 순서대로 반환
+        List<Profile> added = profileService.addProfiles(profileDtos);
+        assertThat(added.stream().map(Profile::getTask).collect(Collectors.toList()))
+                .isEqualTo(List.of("task1", "task2", "task3", "task4", "task5", "task6"));
+        for (Profile profile : added) {
+            Profile found = profileService.getProfile(profile.getNum());
+            Assertions.assertThat(found.getTaskLevel()).isEqualTo(profile.getTaskLevel());
+            assertThat(found.getSeq()).isEqualTo(profile.getSeq());
+        }
+
+        // 순차 추가와 동일한 중요도, 순서
+        List<String> priorities = added.stream()
+                .map(profile -> profile.getTaskLevel().getName() + profile.getSeq())
+                .collect(Collectors.toList());
+        assertThat(priorities).isEqualTo(List.of("B2", "B0", "A1", "B3", "C0", "C1"));
+
+        // 묶음은 우선순위 순으로 정렬되어있음
+        List<Profile> profiles = profileService.getProfiles(new ProfileDto(date, new MemberDto(0, null), null, null));
+        assertThat(profiles.stream().map(profile -> profile.getTaskLevel().getName() + profile.getSeq()).collect(Collectors.toList()))
+                .isEqualTo(List.of("A0", "A1", "B0", "B1", "B2", "B3", "C0", "C1"));
+    }
+
+    @DisplayName("todo 대량 일괄 추가")
+    @Test
+    public void addTodosLargeBatchTest() {
+        int todoCount = 10000;
+        LocalDate date = LocalDate.of(2022, 8, 1);
+        List<ProfileDto> profileDtos = new ArrayList<>(todoCount);
+        for (int index = 0; index < todoCount; index++) {
+            profileDtos.add(new ProfileDto(date.plusDays(index % 2), new MemberDto(index % 3, null), "task" + index, ""));
+        }
+
+        profileService.addProfiles(profileDtos);
+
+        List<Profile> profiles = profileService.getProfiles(null);
+        assertThat(profiles.size()).isEqualTo(todoCount);
+        for (int index = 1; index < profiles.size(); index++) {
+            assertThat(Profile.PRIORITY_ORDER.compare(profiles.get(index - 1), profiles.get(index))).isLessThan(0);
+        }
+    }
+
+    @DisplayName("todo 일괄 삭제 시 묶음별 순서 재부여")
+    @Test
+    public void removeTodosBatchTest() {
+        Member member0 = Member.of(0, "김희정");
+        Member member1 = Member.of(1, "임성욱");
+        LocalDate date = LocalDate.of(2022, 5, 1);
+        List<Profile> loaded = new ArrayList<>();
+        loaded.add(Profile.of(profileService.getNextNumber(), date, member0, TaskLevel.A, 0, "", ProgressStatus.OPEN, ""));
+        loaded.add(Profile.of(profileService.getNextNumber(), date, member0, TaskLevel.A, 1, "", ProgressStatus.OPEN, ""));
+        loaded.add(Profile.of(profileService.getNextNumber(), date, member0, TaskLevel.A, 2, "", ProgressStatus.OPEN, ""));
+        loaded.add(Profile.of(profileService.getNextNumber(), date, member0, TaskLevel.A, 3, "", ProgressStatus.OPEN, ""));
+        loaded.add(Profile.of(profileService.getNextNumber(), date, member0, TaskLevel.B, 0, "", ProgressStatus.OPEN, ""));
+        loaded.add(Profile.of(profileService.getNextNumber(), date, member0, TaskLevel.B, 1, "", ProgressStatus.OPEN, ""));
+        loaded.add(Profile.of(profileService.getNextNumber(), date, member1, TaskLevel.B, 0, "", ProgressStatus.OPEN, ""));
+        for (Profile profile : loaded) {
+            profileService.loadProfile(profile);
+        }
+
+        // 없는 번호는 무시
+        int removed = profileService.removeProfiles(List.of(loaded.get(0).getNum(), loaded.get(2).getNum(), loaded.get(4).getNum(), loaded.get(6).getNum(), 0));
+        assertThat(removed).isEqualTo(4);
+        assertThat(profileService.getProfile(loaded.get(0).getNum())).isNull();
+        assertThat(profileService.getProfile(loaded.get(6).getNum())).isNull();
+
+        // 순차 삭제와 동일한 순서
+        List<Profile> profiles = profileService.getProfiles(new ProfileDto(date, new MemberDto(0, null), null, null));
+        assertThat(profiles.stream().map(profile -> profile.getTaskLevel().getName() + profile.getSeq()).collect(Collectors.toList()))
+                .isEqualTo(List.of("A0", "A1", "B0"));
+        assertThat(profiles.get(0).getNum()).isEqualTo(loaded.get(1).getNum());
+        assertThat(profiles.get(1).getNum()).isEqualTo(loaded.get(3).getNum());
+        assertThat(profileService.getProfiles(new ProfileDto(date, new MemberDto(1, null), null, null)).size()).isEqualTo(0);
+    }
+
+    @DisplayName("todo 상태 일괄 변경")
+    @Test
+    public void updateTodoStatusesTest() {
+        int num1 = profileService.addProfile(new ProfileDto(LocalDate.of(2022, 5, 1), new MemberDto(0, "김희정"), "task1", ""));
+        int num2 = profileService.addProfile(new ProfileDto(LocalDate.of(2022, 5, 1), new MemberDto(1, "임성욱"), "task2", ""));
+
+        List<Profile> updated = profileService.updateStatuses(List.of(num1, num2), ProgressStatus.COMPLETE);
+        assertThat(updated.size()).isEqualTo(2);
+        assertThat(profileService.getProfile(num1).getStatus()).isEqualTo(ProgressStatus.COMPLETE);
+        assertThat(profileService.getProfile(num2).getStatus()).isEqualTo(ProgressStatus.COMPLETE);
+    }
+
+    @DisplayName("날짜 범위, 여러 담당자의 해야할일 조회")
+    @Test
+    public void searchTodosTest() {
+        Member member0 = Member.of(0, "김희정");
+        Member member1 = Member.of(1, "임성욱");
+        Member member2 = Member.of(2, "임시완");
+
+        profileService.loadProfile(Profile.of(1, LocalDate.of(2022, 5, 1), member0, TaskLevel.B, 0, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(2, LocalDate.of(2022, 5, 1), member2, TaskLevel.B, 0, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(3, LocalDate.of(2022, 5, 2), member0, TaskLevel.A, 0, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(4, LocalDate.of(2022, 5, 2), member0, TaskLevel.B, 0, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(5, LocalDate.of(2022, 5, 2), member1, TaskLevel.B, 0, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(6, LocalDate.of(2022, 5, 3), member2, TaskLevel.B, 0, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(7, LocalDate.of(2022, 5, 4), member0, TaskLevel.B, 0, "", ProgressStatus.OPEN, ""));
+
+        // 2022-05-02 ~ 2022-05-03 전체 담당자
+        List<Profile> profiles = profileService.searchProfiles(new ProfileSearchDto(LocalDate.of(2022, 5, 2), LocalDate.of(2022, 5, 3), null));
+        assertThat(profiles.stream().map(Profile::getNum).collect(Collectors.toList())).isEqualTo(List.of(3, 4, 5, 6));
+
+        // 2022-05-01 ~ 2022-05-03, 담당자 2, 0 (우선순위 순으로 정렬)
+        profiles = profileService.searchProfiles(new ProfileSearchDto(LocalDate.of(2022, 5, 1), LocalDate.of(2022, 5, 3), List.of(2, 0)));
+        assertThat(profiles.stream().map(Profile::getNum).collect(Collectors.toList())).isEqualTo(List.of(1, 2, 3, 4, 6));
+
+        // 시작 날짜만 지정
+        profiles = profileService.searchProfiles(new ProfileSearchDto(LocalDate.of(2022, 5, 3), null, null));
+        assertThat(profiles.stream().map(Profile::getNum).collect(Collectors.toList())).isEqualTo(List.of(6, 7));
+
+        // 종료 날짜만 지정, 담당자 1명
+        profiles = profileService.searchProfiles(new ProfileSearchDto(null, LocalDate.of(2022, 5, 2), List.of(0)));
+        assertThat(profiles.stream().map(Profile::getNum).collect(Collectors.toList())).isEqualTo(List.of(1, 3, 4));
+
+        // 잘못된 범위
+        profiles = profileService.searchProfiles(new ProfileSearchDto(LocalDate.of(2022, 5, 3), LocalDate.of(2022, 5, 1), null));
+        assertThat(profiles.size()).isEqualTo(0);
+    }
+
+    @DisplayName("조회 결과를 모으지 않고 해야할일 순회")
+    @Test
+    public void forEachTodoTest() {
+        Member member0 = Member.of(0, "김희정");
+        Member member1 = Member.of(1, "임성욱");
+
+        profileService.loadProfile(Profile.of(1, LocalDate.of(2022, 5, 1), member1, TaskLevel.B, 0, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(2, LocalDate.of(2022, 5, 1), member0, TaskLevel.B, 0, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(3, LocalDate.of(2022, 5, 2), member0, TaskLevel.A, 0, "", ProgressStatus.OPEN, ""));
+
+        // 조회 결과와 동일한 순서로 순회
+        List<Integer> nums = new ArrayList<>();
+        profileService.forEachProfile(new ProfileSearchDto(), profile -> nums.add(profile.getNum()));
+        assertThat(nums).isEqualTo(List.of(2, 1, 3));
+
+        nums.clear();
+        profileService.forEachProfile(new ProfileSearchDto(null, LocalDate.of(2022, 5, 1), List.of(1)), profile -> nums.add(profile.getNum()));
+        assertThat(nums).isEqualTo(List.of(1));
+    }
+
+    @DisplayName("커서 기반 해야할일 페이지 조회")
+    @Test
+    public void getTodoPageTest() {
+        Member member0 = Member.of(0, "김희정");
+        Member member1 = Member.of(1, "임성욱");
+
+        profileService.loadProfile(Profile.of(1, LocalDate.of(2022, 5, 1), member0, TaskLevel.A, 0, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(2, LocalDate.of(2022, 5, 1), member0, TaskLevel.B, 0, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(3, LocalDate.of(2022, 5, 1), member1, TaskLevel.B, 0, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(4, LocalDate.of(2022, 5, 2), member0, TaskLevel.C, 0, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(5, LocalDate.of(2022, 5, 3), member1, TaskLevel.A, 0, "", ProgressStatus.OPEN, ""));
+
+        // 전체를 2건씩 조회
+        List<Integer> nums = new ArrayList<>();
+        ProfileCursor cursor = null;
+        int pageCount = 0;
+        do {
+            ProfilePageDto page = profileService.getProfilePage(new ProfileSearchDto(), cursor, 2);
+            assertThat(page.getProfiles().size()).isLessThanOrEqualTo(2);
+            page.getProfiles().forEach(profile -> nums.add(profile.getNum()));
+            cursor = (null == page.getCursor()) ? null : ProfileCursor.decode(page.getCursor());
+            pageCount++;
+        } while (null != cursor);
+        assertThat(nums).isEqualTo(List.of(1, 2, 3, 4, 5));
+        assertThat(pageCount).isEqualTo(3);
+
+        // 담당자 1만 1건씩 조회
+        ProfilePageDto page = profileService.getProfilePage(new ProfileSearchDto(null, null, List.of(1)), null, 1);
+        assertThat(page.getProfiles().get(0).getNum()).isEqualTo(3);
+        page = profileService.getProfilePage(new ProfileSearchDto(null, null, List.of(1)), ProfileCursor.decode(page.getCursor()), 1);
+        assertThat(page.getProfiles().get(0).getNum()).isEqualTo(5);
+        assertThat(page.getCursor()).isNull();
+
+        // 커서 이전에 추가된 해야할일은 다음 페이지에 포함되지 않음
+        page = profileService.getProfilePage(new ProfileSearchDto(), null, 2);
+        profileService.loadProfile(Profile.of(6, LocalDate.of(2022, 5, 1), member0, TaskLevel.A, 1, "", ProgressStatus.OPEN, ""));
+        page = profileService.getProfilePage(new ProfileSearchDto(), ProfileCursor.decode(page.getCursor()), 10);
+        assertThat(page.getProfiles().stream().map(Profile::getNum).collect(Collectors.toList())).isEqualTo(List.of(3, 4, 5));
+    }
+
     @DisplayName("todo 위임")
     @Test
     public void allocateAssigneeTest() {
@@ -687,11 +900,10 @@ public class ProfileServiceTest {
         int num2 = 3;
         int num3 = 4;
 
-        ArrayList<Profile> profiles = profileService.getProfiles(null);
-        profiles.add(Profile.of(1, date, assignee, TaskLevel.B, 0, "", ProgressStatus.OPEN, ""));
-        profiles.add(Profile.of(num1, date, assignee, TaskLevel.B, 1, "", ProgressStatus.OPEN, ""));
-        profiles.add(Profile.of(num2, date, assignee, TaskLevel.B, 2, "", ProgressStatus.OPEN, ""));
-        profiles.add(Profile.of(num3, date, assignee, TaskLevel.C, 0, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(1, date, assignee, TaskLevel.B, 0, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(num1, date, assignee, TaskLevel.B, 1, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(num2, date, assignee, TaskLevel.B, 2, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(num3, date, assignee, TaskLevel.C, 0, "", ProgressStatus.OPEN, ""));
 
         // 해야할일을 위임
         ProfileDto profileDto = new ProfileDto();
@@ -706,8 +918,8 @@ public class ProfileServiceTest {
         Assertions.assertThat(profile.getStatus()).isEqualTo(ProgressStatus.ASSIGN); // "위임"
         Assertions.assertThat(profile.getTaskLevel()).isEqualTo(TaskLevel.A);
         assertThat(profile.getSeq()).isEqualTo(0);
-        assertThat(profile.getLog().get(Profile.KEY_TASK_LEVEL)).isEqualTo(TaskLevel.B);
-        assertThat(profile.getLog().get(Profile.KEY_SEQ)).isEqualTo(1);
+        Assertions.assertThat(profile.getLog().getTaskLevel()).isEqualTo(TaskLevel.B);
+        assertThat(profile.getLog().getSeq()).isEqualTo(1);
 
         // 위임 후 다음 순위의 해야할일의 순서 변경 확인
         profile = profileService.getProfile(num2);
@@ -735,11 +947,10 @@ public class ProfileServiceTest {
         int num2 = 2, seq2 = 1;
         int num3 = 3, seq3 = 2;
 
-        ArrayList<Profile> profiles = profileService.getProfiles(null);
-        profiles.add(Profile.of(num1, date, assignee, TaskLevel.A, 0, ""
+        profileService.loadProfile(Profile.of(num1, date, assignee, TaskLevel.A, 0, ""
                 , ProgressStatus.ASSIGN, "", reporter, log));
-        profiles.add(Profile.of(num2, date, assignee, TaskLevel.A, 1, "", ProgressStatus.OPEN, ""));
-        profiles.add(Profile.of(num3, date, assignee, TaskLevel.A, 2, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(num2, date, assignee, TaskLevel.A, 1, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(num3, date, assignee, TaskLevel.A, 2, "", ProgressStatus.OPEN, ""));
 
         try {
             profileService.cancelAllocatedProfile(0);
@@ -771,11 +982,10 @@ public class ProfileServiceTest {
         int num2 = 3, seq2 = 2;
         int num3 = 4;
 
-        ArrayList<Profile> profiles = profileService.getProfiles(null);
-        profiles.add(Profile.of(1, date, assignee, TaskLevel.B, 0, "", ProgressStatus.OPEN, ""));
-        profiles.add(Profile.of(num1, date, assignee, TaskLevel.B, 1, "", ProgressStatus.OPEN, ""));
-        profiles.add(Profile.of(num2, date, assignee, TaskLevel.B, 2, "", ProgressStatus.OPEN, ""));
-        profiles.add(Profile.of(num3, date, assignee, TaskLevel.C, 0, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(1, date, assignee, TaskLevel.B, 0, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(num1, date, assignee, TaskLevel.B, 1, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(num2, date, assignee, TaskLevel.B, 2, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(num3, date, assignee, TaskLevel.C, 0, "", ProgressStatus.OPEN, ""));
 
         // 추가 할 우선순위
         ProfileDto profileDto = new ProfileDto();
@@ -813,10 +1023,9 @@ public class ProfileServiceTest {
         int num3 = 3, seq3 = 2;
         int num4 = 4;
 
-        ArrayList<Profile> profiles = profileService.getProfiles(null);
-        profiles.add(Profile.of(num1, date, assignee, TaskLevel.B, seq1, "", ProgressStatus.OPEN, ""));
-        profiles.add(Profile.of(num2, date, assignee, TaskLevel.B, seq2, "", ProgressStatus.OPEN, ""));
-        profiles.add(Profile.of(num3, date, assignee, TaskLevel.B, seq3, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(num1, date, assignee, TaskLevel.B, seq1, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(num2, date, assignee, TaskLevel.B, seq2, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(num3, date, assignee, TaskLevel.B, seq3, "", ProgressStatus.OPEN, ""));
 
         // 추가 할 우선순위
         ProfileDto profileDto = new ProfileDto();
@@ -831,7 +1040,7 @@ public class ProfileServiceTest {
 
         int num = profileService.addProfile(profileDto);
 
-        ArrayList<Profile> a = profileService.getProfiles(null);
+        List<Profile> a = profileService.getProfiles(null);
         for (int index = 0; index < a.size(); index++) {
             log.debug("num: {} / {}{}", a.get(index).getNum(), a.get(index).getTaskLevel().getName(), a.get(index).getSeq());
         }
@@ -851,6 +1060,150 @@ public class ProfileServiceTest {
         assertThat(profile.getSeq()).isEqualTo(seq3 + 1);
     }
     
+    @DisplayName("우선순위 변경 - 다음 담당자의 중요도와 무관하게 동일 중요도 내 최하순으로 입력")
+    @Test
+    public void addTodoForSequenceLastIndexTest() {
+        LocalDate date = LocalDate.of(2022, 5, 1);
+        Member assignee = Member.of(0, "김희정");
+        int num1 = profileService.getNextNumber(), seq1 = 0;
+        int num2 = profileService.getNextNumber(), seq2 = 1;
+        int num3 = profileService.getNextNumber();
+
+        profileService.loadProfile(Profile.of(num1, date, assignee, TaskLevel.B, seq1, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(num2, date, assignee, TaskLevel.B, seq2, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(num3, date, Member.of(1, "임성욱"), TaskLevel.C, 0, "", ProgressStatus.OPEN, ""));
+
+        // 동일 중요도의 마지막 순서보다 큰 순서를 지정
+        ProfileDto profileDto = new ProfileDto();
+        profileDto.setDate(date);
+        profileDto.setAssignee(new MemberDto(assignee.getNumber(), assignee.getName()));
+        profileDto.setTaskLevel(TaskLevel.B);
+        profileDto.setSeq(5);
+        profileDto.setTask("task");
+        profileDto.setDescription("description");
+
+        int num = profileService.addProfile(profileDto);
+        Profile profile = profileService.getProfile(num);
+        assertThat(profile.getTaskLevel()).isEqualTo(TaskLevel.B);
+        assertThat(profile.getSeq()).isEqualTo(seq2 + 1);
+
+        // 기존 해야할일의 순서는 변경되지 않음
+        assertThat(profileService.getProfile(num1).getSeq()).isEqualTo(seq1);
+        assertThat(profileService.getProfile(num2).getSeq()).isEqualTo(seq2);
+        assertThat(profileService.getProfile(num3).getSeq()).isEqualTo(0);
+
+        // 전체 목록은 우선순위 순으로 정렬되어있음
+        List<Profile> profiles = profileService.getProfiles(null);
+        assertThat(profiles.get(2).getNum()).isEqualTo(num);
+        for (int index = 1; index < profiles.size(); index++) {
+            assertThat(Profile.PRIORITY_ORDER.compare(profiles.get(index - 1), profiles.get(index))).isLessThan(0);
+        }
+    }
+
+    @DisplayName("여러 담당자의 todo 동시 추가 시 담당자별 순서")
+    @Test
+    public void addTodosConcurrentlyTest() throws Exception {
+        LocalDate date = LocalDate.of(2022, 7, 1);
+        int assigneeCount = 4;
+        int todoCount = 200; // 담당자별 추가 할 해야할일 수
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                int assignee = 70 + (thread % assigneeCount); // 담당자별 2개의 스레드에서 추가
+                futures.add(executor.submit(() -> {
+                    for (int index = 0; index < todoCount / 2; index++) {
+                        ProfileDto profileDto = new ProfileDto();
+                        profileDto.setDate(date);
+                        profileDto.setAssignee(new MemberDto(assignee, "김희정"));
+                        profileDto.setTask("task");
+                        profileDto.setDescription("description");
+                        profileService.addProfile(profileDto);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // 담당자별 순서가 중복없이 0부터 부여되어있음
+        for (int assignee = 70; assignee < 70 + assigneeCount; assignee++) {
+            List<Profile> profiles = profileService.getProfiles(new ProfileDto(date, new MemberDto(assignee, null), null, null));
+            assertThat(profiles.size()).isEqualTo(todoCount);
+            for (int index = 0; index < profiles.size(); index++) {
+                assertThat(profiles.get(index).getSeq()).isEqualTo(index);
+                assertThat(profileService.getProfile(profiles.get(index).getNum()).getSeq()).isEqualTo(index);
+            }
+        }
+    }
+
+    @DisplayName("todo 추가 중 전체 삭제 시 목록과 번호 색인 일치")
+    @Test
+    public void clearWhileAddingTest() throws Exception {
+        LocalDate date = LocalDate.of(2022, 7, 2);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                int assignee = 80 + thread;
+                futures.add(executor.submit(() -> {
+                    for (int index = 0; index < 200; index++) {
+                        profileService.addProfile(new ProfileDto(date, new MemberDto(assignee, "김희정"), "task", "description"));
+                    }
+                }));
+            }
+            for (int count = 0; count < 20; count++) {
+                profileService.clear();
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // 삭제되지 않고 남은 해야할일은 번호로 조회되며 담당자별 순서가 0부터 이어짐
+        for (int assignee = 80; assignee < 84; assignee++) {
+            List<Profile> profiles = profileService.getProfiles(new ProfileDto(date, new MemberDto(assignee, null), null, null));
+            for (int index = 0; index < profiles.size(); index++) {
+                assertThat(profiles.get(index).getSeq()).isEqualTo(index);
+                assertThat(profileService.getProfile(profiles.get(index).getNum())).isNotNull();
+            }
+        }
+        assertThat(profileService.getProfileCount()).isEqualTo(profileService.getProfiles(null).size());
+    }
+
+    @DisplayName("전체 목록 스냅샷 재사용 및 버전 증가")
+    @Test
+    public void getSnapshotTest() {
+        ProfileDto profileDto = new ProfileDto(LocalDate.of(2022, 5, 1), new MemberDto(0, "김희정"), "task", "description");
+        int num = profileService.addProfile(profileDto);
+
+        // 변경이 없으면 동일한 스냅샷을 반환
+        ProfileSnapshot snapshot = profileService.getSnapshot();
+        assertThat(profileService.getSnapshot()).isSameAs(snapshot);
+        assertThat(snapshot.getProfiles().get(0).getNum()).isEqualTo(num);
+
+        // 스냅샷은 읽기 전용
+        try {
+            snapshot.getProfiles().clear();
+            fail("스냅샷 목록은 변경할 수 없어야 함");
+        } catch (UnsupportedOperationException e) {
+            assertThat(snapshot.getProfiles().size()).isEqualTo(1);
+        }
+
+        // 변경 후 새로운 버전의 스냅샷을 반환하며 이전 스냅샷은 유지됨
+        profileService.removeProfile(num);
+        ProfileSnapshot nextSnapshot = profileService.getSnapshot();
+        assertThat(nextSnapshot.getVersion()).isGreaterThan(snapshot.getVersion());
+        assertThat(nextSnapshot.getProfiles().size()).isEqualTo(0);
+        assertThat(snapshot.getProfiles().size()).isEqualTo(1);
+    }
+
     @DisplayName("해야할일 기본정보 변경")
     @Test
     public void updateTodoTest() {
@@ -858,8 +1211,7 @@ public class ProfileServiceTest {
         String task = "인사";
         String description = "김희정입니다.";
         ProgressStatus status = ProgressStatus.COMPLETE;
-        ArrayList<Profile> profiles = profileService.getProfiles(null);
-        profiles.add(Profile.of(num, LocalDate.of(2022, 5, 1), Member.of(0, "김희정"), TaskLevel.B, 0, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(num, LocalDate.of(2022, 5, 1), Member.of(0, "김희정"), TaskLevel.B, 0, "", ProgressStatus.OPEN, ""));
 
         ProfileDto profileDto = new ProfileDto();
         profileDto.setNum(num);
@@ -883,10 +1235,9 @@ public class ProfileServiceTest {
         int num2 = 2, seq2 = 1;
         int num3 = 3, seq3 = 2;
 
-        ArrayList<Profile> profiles = profileService.getProfiles(null);
-        profiles.add(Profile.of(num1, date, assignee, TaskLevel.B, seq1, "", ProgressStatus.OPEN, ""));
-        profiles.add(Profile.of(num2, date, assignee, TaskLevel.B, seq2, "", ProgressStatus.OPEN, ""));
-        profiles.add(Profile.of(num3, date, assignee, TaskLevel.B, seq3, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(num1, date, assignee, TaskLevel.B, seq1, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(num2, date, assignee, TaskLevel.B, seq2, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(num3, date, assignee, TaskLevel.B, seq3, "", ProgressStatus.OPEN, ""));
 
         // seq=2인 업무를 최우선으로 변경
         ProfileDto profileDto = new ProfileDto();
@@ -914,10 +1265,9 @@ public class ProfileServiceTest {
         int num2 = 2, seq2 = 1;
         int num3 = 3;
 
-        ArrayList<Profile> profiles = profileService.getProfiles(null);
-        profiles.add(Profile.of(num1, date, assignee, TaskLevel.B, seq1, "", ProgressStatus.OPEN, ""));
-        profiles.add(Profile.of(num2, date, assignee, TaskLevel.B, seq2, "", ProgressStatus.OPEN, ""));
-        profiles.add(Profile.of(num3, date, assignee, TaskLevel.C, 2, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(num1, date, assignee, TaskLevel.B, seq1, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(num2, date, assignee, TaskLevel.B, seq2, "", ProgressStatus.OPEN, ""));
+        profileService.loadProfile(Profile.of(num3, date, assignee, TaskLevel.C, 2, "", ProgressStatus.OPEN, ""));
 
         // seq=2인 업무를 최우선으로 변경
         ProfileDto profileDto = new ProfileDto();
@@ -935,9 +1285,122 @@ public class ProfileServiceTest {
         profile = profileService.getProfile(num2);
         assertThat(profile.getSeq()).isEqualTo(seq2);
 
-        ArrayList<Profile> a = profileService.getProfiles(null);
+        List<Profile> a = profileService.getProfiles(null);
         for (int index = 0; index < a.size(); index++) {
             log.debug("num: {} / {}{}", a.get(index).getNum(), a.get(index).getTaskLevel().getName(), a.get(index).getSeq());
         }
     }
+
+    @DisplayName("해야할일 우선순위 이동은 삭제 후 추가와 동일")
+    @Test
+    public void moveTodoTest() {
+        LocalDate date = LocalDate.of(2022, 5, 1);
+        Member assignee = Member.of(0, "김희정");
+        ProfileService moved = new ProfileService();
+        ProfileService readded = new ProfileService();
+        TaskLevel[] levels = TaskLevel.values();
+        int[] sequences = new int[levels.length];
+        Random random = new Random(20220501);
+        for (int num = 1; num <= 30; num++) {
+            int level = random.nextInt(levels.length);
+            moved.loadProfile(Profile.of(num, date, assignee, levels[level], sequences[level], "", ProgressStatus.OPEN, ""));
+            readded.loadProfile(Profile.of(num, date, assignee, levels[level], sequences[level], "", ProgressStatus.OPEN, ""));
+            sequences[level]++;
+        }
+
+        for (int count = 0; count < 200; count++) {
+            int num = random.nextInt(30) + 1;
+            TaskLevel taskLevel = random.nextBoolean() ? levels[random.nextInt(levels.length)] : null;
+            Integer seq = ((null == taskLevel) || random.nextBoolean()) ? random.nextInt(12) : null;
+
+            ProfileDto profileDto = new ProfileDto();
+            profileDto.setNum(num);
+            profileDto.setTaskLevel(taskLevel);
+            profileDto.setSeq(seq);
+            Profile before = moved.getProfile(num);
+            moved.updateProfile(profileDto);
+            assertThat(moved.getProfile(num).getTask()).isEqualTo(before.getTask()); // 우선순위 외의 정보는 유지
+
+            Profile profile = readded.getProfile(num);
+            ProfileDto addDto = new ProfileDto(date, new MemberDto(0, "김희정"), profile.getTask(), profile.getDescription());
+            addDto.setNum(num);
+            addDto.setTaskLevel((null != taskLevel) ? taskLevel : profile.getTaskLevel());
+            addDto.setSeq((null != seq) ? seq : profile.getSeq());
+            readded.removeProfile(num);
+            readded.addProfile(addDto);
+
+            List<String> expected = readded.getProfiles(null).stream()
+                    .map(todo -> todo.getNum() + ":" + todo.getTaskLevel().getName() + todo.getSeq())
+                    .collect(Collectors.toList());
+            List<String> actual = moved.getProfiles(null).stream()
+                    .map(todo -> todo.getNum() + ":" + todo.getTaskLevel().getName() + todo.getSeq())
+                    .collect(Collectors.toList());
+            assertThat(actual).isEqualTo(expected);
+        }
+    }
+
+    @DisplayName("같은 위치에 반복 추가 시 순서")
+    @Test
+    public void addTodosAtSamePositionTest() {
+        LocalDate date = LocalDate.of(2022, 9, 1);
+        profileService.addProfile(new ProfileDto(date, new MemberDto(0, "김희정"), "first", ""));
+        int lastNum = profileService.addProfile(new ProfileDto(date, new MemberDto(0, "김희정"), "last", ""));
+
+        // B0, B1 사이에 계속 추가(묶음 내 위치 값의 간격이 소진되는 경우 포함)
+        List<Integer> nums = new ArrayList<>();
+        for (int count = 0; count < 50; count++) {
+            ProfileDto profileDto = new ProfileDto(date, new MemberDto(0, "김희정"), "task" + count, "");
+            profileDto.setTaskLevel(TaskLevel.B);
+            profileDto.setSeq(1);
+            nums.add(0, profileService.addProfile(profileDto));
+        }
+
+        List<Profile> profiles = profileService.getProfiles(new ProfileDto(date, new MemberDto(0, null), null, null));
+        assertThat(profiles.size()).isEqualTo(52);
+        for (int index = 0; index < profiles.size(); index++) {
+            assertThat(profiles.get(index).getSeq()).isEqualTo(index);
+        }
+        assertThat(profiles.subList(1, 51).stream().map(Profile::getNum).collect(Collectors.toList())).isEqualTo(nums);
+        assertThat(profileService.getProfile(lastNum).getSeq()).isEqualTo(51);
+    }
+
+    @DisplayName("같은 묶음의 해야할일은 날짜 인스턴스를 공유하고 원상복구 값은 조회할 때마다 새로 만들지 않음")
+    @Test
+    public void compactProfileTest() {
+        int num1 = profileService.addProfile(new ProfileDto(LocalDate.of(2022, 10, 1), new MemberDto(0, "김희정"), "first", ""));
+        int num2 = profileService.addProfile(new ProfileDto(LocalDate.parse("2022-10-01"), new MemberDto(0, "김희정"), "second", ""));
+        assertThat(profileService.getProfile(num2).getDate()).isSameAs(profileService.getProfile(num1).getDate());
+
+        ProfileDto profileDto = new ProfileDto();
+        profileDto.setNum(num2);
+        profileDto.setAssignee(new MemberDto(1, "임성욱"));
+        profileService.allocateAssignee(profileDto);
+
+        Profile profile = profileService.getProfile(num2);
+        assertThat(profile.getLog()).isSameAs(profileService.getProfile(num2).getLog()); // 조회할 때마다 새로 만들지 않음
+        Assertions.assertThat(profile.getLog().getTaskLevel()).isEqualTo(TaskLevel.B);
+        assertThat(profile.getLog().getSeq()).isEqualTo(1);
+        assertThat(profileService.getProfile(num1).getLog()).isNull();
+    }
+
+    @DisplayName("같은 담당자의 해야할일은 등록된 담당자 인스턴스를 공유")
+    @Test
+    public void shareMemberTest() {
+        int num1 = profileService.addProfile(new ProfileDto(LocalDate.of(2022, 10, 1), new MemberDto(0, "김희정"), "first", ""));
+        int num2 = profileService.addProfile(new ProfileDto(LocalDate.of(2022, 10, 2), new MemberDto(0, "김희정"), "second", ""));
+        assertThat(profileService.getProfile(num2).getAssignee()).isSameAs(profileService.getProfile(num1).getAssignee());
+        assertThat(profileService.getProfile(num1).getAssignee()).isSameAs(memberService.getMember(0));
+
+        ProfileDto profileDto = new ProfileDto();
+        profileDto.setNum(num2);
+        profileDto.setAssignee(new MemberDto(1, "임성욱"));
+        profileService.allocateAssignee(profileDto);
+        assertThat(profileService.getProfile(num2).getReporter()).isSameAs(memberService.getMember(0));
+        assertThat(profileService.getProfile(num2).getAssignee()).isSameAs(memberService.getMember(1));
+
+        // 이름이 다르면 공유하지 않고 요청 값 유지
+        int num3 = profileService.addProfile(new ProfileDto(LocalDate.of(2022, 10, 1), new MemberDto(0, "담당자"), "third", ""));
+        assertThat(profileService.getProfile(num3).getAssignee().getName()).isEqualTo("담당자");
+        assertThat(memberService.getMember(0).getName()).isEqualTo("김희정");
+    }
 }